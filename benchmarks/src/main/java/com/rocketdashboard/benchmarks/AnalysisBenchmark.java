@@ -0,0 +1,91 @@
+package com.rocketdashboard.benchmarks;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.model.WeatherData;
+import com.rocketdashboard.model.WeatherTrack;
+import com.rocketdashboard.service.SimulatedWeatherSource;
+import com.rocketdashboard.service.StageClassifier;
+import com.rocketdashboard.service.WeatherService;
+import com.rocketdashboard.util.FlightStats;
+import com.rocketdashboard.util.MathUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Stage classification, anomaly checks, the MathUtils/FlightStats reductions and the weather
+// merge-join over a loaded flight, held in arrays or in compressed columns. The fork enables
+// the Vector API so FlightStats takes its vectorized path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "--add-modules=jdk.incubator.vector"})
+public class AnalysisBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int samples;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    private final StageClassifier stageClassifier = new StageClassifier();
+    private TelemetryFrame frame;
+    private StageTimeline stages;
+    private List<WeatherData> weather;
+
+    @Setup(Level.Trial)
+    public void generateFlight() {
+        frame = SyntheticFlight.generate(samples);
+        if (compressed) {
+            frame = frame.compressed();
+        }
+        stages = stageClassifier.classifyStages(frame);
+        weather = new SimulatedWeatherSource().fetch("Launch Site",
+                frame.getTimestamp(0).minus(WeatherService.HISTORY), frame.getTimestamp(frame.size() - 1).plusHours(1));
+    }
+
+    @Benchmark
+    public StageTimeline classifyStages() {
+        return stageClassifier.classifyStages(frame);
+    }
+
+    // All default anomaly rules in one pass, reusing a timeline as the load pipeline does
+    @Benchmark
+    public List<Anomaly> detectAnomalies() {
+        return stageClassifier.detectAnomalies(frame, stages);
+    }
+
+    @Benchmark
+    public double calculateApogee() {
+        return MathUtils.calculateApogee(frame);
+    }
+
+    @Benchmark
+    public double calculateMaxVelocity() {
+        return MathUtils.calculateMaxVelocity(frame);
+    }
+
+    @Benchmark
+    public double calculateMaxAcceleration() {
+        return MathUtils.calculateMaxAcceleration(frame);
+    }
+
+    // All statistics of all channels in one pass
+    @Benchmark
+    public FlightStats computeFlightStats() {
+        return FlightStats.compute(frame);
+    }
+
+    // Hourly observations prepared for interpolation at any sample
+    @Benchmark
+    public WeatherTrack interpolateWeather() {
+        return WeatherTrack.interpolate(frame, weather);
+    }
+
+    @Benchmark
+    public double calculateFlightDuration() {
+        return MathUtils.calculateFlightDuration(frame);
+    }
+}
@@ -0,0 +1,41 @@
+package com.rocketdashboard.benchmarks;
+
+import com.rocketdashboard.model.TelemetryData;
+import com.rocketdashboard.service.CSVReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// CSV ingest; the file is generated once per trial and read from the page cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class IngestBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int samples;
+
+    private final CSVReader csvReader = new CSVReader();
+    private Path csvFile;
+
+    @Setup(Level.Trial)
+    public void writeFlight() throws IOException {
+        csvFile = Files.createTempFile("rocket-benchmark-", ".csv");
+        SyntheticFlight.writeCsv(SyntheticFlight.generate(samples), csvFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFlight() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public List<TelemetryData> readCSV() throws IOException {
+        return csvReader.readCSV(csvFile.toString());
+    }
+}
@@ -0,0 +1,80 @@
+package com.rocketdashboard.benchmarks;
+
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.service.StageClassifier;
+import com.rocketdashboard.ui.RocketAnimationPanel;
+import com.rocketdashboard.ui.TelemetryTablePanel;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Swing work done when a flight is shown and on every animation frame. Runs headless and
+// off the EDT, which is safe here because the components are never realized.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Djava.awt.headless=true"})
+public class RenderingBenchmark {
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int samples;
+
+    private TelemetryFrame frame;
+    private StageTimeline stages;
+    private TelemetryTablePanel tablePanel;
+    private OffscreenAnimationPanel animationPanel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void createPanels() {
+        frame = SyntheticFlight.generate(samples);
+        stages = new StageClassifier().classifyStages(frame);
+
+        tablePanel = new TelemetryTablePanel();
+        animationPanel = new OffscreenAnimationPanel();
+        animationPanel.setSize(WIDTH, HEIGHT);
+        animationPanel.setTelemetryData(frame, stages);
+
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public TelemetryTablePanel tableSetTelemetryData() {
+        tablePanel.setTelemetryData(frame);
+        return tablePanel;
+    }
+
+    @Benchmark
+    public OffscreenAnimationPanel animationSetTelemetryData() {
+        animationPanel.setTelemetryData(frame, stages);
+        return animationPanel;
+    }
+
+    // One repaint with the flight already loaded, as the animation timer triggers it
+    @Benchmark
+    public BufferedImage paintComponent() {
+        animationPanel.paintInto(graphics);
+        return image;
+    }
+
+    // Exposes the protected paint hook so it can target an offscreen image
+    static class OffscreenAnimationPanel extends RocketAnimationPanel {
+        void paintInto(Graphics g) {
+            paintComponent(g);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rocketdashboard.benchmarks;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.model.WeatherData;
+import com.rocketdashboard.report.PDFReportGenerator;
+import com.rocketdashboard.service.StageClassifier;
+import com.rocketdashboard.service.WeatherService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Report generation end to end, including the write to disk
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class ReportBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int samples;
+
+    private final PDFReportGenerator reportGenerator = new PDFReportGenerator();
+    private TelemetryFrame frame;
+    private StageTimeline stages;
+    private List<WeatherData> weatherData;
+    private List<Anomaly> anomalies;
+    private Path reportFile;
+
+    @Setup(Level.Trial)
+    public void analyzeFlight() throws IOException {
+        StageClassifier stageClassifier = new StageClassifier();
+        frame = SyntheticFlight.generate(samples);
+        stages = stageClassifier.classifyStages(frame);
+        anomalies = stageClassifier.detectAnomalies(frame, stages);
+        weatherData = new WeatherService().getHistoricalWeather("Launch Site", frame.getTimestamp(0));
+        reportFile = Files.createTempFile("rocket-benchmark-", ".report");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteReport() throws IOException {
+        Files.deleteIfExists(reportFile);
+    }
+
+    @Benchmark
+    public void generateReport() throws IOException {
+        reportGenerator.generateReport(frame, stages, weatherData, anomalies, reportFile.toString());
+    }
+}
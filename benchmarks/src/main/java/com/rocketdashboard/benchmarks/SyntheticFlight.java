@@ -0,0 +1,102 @@
+package com.rocketdashboard.benchmarks;
+
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.TimestampFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+// Deterministic single-stage flight used by every benchmark: pad, 10 s burn, coast to
+// apogee, short free fall, parachute descent and a few seconds on the ground. The same
+// ~2000 s profile is sampled at whatever rate yields the requested number of samples,
+// so all sizes go through the same stages.
+final class SyntheticFlight {
+    private static final double GRAVITY = 9.81;
+    private static final double PAD_SECONDS = 5;
+    private static final double BURN_SECONDS = 10;
+    private static final double BURN_ACCELERATION = 50;
+    private static final double FREE_FALL_SECONDS = 3;
+    private static final double DESCENT_RATE = 8;
+    private static final double GROUND_SECONDS = 20;
+    private static final long START_NANOS = TelemetryFrame.toEpochNanos(LocalDateTime.of(2024, 1, 15, 14, 0));
+
+    private SyntheticFlight() {
+    }
+
+    static TelemetryFrame generate(int samples) {
+        double burnoutVelocity = BURN_ACCELERATION * BURN_SECONDS;
+        double burnoutAltitude = 0.5 * BURN_ACCELERATION * BURN_SECONDS * BURN_SECONDS;
+        double coastSeconds = burnoutVelocity / GRAVITY;
+        double apogeeAltitude = burnoutAltitude + burnoutVelocity * coastSeconds / 2;
+        double deployVelocity = -GRAVITY * FREE_FALL_SECONDS;
+        double deployAltitude = apogeeAltitude + deployVelocity * FREE_FALL_SECONDS / 2;
+        double descentSeconds = deployAltitude / DESCENT_RATE;
+
+        double burnout = PAD_SECONDS + BURN_SECONDS;
+        double apogee = burnout + coastSeconds;
+        double deploy = apogee + FREE_FALL_SECONDS;
+        double landing = deploy + descentSeconds;
+        double duration = landing + GROUND_SECONDS;
+
+        TelemetryFrame.Builder builder = new TelemetryFrame.Builder(samples);
+        for (int i = 0; i < samples; i++) {
+            double t = duration * i / Math.max(1, samples - 1);
+            double altitude, velocity, acceleration;
+            if (t < PAD_SECONDS) {
+                altitude = 0;
+                velocity = 0;
+                acceleration = 0;
+            } else if (t < burnout) {
+                double tau = t - PAD_SECONDS;
+                acceleration = BURN_ACCELERATION;
+                velocity = BURN_ACCELERATION * tau;
+                altitude = 0.5 * BURN_ACCELERATION * tau * tau;
+            } else if (t < deploy) {
+                double tau = t - burnout;
+                acceleration = -GRAVITY;
+                velocity = burnoutVelocity - GRAVITY * tau;
+                altitude = burnoutAltitude + burnoutVelocity * tau - 0.5 * GRAVITY * tau * tau;
+            } else if (t < landing) {
+                acceleration = 0;
+                velocity = -DESCENT_RATE;
+                altitude = deployAltitude - DESCENT_RATE * (t - deploy);
+            } else {
+                altitude = 0;
+                velocity = 0;
+                acceleration = 0;
+            }
+
+            // Wind drift grows with altitude
+            double latitude = 28.5729 + altitude * 1e-7 + (t > apogee ? (t - apogee) * 2e-6 : 0);
+            double longitude = -80.6490 + altitude * 5e-8;
+            long timestamp = START_NANOS + (long) (t * 1e9);
+            builder.add(timestamp, altitude, velocity, acceleration, latitude, longitude,
+                    t >= deploy, t >= PAD_SECONDS && t < burnout);
+        }
+        return builder.build();
+    }
+
+    // Writes the flight in the dashboard's CSV format
+    static void writeCsv(TelemetryFrame frame, Path path) throws IOException {
+        StringBuilder line = new StringBuilder(128);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("timestamp,altitude,velocity,acceleration,latitude,longitude,recovery_deployed,motor_burning\n");
+            for (int i = 0; i < frame.size(); i++) {
+                line.setLength(0);
+                TimestampFormat.appendDateTime(line, frame.getTimestampNanos(i));
+                line.append(',').append(frame.getAltitude(i))
+                        .append(',').append(frame.getVelocity(i))
+                        .append(',').append(frame.getAcceleration(i))
+                        .append(',').append(frame.getLatitude(i))
+                        .append(',').append(frame.getLongitude(i))
+                        .append(',').append(frame.isRecoveryDeployed(i))
+                        .append(',').append(frame.isMotorBurning(i))
+                        .append('\n');
+                out.append(line);
+            }
+        }
+    }
+}
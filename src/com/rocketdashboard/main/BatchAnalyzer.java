@@ -0,0 +1,463 @@
+package com.rocketdashboard.main;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Flight;
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.report.PDFReportGenerator;
+import com.rocketdashboard.report.ReportStatistics;
+import com.rocketdashboard.service.CSVReader;
+import com.rocketdashboard.service.FlightLoader;
+import com.rocketdashboard.service.StageClassifier;
+import com.rocketdashboard.service.WeatherService;
+import com.rocketdashboard.util.LatencyHistogram;
+import com.rocketdashboard.util.Metrics;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Headless analysis of a directory tree of flight logs (CSV or binary flight files): each
+// flight is loaded, filtered, classified and checked for anomalies as in the dashboard,
+// optionally reported as a PDF, and summarized as one row of a CSV or JSON Lines file.
+// Flights run concurrently on virtual threads. Memory is capped by the number of flights
+// in flight and by a budget their estimated in-memory size is charged against. Each row is
+// flushed as its flight finishes, so an interrupted run resumes where it stopped: files
+// already in the summary are skipped (failed ones too, unless --retry-failed). A retried file
+// gets a new row below its failed one, so the last row for a file is the one that counts.
+public class BatchAnalyzer {
+    public enum Format { CSV, JSON }
+
+    static final String[] COLUMNS = {"file", "status", "samples", "duration_s", "apogee_m", "apogee_s",
+            "max_velocity_ms", "max_acceleration_ms2", "burn_s", "max_q_pa", "launch_s", "parachute_s",
+            "landing_s", "anomalies", "critical", "report", "error"};
+    static final double MEMORY_PER_FILE_BYTE = 2.5; // Raw and filtered frames against CSV text
+    private static final int MB = 1 << 20;
+
+    private final Path inputRoot;
+    private final Path summaryFile;
+    private final Format format;
+    private final Path reportRoot; // Null when no reports are written
+    private final int maxInFlight;
+    private final long memoryBudgetBytes;
+    private final boolean retryFailed;
+
+    private final Semaphore inFlight;
+    private final Semaphore memory; // In MB
+    private final PDFReportGenerator reportGenerator = new PDFReportGenerator();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private BufferedWriter summary;
+
+    public BatchAnalyzer(Path inputRoot, Path summaryFile, Path reportRoot,
+                         int maxInFlight, long memoryBudgetBytes, boolean retryFailed) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one flight must be allowed in flight: " + maxInFlight);
+        }
+        this.inputRoot = inputRoot;
+        this.summaryFile = summaryFile;
+        this.format = formatOf(summaryFile);
+        this.reportRoot = reportRoot;
+        this.maxInFlight = maxInFlight;
+        this.memoryBudgetBytes = Math.max(memoryBudgetBytes, MB);
+        this.retryFailed = retryFailed;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.memory = new Semaphore((int) Math.min(this.memoryBudgetBytes / MB, Integer.MAX_VALUE));
+    }
+
+    // .json and .jsonl summaries are JSON Lines, anything else CSV
+    static Format formatOf(Path summaryFile) {
+        String name = summaryFile.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".jsonl") ? Format.JSON : Format.CSV;
+    }
+
+    // Returns the number of flights that failed in this run
+    public int run() throws IOException, InterruptedException {
+        List<Path> files = findFlights();
+        Set<String> done = readFinished();
+        List<Path> pending = new ArrayList<>();
+        for (Path file : files) {
+            if (!done.contains(key(file))) {
+                pending.add(file);
+            }
+        }
+        System.out.printf("%d flight logs under %s, %d already summarized, %d to analyze (%d at a time, %d MB budget)%n",
+                files.size(), inputRoot, files.size() - pending.size(), pending.size(), maxInFlight, memoryBudgetBytes / MB);
+
+        boolean fresh = Files.notExists(summaryFile) || Files.size(summaryFile) == 0;
+        Path parent = summaryFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(summaryFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            summary = writer;
+            if (fresh && format == Format.CSV) {
+                writeRow(String.join(",", COLUMNS));
+            }
+
+            long start = System.nanoTime();
+            // The loader's analysis steps get their own executor, which must outlive the flights
+            try (ExecutorService analysis = Executors.newVirtualThreadPerTaskExecutor();
+                 ExecutorService flights = Executors.newVirtualThreadPerTaskExecutor()) {
+                FlightLoader loader = new FlightLoader(new CSVReader(), new StageClassifier(), new WeatherService(), analysis);
+                for (Path file : pending) {
+                    int charge = charge(file);
+                    inFlight.acquire();
+                    memory.acquire(charge);
+                    flights.submit(() -> {
+                        try {
+                            analyze(loader, file, pending.size());
+                        } finally {
+                            memory.release(charge);
+                            inFlight.release();
+                        }
+                    });
+                }
+            } // Waits for the flights still running
+            System.out.printf("Analyzed %d flights in %.1f s, %d failed; summary in %s%n",
+                    completed.get(), (System.nanoTime() - start) / 1e9, failed.get(), summaryFile);
+            if (Metrics.isEnabled()) {
+                for (LatencyHistogram histogram : Metrics.getHistograms()) {
+                    if (histogram.getCount() > 0) System.out.println(histogram);
+                }
+            }
+        }
+        return failed.get();
+    }
+
+    private void analyze(FlightLoader loader, Path file, int total) {
+        long start = System.nanoTime();
+        Row row = new Row(key(file));
+        try {
+            Flight flight = loader.load(file.toString(), null);
+            TelemetryFrame telemetry = flight.getTelemetry();
+            StageTimeline stages = flight.getStages();
+            ReportStatistics statistics = ReportStatistics.compute(telemetry, stages, flight.getWeatherTrack());
+            if (reportRoot != null) {
+                Path report = reportFor(file);
+                Files.createDirectories(report.getParent());
+                reportGenerator.generateReport(telemetry, stages, statistics, flight.getAnomalies(), report.toString());
+                row.report = report.toString();
+            }
+            row.fill(telemetry, stages, statistics, flight.getAnomalies());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return; // Not recorded, so a rerun picks it up
+        } catch (Throwable e) { // Errors too (e.g. out of memory), so the flight is still recorded
+            row.status = "failed";
+            row.error = e.getMessage() != null ? e.getMessage() : e.toString();
+            failed.incrementAndGet();
+        }
+
+        try {
+            writeRow(format == Format.CSV ? row.toCsv() : row.toJson());
+        } catch (IOException e) {
+            // A task's exception would be lost in its Future, so count the flight as failed
+            System.err.println("Could not record " + row.file + ": " + e.getMessage());
+            failed.incrementAndGet();
+            return;
+        }
+        System.out.printf("[%d/%d] %s: %s (%.0f ms)%n", completed.incrementAndGet(), total, row.file,
+                row.error != null ? "failed, " + row.error : row.status, (System.nanoTime() - start) / 1e6);
+    }
+
+    // Whole rows only, flushed at once, so an interrupted run leaves at most one torn line
+    private void writeRow(String line) throws IOException {
+        synchronized (summary) {
+            summary.write(line);
+            summary.newLine();
+            summary.flush();
+        }
+    }
+
+    private List<Path> findFlights() throws IOException {
+        try (Stream<Path> paths = Files.walk(inputRoot)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return name.endsWith(".csv") || name.endsWith(".rktf");
+                    })
+                    .filter(path -> !path.toAbsolutePath().equals(summaryFile.toAbsolutePath()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Files recorded by an earlier run, by their last row; a torn last line from an interrupted
+    // run is cut off
+    private Set<String> readFinished() throws IOException {
+        Set<String> done = new HashSet<>();
+        if (Files.notExists(summaryFile)) {
+            return done;
+        }
+
+        Map<String, String> statuses = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(summaryFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > 0) {
+                byte[] bytes = Files.readAllBytes(summaryFile);
+                int end = bytes.length;
+                while (end > 0 && bytes[end - 1] != '\n') end--;
+                if (end < bytes.length) {
+                    channel.truncate(end);
+                }
+                String[] lines = new String(bytes, 0, end, StandardCharsets.UTF_8).split("\r?\n");
+                for (String line : lines) {
+                    if (line.isEmpty() || line.startsWith("file,")) continue;
+                    String[] fileAndStatus = format == Format.CSV ? Row.parseCsv(line) : Row.parseJson(line);
+                    if (fileAndStatus != null) {
+                        statuses.put(fileAndStatus[0], fileAndStatus[1]);
+                    }
+                }
+            }
+        }
+        statuses.forEach((file, status) -> {
+            if (!retryFailed || "ok".equals(status)) {
+                done.add(file);
+            }
+        });
+        return done;
+    }
+
+    // Estimated heap for the flight, in MB; never more than the whole budget
+    private int charge(Path file) throws IOException {
+        double bytes = Files.size(file) * MEMORY_PER_FILE_BYTE;
+        return (int) Math.max(1, Math.min(Math.ceil(bytes / MB), memoryBudgetBytes / MB));
+    }
+
+    private String key(Path file) {
+        return inputRoot.relativize(file).toString().replace('\\', '/');
+    }
+
+    private Path reportFor(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return reportRoot.resolve(inputRoot.relativize(file)).resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".pdf");
+    }
+
+    // One summary line
+    static class Row {
+        final String file;
+        String status = "ok";
+        int samples;
+        double duration, apogee, apogeeSeconds, maxVelocity, maxAcceleration, burnSeconds, maxQ;
+        double launch = Double.NaN, parachute = Double.NaN, landing = Double.NaN;
+        int anomalies, critical;
+        String report;
+        String error;
+
+        Row(String file) {
+            this.file = file;
+        }
+
+        void fill(TelemetryFrame telemetry, StageTimeline stages, ReportStatistics statistics, List<Anomaly> found) {
+            samples = telemetry.size();
+            duration = statistics.getDurationSeconds();
+            apogee = statistics.getApogee();
+            apogeeSeconds = statistics.getApogeeSeconds();
+            maxVelocity = statistics.getMaxVelocity();
+            maxAcceleration = statistics.getMaxAcceleration();
+            burnSeconds = statistics.getBurnSeconds();
+            maxQ = statistics.hasMaxQ() ? statistics.getMaxQ() : Double.NaN;
+            launch = eventSeconds(telemetry, stages, Stage.LAUNCH);
+            parachute = eventSeconds(telemetry, stages, Stage.PARACHUTE_DEPLOYED);
+            landing = eventSeconds(telemetry, stages, Stage.LANDING);
+            anomalies = found.size();
+            for (Anomaly anomaly : found) {
+                if (anomaly.severity() == Anomaly.Severity.CRITICAL) critical++;
+            }
+        }
+
+        private static double eventSeconds(TelemetryFrame telemetry, StageTimeline stages, Stage stage) {
+            if (!stages.contains(stage)) return Double.NaN;
+            return (telemetry.getTimestampNanos(stages.getIndex(stage)) - telemetry.getTimestampNanos(0)) / 1e9;
+        }
+
+        private Object[] values() {
+            boolean ok = error == null;
+            return new Object[]{file, status, ok ? samples : null, ok ? duration : null, ok ? apogee : null,
+                    ok ? apogeeSeconds : null, ok ? maxVelocity : null, ok ? maxAcceleration : null,
+                    ok ? burnSeconds : null, ok ? maxQ : null, ok ? launch : null, ok ? parachute : null,
+                    ok ? landing : null, ok ? anomalies : null, ok ? critical : null, report, error};
+        }
+
+        String toCsv() {
+            StringBuilder sb = new StringBuilder();
+            Object[] values = values();
+            for (int c = 0; c < values.length; c++) {
+                if (c > 0) sb.append(',');
+                Object value = values[c];
+                if (value instanceof String text) {
+                    if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+                        sb.append('"').append(text.replace("\"", "\"\"").replace('\n', ' ').replace('\r', ' ')).append('"');
+                    } else {
+                        sb.append(text);
+                    }
+                } else if (value instanceof Double number) {
+                    if (!number.isNaN()) sb.append(String.format(Locale.ROOT, "%.3f", number));
+                } else if (value != null) {
+                    sb.append(value);
+                }
+            }
+            return sb.toString();
+        }
+
+        String toJson() {
+            StringBuilder sb = new StringBuilder("{");
+            Object[] values = values();
+            for (int c = 0; c < values.length; c++) {
+                if (c > 0) sb.append(',');
+                sb.append('"').append(COLUMNS[c]).append("\":");
+                Object value = values[c];
+                if (value instanceof String text) {
+                    appendJsonString(sb, text);
+                } else if (value instanceof Double number) {
+                    sb.append(number.isNaN() || number.isInfinite() ? "null" : String.format(Locale.ROOT, "%.3f", number));
+                } else {
+                    sb.append(value);
+                }
+            }
+            return sb.append('}').toString();
+        }
+
+        private static void appendJsonString(StringBuilder sb, String text) {
+            sb.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                switch (ch) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (ch < 0x20) sb.append(String.format("\\u%04x", (int) ch));
+                        else sb.append(ch);
+                    }
+                }
+            }
+            sb.append('"');
+        }
+
+        // {file, status} of a CSV row, or null if the line is not one
+        static String[] parseCsv(String line) {
+            String[] fields = new String[2];
+            int at = 0;
+            for (int f = 0; f < 2; f++) {
+                StringBuilder field = new StringBuilder();
+                if (at < line.length() && line.charAt(at) == '"') {
+                    at++;
+                    while (at < line.length()) {
+                        char ch = line.charAt(at++);
+                        if (ch == '"') {
+                            if (at < line.length() && line.charAt(at) == '"') {
+                                field.append('"');
+                                at++;
+                            } else {
+                                break;
+                            }
+                        } else {
+                            field.append(ch);
+                        }
+                    }
+                } else {
+                    while (at < line.length() && line.charAt(at) != ',') field.append(line.charAt(at++));
+                }
+                if (f == 0 && (at >= line.length() || line.charAt(at) != ',')) return null;
+                at++; // Comma
+                fields[f] = field.toString();
+            }
+            return fields;
+        }
+
+        // {file, status} of a JSON row as written by toJson(), or null
+        static String[] parseJson(String line) {
+            String file = jsonString(line, "\"file\":");
+            String status = jsonString(line, "\"status\":");
+            return file != null && status != null ? new String[]{file, status} : null;
+        }
+
+        private static String jsonString(String line, String name) {
+            int at = line.indexOf(name);
+            if (at < 0 || at + name.length() >= line.length() || line.charAt(at + name.length()) != '"') return null;
+            StringBuilder value = new StringBuilder();
+            for (int i = at + name.length() + 1; i < line.length(); i++) {
+                char ch = line.charAt(i);
+                if (ch == '"') return value.toString();
+                if (ch == '\\' && i + 1 < line.length()) {
+                    char escaped = line.charAt(++i);
+                    switch (escaped) {
+                        case 'n' -> value.append('\n');
+                        case 'r' -> value.append('\r');
+                        case 't' -> value.append('\t');
+                        case 'u' -> {
+                            if (i + 4 >= line.length()) return null;
+                            value.append((char) Integer.parseInt(line.substring(i + 1, i + 5), 16));
+                            i += 4;
+                        }
+                        default -> value.append(escaped);
+                    }
+                } else {
+                    value.append(ch);
+                }
+            }
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path input = null;
+        Path summaryFile = Path.of("batch-summary.csv");
+        Path reports = null;
+        int maxInFlight = Runtime.getRuntime().availableProcessors();
+        long memoryBudget = Runtime.getRuntime().maxMemory() / 2;
+        boolean retryFailed = false;
+
+        try {
+            for (int a = 0; a < args.length; a++) {
+                switch (args[a]) {
+                    case "--summary" -> summaryFile = Path.of(args[++a]);
+                    case "--reports" -> reports = Path.of(args[++a]);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(args[++a]);
+                    case "--memory-mb" -> memoryBudget = Long.parseLong(args[++a]) * MB;
+                    case "--retry-failed" -> retryFailed = true;
+                    case "--metrics" -> Metrics.setEnabled(true);
+                    default -> {
+                        if (input != null || args[a].startsWith("--")) throw new IllegalArgumentException(args[a]);
+                        input = Path.of(args[a]);
+                    }
+                }
+            }
+            if (input == null || maxInFlight < 1) throw new IllegalArgumentException();
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Usage: BatchAnalyzer <directory> [--summary file.csv|file.json] [--reports dir]"
+                    + " [--max-in-flight n] [--memory-mb n] [--retry-failed] [--metrics]");
+            System.exit(2);
+        }
+        if (!Files.isDirectory(input)) {
+            System.err.println("Not a directory: " + input);
+            System.exit(2);
+        }
+
+        Metrics.registerMBeans();
+        int failures = new BatchAnalyzer(input, summaryFile, reports, maxInFlight, memoryBudget, retryFailed).run();
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
@@ -4,26 +4,62 @@ import com.rocketdashboard.model.*;
 import com.rocketdashboard.service.*;
 import com.rocketdashboard.ui.*;
 import com.rocketdashboard.report.*;
+import com.rocketdashboard.util.EdtLatencyMonitor;
+import com.rocketdashboard.util.GroundTrack;
+import com.rocketdashboard.util.Metrics;
+import com.rocketdashboard.util.TimeIndex;
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class RocketDashboard extends JFrame {
+    private static final int PARSE_PROGRESS_SHARE = 80; // Percent of the progress bar spent parsing
+    private static final long PARTIAL_UPDATE_INTERVAL_NANOS = 100_000_000L;
+    private static final long EDT_PROBE_INTERVAL_MILLIS = 100;
+    private static final int LIVE_REFRESH_INTERVAL_MS = 100; // UI refresh rate for live telemetry
+
     private RocketAnimationPanel animationPanel;
+    private GroundTrackPanel groundTrackPanel;
+    private GroundTrack groundTrack; // Of the current flight, once projected
+    private GroundTrackWorker groundTrackWorker;
     private TelemetryTablePanel tablePanel;
     private ControlsPanel controlsPanel;
-    private List<TelemetryData> telemetryData;
-    private Map<Stage, List<TelemetryData>> stages;
-    private List<WeatherData> weatherData;
-    private List<String> anomalies;
+    private TelemetryFrame telemetryData;
+    private StageTimeline stages;
+    private WeatherTrack weatherTrack; // Weather at each sample of telemetryData
+    private List<Anomaly> anomalies;
+    private Flight currentFlight; // Null before the first load
+    private TimeIndex timeIndex; // Over telemetryData; keeps scrub slider, table and animation in sync
+    private boolean syncingPosition;
 
     private CSVReader csvReader;
     private StageClassifier stageClassifier;
     private WeatherService weatherService;
     private PDFReportGenerator reportGenerator;
+    private FlightLoader flightLoader;
+    private LoadWorker loadWorker;
+    private CompareWorker compareWorker;
+    private FlightCatalog flightCatalog;
+    private FlightCatalogPanel catalogPanel;
+    private JFrame catalogFrame;
+    private CatalogWorker catalogWorker;
+    private volatile boolean catalogOpened;
+
+    // Live session state, only touched on the EDT
+    private LiveTelemetrySource liveSource;
+    private Timer liveTimer;
+    private TelemetryFrame.Builder liveBuilder;
+    private StreamingStageClassifier liveClassifier;
+
+    // Probes only while metrics are on; metricsWereEnabled is the state before the overlay
+    private final EdtLatencyMonitor edtLatencyMonitor = new EdtLatencyMonitor(Metrics.EDT_LATENCY, EDT_PROBE_INTERVAL_MILLIS);
+    private boolean metricsWereEnabled;
 
     public RocketDashboard() {
         initializeServices();
@@ -36,6 +72,9 @@ public class RocketDashboard extends JFrame {
         stageClassifier = new StageClassifier();
         weatherService = new WeatherService();
         reportGenerator = new PDFReportGenerator();
+        flightLoader = new FlightLoader(csvReader, stageClassifier, weatherService);
+        Metrics.registerMBeans();
+        edtLatencyMonitor.start();
     }
 
     private void initializeUI() {
@@ -45,11 +84,15 @@ public class RocketDashboard extends JFrame {
 
         // Create UI components
         animationPanel = new RocketAnimationPanel();
+        groundTrackPanel = new GroundTrackPanel();
         tablePanel = new TelemetryTablePanel();
         controlsPanel = new ControlsPanel();
 
         // Add to layout
-        add(animationPanel, BorderLayout.CENTER);
+        JTabbedPane views = new JTabbedPane();
+        views.addTab("Trajectory", animationPanel);
+        views.addTab("Ground Track", groundTrackPanel);
+        add(views, BorderLayout.CENTER);
         add(new JScrollPane(tablePanel), BorderLayout.EAST);
         add(controlsPanel, BorderLayout.SOUTH);
 
@@ -74,9 +117,15 @@ public class RocketDashboard extends JFrame {
         controlsPanel.setResetAction(e -> {
             if (animationPanel != null && telemetryData != null) {
                 animationPanel.setTelemetryData(telemetryData, stages);
+                groundTrackPanel.setCurrentIndex(0);
             }
         });
 
+        controlsPanel.setPlaybackSpeedAction(e -> {
+            animationPanel.setPlaybackSpeed(controlsPanel.getPlaybackSpeed());
+            animationPanel.setPlaybackReverse(controlsPanel.isPlaybackReversed());
+        });
+
         controlsPanel.setStageChangeAction(e -> {
             if (controlsPanel != null && animationPanel != null) {
                 Stage selectedStage = controlsPanel.getSelectedStage();
@@ -84,11 +133,55 @@ public class RocketDashboard extends JFrame {
             }
         });
 
+        // Playback position: whichever view moves, the other two follow
+        animationPanel.setPositionListener(index -> showPosition(index, animationPanel));
+        tablePanel.setRowSelectionAction(index -> showPosition(index, tablePanel));
+        controlsPanel.setScrubAction(e -> {
+            if (timeIndex != null) {
+                showPosition(timeIndex.nearestIndex(controlsPanel.getScrubTimeNanos()), controlsPanel);
+            }
+        });
+
+        controlsPanel.setCancelLoadAction(e -> {
+            if (loadWorker != null) {
+                loadWorker.cancel(true);
+            }
+            if (compareWorker != null) {
+                compareWorker.cancel(true);
+            }
+        });
+
+        controlsPanel.setMetricsOverlayAction(e -> {
+            boolean show = controlsPanel.isMetricsOverlay();
+            if (show) {
+                metricsWereEnabled = Metrics.isEnabled();
+                Metrics.setEnabled(true);
+            } else {
+                Metrics.setEnabled(metricsWereEnabled); // Left on if JMX or the command line turned it on
+            }
+            animationPanel.setMetricsOverlay(show);
+        });
+
+        // Both frames share timestamps, so the time index and playback position carry over,
+        // and positions, so the ground track does too
+        controlsPanel.setFilteredViewAction(e -> {
+            if (currentFlight == null || liveSource != null || (loadWorker != null && !loadWorker.isDone())) {
+                return;
+            }
+            int index = animationPanel.getCurrentIndex();
+            telemetryData = displayedTelemetry(currentFlight);
+            tablePanel.setTelemetryData(telemetryData);
+            animationPanel.setTelemetryData(telemetryData, stages);
+            showPosition(index, null);
+        });
+
         controlsPanel.setThemeChangeAction(e -> {
             if (controlsPanel != null) {
                 boolean darkMode = controlsPanel.isDarkMode();
                 if (animationPanel != null) animationPanel.setTheme(darkMode);
+                if (groundTrackPanel != null) groundTrackPanel.setTheme(darkMode);
                 if (tablePanel != null) tablePanel.setTheme(darkMode);
+                if (catalogPanel != null) catalogPanel.setTheme(darkMode);
                 controlsPanel.setTheme(darkMode);
             }
         });
@@ -96,15 +189,32 @@ public class RocketDashboard extends JFrame {
         // Menu bar
         JMenuBar menuBar = new JMenuBar();
         JMenu fileMenu = new JMenu("File");
-        JMenuItem loadItem = new JMenuItem("Load CSV");
+        JMenuItem loadItem = new JMenuItem("Load Flight...");
+        JMenuItem saveItem = new JMenuItem("Save Flight...");
+        JMenuItem compareItem = new JMenuItem("Compare Flights...");
+        JMenuItem catalogItem = new JMenuItem("Flight Catalog...");
+        JMenuItem liveItem = new JMenuItem("Listen for Live Telemetry...");
+        JMenuItem stopLiveItem = new JMenuItem("Stop Live Telemetry");
         JMenuItem reportItem = new JMenuItem("Generate Report");
         JMenuItem exitItem = new JMenuItem("Exit");
 
         loadItem.addActionListener(e -> loadCSVFile());
+        saveItem.addActionListener(e -> saveFlightFile());
+        compareItem.addActionListener(e -> compareFlights());
+        catalogItem.addActionListener(e -> showFlightCatalog());
+        liveItem.addActionListener(e -> startLiveTelemetry());
+        stopLiveItem.addActionListener(e -> stopLiveTelemetry());
         reportItem.addActionListener(e -> generateReport());
         exitItem.addActionListener(e -> System.exit(0));
 
         fileMenu.add(loadItem);
+        fileMenu.add(saveItem);
+        fileMenu.add(compareItem);
+        fileMenu.add(catalogItem);
+        fileMenu.addSeparator();
+        fileMenu.add(liveItem);
+        fileMenu.add(stopLiveItem);
+        fileMenu.addSeparator();
         fileMenu.add(reportItem);
         fileMenu.addSeparator();
         fileMenu.add(exitItem);
@@ -114,80 +224,629 @@ public class RocketDashboard extends JFrame {
 
     private void loadCSVFile() {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Select Rocket Telemetry CSV File");
+        fileChooser.setDialogTitle("Select Rocket Telemetry CSV or Flight File");
 
         int result = fileChooser.showOpenDialog(this);
 
         if (result == JFileChooser.APPROVE_OPTION) {
-            File selectedFile = fileChooser.getSelectedFile();
+            loadFlight(fileChooser.getSelectedFile());
+        }
+    }
+
+    // Stops a load or comparison that something newer replaces. The workers are dropped
+    // first, so their done() sees it was superseded and leaves the newer one's progress alone.
+    private void cancelBackgroundLoads() {
+        LoadWorker load = loadWorker;
+        CompareWorker compare = compareWorker;
+        loadWorker = null;
+        compareWorker = null;
+        if (load != null) load.cancel(true);
+        if (compare != null) compare.cancel(true);
+    }
 
+    private void loadFlight(File selectedFile) {
+        closeLiveSource();
+        // Only one load at a time; a newer selection replaces a running one
+        cancelBackgroundLoads();
+
+        loadWorker = new LoadWorker(selectedFile);
+        loadWorker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                controlsPanel.setLoadProgress((Integer) evt.getNewValue());
+            }
+        });
+        controlsPanel.setLoading(true);
+        controlsPanel.setScrubRange(0, 0); // The views show a partial flight until done
+        controlsPanel.setStatus("Loading " + selectedFile.getName() + "...");
+        loadWorker.execute();
+    }
+
+    private void setCurrentFlight(Flight flight) {
+        currentFlight = flight;
+        telemetryData = displayedTelemetry(flight);
+        stages = flight.getStages();
+        anomalies = flight.getAnomalies();
+        weatherTrack = flight.getWeatherTrack();
+
+        timeIndex = new TimeIndex(telemetryData);
+
+        tablePanel.setTelemetryData(telemetryData);
+        animationPanel.setTelemetryData(telemetryData, stages);
+        showGroundTrack(flight);
+        controlsPanel.setScrubRange(timeIndex.getStartNanos(), timeIndex.getEndNanos());
+    }
+
+    // The fixes are projected off the EDT, once per flight; the raw and filtered frames share them
+    private void showGroundTrack(Flight flight) {
+        if (groundTrackWorker != null) {
+            groundTrackWorker.cancel(true);
+            groundTrackWorker = null;
+        }
+        TelemetryFrame raw = flight.getTelemetry();
+        groundTrackPanel.setTelemetryData(raw, flight.getStages());
+        if (groundTrack != null && groundTrack.getFrame() == raw) {
+            groundTrackPanel.setGroundTrack(groundTrack);
+            return;
+        }
+        groundTrack = null;
+        groundTrackWorker = new GroundTrackWorker(raw);
+        groundTrackWorker.execute();
+    }
+
+    private class GroundTrackWorker extends SwingWorker<GroundTrack, Void> {
+        private final TelemetryFrame frame;
+
+        GroundTrackWorker(TelemetryFrame frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        protected GroundTrack doInBackground() {
+            return new GroundTrack(frame);
+        }
+
+        @Override
+        protected void done() {
+            if (this != groundTrackWorker || isCancelled()) return;
+            groundTrackWorker = null;
             try {
-                // Step 1: Read CSV
-                telemetryData = csvReader.readCSV(selectedFile.getAbsolutePath());
+                groundTrack = get();
+                groundTrackPanel.setGroundTrack(groundTrack);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                controlsPanel.setStatus("Ground track failed: " + e.getCause().getMessage());
+            }
+        }
+    }
 
-                // Step 2: Display as table
-                tablePanel.setTelemetryData(telemetryData);
+    private TelemetryFrame displayedTelemetry(Flight flight) {
+        return controlsPanel.isFilteredView() ? flight.getFilteredTelemetry() : flight.getTelemetry();
+    }
 
-                // Step 3: Classify stages and detect anomalies
-                stages = stageClassifier.classifyStages(telemetryData);
-                anomalies = stageClassifier.detectAnomalies(telemetryData);
+    // Moves the views other than origin to the given sample of the current flight
+    private void showPosition(int index, Object origin) {
+        if (syncingPosition || timeIndex == null || index < 0 || index >= telemetryData.size()) {
+            return;
+        }
+        if (liveSource != null || (loadWorker != null && !loadWorker.isDone())) {
+            return; // The views show a flight that is still arriving
+        }
+        syncingPosition = true;
+        try {
+            if (origin != animationPanel) animationPanel.setCurrentIndex(index);
+            groundTrackPanel.setCurrentIndex(index);
+            if (origin != tablePanel) tablePanel.selectRow(index);
+            if (origin != controlsPanel) controlsPanel.setScrubTime(telemetryData.getTimestampNanos(index));
+        } finally {
+            syncingPosition = false;
+        }
+    }
 
-                // Step 4: Set animation data
-                animationPanel.setTelemetryData(telemetryData, stages);
+    private void showFlight(Flight flight) {
+        setCurrentFlight(flight);
+        controlsPanel.setStatus("Loaded " + new File(flight.getSourcePath()).getName());
+
+        // Show anomalies if any
+        if (!anomalies.isEmpty()) {
+            StringBuilder anomalyMessage = new StringBuilder("Detected Anomalies:\n");
+            for (Anomaly anomaly : anomalies) {
+                anomalyMessage.append("• ").append(anomaly).append("\n");
+            }
+            JOptionPane.showMessageDialog(this, anomalyMessage.toString(),
+                    "Anomaly Alert", JOptionPane.WARNING_MESSAGE);
+        }
+
+        JOptionPane.showMessageDialog(this,
+                "Flight loaded successfully!\n" +
+                        "Data points: " + telemetryData.size() + "\n" +
+                        "Stages detected: " + stages.getStageCount());
+    }
+
+    // Puts the previously loaded flight (if any) back after a failed or cancelled load
+    private void restoreCurrentFlight() {
+        if (currentFlight != null) {
+            telemetryData = displayedTelemetry(currentFlight);
+            showGroundTrack(currentFlight);
+        } else {
+            groundTrackPanel.setTelemetryData(telemetryData, stages);
+        }
+        tablePanel.setTelemetryData(telemetryData);
+        animationPanel.setTelemetryData(telemetryData, stages);
+        if (timeIndex != null) {
+            controlsPanel.setScrubRange(timeIndex.getStartNanos(), timeIndex.getEndNanos());
+        }
+    }
+
+    // Parses and analyzes off the EDT; partial frames fill the table and trajectory as
+    // chunks arrive, at most every PARTIAL_UPDATE_INTERVAL_NANOS
+    private class LoadWorker extends SwingWorker<Flight, TelemetryFrame> {
+        private final File file;
+        private long lastPartialUpdate;
+
+        LoadWorker(File file) {
+            this.file = file;
+        }
+
+        @Override
+        protected Flight doInBackground() throws Exception {
+            return flightLoader.load(file.getAbsolutePath(), (loadedSoFar, bytesRead, totalBytes) -> {
+                publish(loadedSoFar);
+                setProgress((int) Math.min(PARSE_PROGRESS_SHARE,
+                        PARSE_PROGRESS_SHARE * bytesRead / Math.max(1, totalBytes)));
+            });
+        }
+
+        @Override
+        protected void process(List<TelemetryFrame> chunks) {
+            if (isCancelled() || this != loadWorker) return;
+
+            long now = System.nanoTime();
+            if (now - lastPartialUpdate < PARTIAL_UPDATE_INTERVAL_NANOS) return;
+            lastPartialUpdate = now;
+
+            TelemetryFrame latest = chunks.get(chunks.size() - 1);
+            tablePanel.appendTelemetryData(latest);
+            animationPanel.appendTelemetryData(latest, StageTimeline.empty());
+            groundTrackPanel.appendTelemetryData(latest, StageTimeline.empty());
+        }
+
+        @Override
+        protected void done() {
+            if (this != loadWorker) return; // Superseded by a newer load
+            controlsPanel.setLoading(false);
+
+            if (isCancelled()) {
+                controlsPanel.setStatus("Load cancelled");
+                restoreCurrentFlight();
+                return;
+            }
+
+            try {
+                showFlight(get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                restoreCurrentFlight();
+                controlsPanel.setStatus("Load failed");
+                JOptionPane.showMessageDialog(RocketDashboard.this,
+                        "Error loading flight: " + cause.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                cause.printStackTrace();
+            }
+        }
+    }
+
+    private void compareFlights() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Select Flights to Compare");
+        fileChooser.setMultiSelectionEnabled(true);
+
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File[] files = fileChooser.getSelectedFiles();
+        if (files.length == 0) {
+            return;
+        }
+
+        closeLiveSource();
+        cancelBackgroundLoads();
+
+        compareWorker = new CompareWorker(files);
+        compareWorker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                controlsPanel.setLoadProgress((Integer) evt.getNewValue());
+            }
+        });
+        controlsPanel.setLoading(true);
+        controlsPanel.setStatus("Loading " + files.length + " flights...");
+        compareWorker.execute();
+    }
+
+    // Loads and classifies all flights concurrently, then prepares the overlay off the EDT
+    private class CompareWorker extends SwingWorker<FlightOverlay, Void> {
+        private final File[] files;
+        private FlightSet flightSet;
+
+        CompareWorker(File[] files) {
+            this.files = files;
+        }
+
+        @Override
+        protected FlightOverlay doInBackground() throws Exception {
+            List<String> paths = new ArrayList<>(files.length);
+            for (File file : files) {
+                paths.add(file.getAbsolutePath());
+            }
+            flightSet = flightLoader.loadAll(paths, (flight, completed, total) ->
+                    setProgress(completed * PARSE_PROGRESS_SHARE / total));
+            return new FlightOverlay(flightSet);
+        }
+
+        @Override
+        protected void done() {
+            if (this != compareWorker) return; // Superseded by a newer comparison
+            controlsPanel.setLoading(false);
 
-                // Step 6: Fetch weather data (simulated)
-                LocalDateTime launchTime = telemetryData.get(0).getTimestamp();
-                weatherData = weatherService.getHistoricalWeather("Launch Site", launchTime);
-
-                // Show anomalies if any
-                if (!anomalies.isEmpty()) {
-                    StringBuilder anomalyMessage = new StringBuilder("Detected Anomalies:\n");
-                    for (String anomaly : anomalies) {
-                        anomalyMessage.append("• ").append(anomaly).append("\n");
-                    }
-                    JOptionPane.showMessageDialog(this, anomalyMessage.toString(),
-                            "Anomaly Alert", JOptionPane.WARNING_MESSAGE);
+            if (isCancelled()) {
+                controlsPanel.setStatus("Comparison cancelled");
+                return;
+            }
+
+            try {
+                FlightOverlay overlay = get();
+                if (!flightSet.isEmpty()) {
+                    // The first flight stays current for the table, report and save
+                    setCurrentFlight(flightSet.getFlights().get(0));
+                    animationPanel.setOverlay(overlay);
                 }
+                controlsPanel.setStatus("Comparing " + flightSet.size() + " flights");
 
-                JOptionPane.showMessageDialog(this,
-                        "CSV loaded successfully!\n" +
-                                "Data points: " + telemetryData.size() + "\n" +
-                                "Stages detected: " + stages.size());
+                if (!flightSet.getFailures().isEmpty()) {
+                    JOptionPane.showMessageDialog(RocketDashboard.this,
+                            "Some flights could not be loaded:\n" + String.join("\n", flightSet.getFailures()),
+                            "Compare Flights", JOptionPane.WARNING_MESSAGE);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                controlsPanel.setStatus("Comparison failed");
+                JOptionPane.showMessageDialog(RocketDashboard.this,
+                        "Error comparing flights: " + ex.getCause().getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private void showFlightCatalog() {
+        if (catalogFrame == null) {
+            flightCatalog = new FlightCatalog(FlightCatalog.defaultIndexFile(), flightLoader);
+            catalogPanel = new FlightCatalogPanel();
+            catalogPanel.setTheme(controlsPanel.isDarkMode());
+            catalogPanel.setAddFolderAction(e -> addCatalogFolder());
+            catalogPanel.setRefreshAction(e -> refreshCatalog(null));
+            catalogPanel.setOpenAction(summary -> loadFlight(new File(summary.path())));
+
+            catalogFrame = new JFrame("Flight Catalog");
+            catalogFrame.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+            catalogFrame.add(catalogPanel);
+            catalogFrame.setSize(1000, 600);
+            catalogFrame.setLocationRelativeTo(this);
+
+            refreshCatalog(List.of()); // Only reads the index
+        }
+        catalogFrame.setVisible(true);
+        catalogFrame.toFront();
+    }
 
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this,
-                        "Error loading CSV: " + ex.getMessage(),
+    private void addCatalogFolder() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Add Flight Folder to Catalog");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showOpenDialog(catalogFrame) == JFileChooser.APPROVE_OPTION) {
+            refreshCatalog(List.of(fileChooser.getSelectedFile().toPath()));
+        }
+    }
+
+    // Re-scans the given folders, or every cataloged folder when roots is null
+    private void refreshCatalog(List<Path> roots) {
+        if (catalogWorker != null && !catalogWorker.isDone()) {
+            return;
+        }
+        catalogWorker = new CatalogWorker(roots);
+        catalogPanel.setBusy(true);
+        catalogPanel.setStatus(catalogOpened ? "Scanning..." : "Opening catalog...");
+        catalogWorker.execute();
+    }
+
+    // Opens the index on first use, then brings the requested folders up to date
+    private class CatalogWorker extends SwingWorker<List<String>, String> {
+        private final List<Path> roots;
+        private int analyzed, unchanged, removed;
+
+        CatalogWorker(List<Path> roots) {
+            this.roots = roots;
+        }
+
+        @Override
+        protected List<String> doInBackground() throws Exception {
+            if (!catalogOpened) {
+                flightCatalog.open();
+                catalogOpened = true;
+            }
+
+            List<Path> folders = new ArrayList<>();
+            if (roots != null) {
+                folders.addAll(roots);
+            } else {
+                for (String root : flightCatalog.getRoots()) {
+                    folders.add(Path.of(root));
+                }
+            }
+
+            List<String> failures = new ArrayList<>();
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            for (Path folder : folders) {
+                if (!Files.isDirectory(folder)) {
+                    failures.add(folder + ": folder not found");
+                    continue;
+                }
+                FlightCatalog.RefreshStats stats = flightCatalog.refresh(folder, threads,
+                        (completed, total, file) -> publish("Analyzing " + completed + "/" + total + "..."));
+                analyzed += stats.analyzed();
+                unchanged += stats.unchanged();
+                removed += stats.removed();
+                failures.addAll(stats.failures());
+            }
+            return failures;
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            catalogPanel.setStatus(chunks.get(chunks.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            catalogPanel.setBusy(false);
+            catalogPanel.setFlights(flightCatalog.getFlights(), flightCatalog.getAnomalyRules());
+            try {
+                List<String> failures = get();
+                catalogPanel.setStatus(roots != null && roots.isEmpty() ? ""
+                        : analyzed + " analyzed, " + unchanged + " unchanged, " + removed + " removed");
+                if (!failures.isEmpty()) {
+                    JOptionPane.showMessageDialog(catalogFrame,
+                            "Some flights could not be cataloged:\n" + String.join("\n", failures),
+                            "Flight Catalog", JOptionPane.WARNING_MESSAGE);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                catalogPanel.setStatus("Catalog update failed");
+                JOptionPane.showMessageDialog(catalogFrame,
+                        "Error updating catalog: " + ex.getCause().getMessage(),
                         "Error", JOptionPane.ERROR_MESSAGE);
-                ex.printStackTrace();
             }
         }
     }
 
+    private void startLiveTelemetry() {
+        JComboBox<LiveTelemetrySource.Protocol> protocolBox = new JComboBox<>(LiveTelemetrySource.Protocol.values());
+        JSpinner portSpinner = new JSpinner(new SpinnerNumberModel(LiveTelemetrySource.DEFAULT_PORT, 1, 65535, 1));
+        portSpinner.setEditor(new JSpinner.NumberEditor(portSpinner, "#"));
+        JPanel form = new JPanel(new GridLayout(2, 2, 5, 5));
+        form.add(new JLabel("Protocol:"));
+        form.add(protocolBox);
+        form.add(new JLabel("Port:"));
+        form.add(portSpinner);
+
+        int result = JOptionPane.showConfirmDialog(this, form, "Listen for Live Telemetry",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (result != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        cancelBackgroundLoads();
+        controlsPanel.setLoading(false);
+        closeLiveSource();
+
+        LiveTelemetrySource source = new LiveTelemetrySource(
+                (LiveTelemetrySource.Protocol) protocolBox.getSelectedItem(), (Integer) portSpinner.getValue());
+        try {
+            source.start();
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this,
+                    "Cannot listen on port " + source.getPort() + ": " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        liveSource = source;
+        liveBuilder = new TelemetryFrame.Builder();
+        liveClassifier = new StreamingStageClassifier(null);
+        tablePanel.setTelemetryData(TelemetryFrame.empty());
+        animationPanel.setTelemetryData(TelemetryFrame.empty(), StageTimeline.empty());
+        groundTrackPanel.setTelemetryData(TelemetryFrame.empty(), StageTimeline.empty());
+        controlsPanel.setScrubRange(0, 0);
+
+        // Samples are published in batches at the UI refresh rate, never per packet
+        liveTimer = new Timer(LIVE_REFRESH_INTERVAL_MS, e -> pollLiveTelemetry());
+        liveTimer.start();
+        pollLiveTelemetry();
+    }
+
+    private void pollLiveTelemetry() {
+        int drained = liveSource.drainTo(liveBuilder, Integer.MAX_VALUE);
+        if (drained > 0) {
+            TelemetryFrame received = liveBuilder.snapshot();
+            liveClassifier.acceptAll(received, received.size() - drained, received.size());
+            // Confirmed events only: nothing after LAUNCH is marked while the rocket is on the pad
+            StageTimeline timeline = liveClassifier.toTimeline();
+            tablePanel.appendTelemetryData(received);
+            animationPanel.appendTelemetryData(received, timeline);
+            groundTrackPanel.appendTelemetryData(received, timeline);
+        }
+
+        LiveTelemetrySource.Stats stats = liveSource.getStats();
+        controlsPanel.setStatus(String.format("Live %s:%d - %d samples, %d lost, %d rejected, %d overflowed, %d stalls",
+                liveSource.getProtocol(), liveSource.getPort(), liveBuilder.size(), stats.getPacketsLost(),
+                stats.getPacketsRejected(), stats.getSamplesOverflowed(), stats.getBackpressureStalls()));
+
+        // The receiver died (socket error): end the session with what was received so far
+        if (!liveSource.isRunning() && liveTimer.isRunning()) {
+            liveTimer.stop();
+            IOException failure = stats.getFailure();
+            JOptionPane.showMessageDialog(this,
+                    "Live telemetry stopped: " + (failure != null ? failure.getMessage() : "receiver ended"),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            stopLiveTelemetry();
+        }
+    }
+
+    // Ends the session and analyzes what was received like a loaded flight
+    private void stopLiveTelemetry() {
+        if (liveSource == null) {
+            return;
+        }
+
+        pollLiveTelemetry();
+        String sourceName = "live-" + liveSource.getProtocol().name().toLowerCase() + "-" + liveSource.getPort();
+        TelemetryFrame received = liveBuilder.build();
+        closeLiveSource();
+
+        if (received.isEmpty()) {
+            controlsPanel.setStatus("Live session ended, no telemetry received");
+            restoreCurrentFlight();
+            return;
+        }
+
+        controlsPanel.setStatus("Analyzing live flight...");
+        new SwingWorker<Flight, Void>() {
+            @Override
+            protected Flight doInBackground() throws Exception {
+                return flightLoader.analyze(sourceName, received);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    showFlight(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    controlsPanel.setStatus("Analysis failed");
+                    JOptionPane.showMessageDialog(RocketDashboard.this,
+                            "Error analyzing live flight: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void closeLiveSource() {
+        if (liveSource == null) {
+            return;
+        }
+        liveTimer.stop();
+        liveSource.close();
+        liveSource = null;
+        liveTimer = null;
+        liveBuilder = null;
+        liveClassifier = null;
+    }
+
+    // Writes the current flight in the binary format, which reopens far faster than CSV
+    private void saveFlightFile() {
+        if (telemetryData == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Please load a flight first!",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Save Flight");
+        fileChooser.setSelectedFile(new File("rocket_flight.rktf"));
+
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        String outputPath = fileChooser.getSelectedFile().getAbsolutePath();
+        TelemetryFrame frame = currentFlight != null ? currentFlight.getTelemetry() : telemetryData; // Never the filtered view
+        controlsPanel.setStatus("Saving " + fileChooser.getSelectedFile().getName() + "...");
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                new FlightFileWriter().write(frame, outputPath);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    controlsPanel.setStatus("Saved " + outputPath);
+                    JOptionPane.showMessageDialog(RocketDashboard.this, "Flight saved successfully!");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    controlsPanel.setStatus("Save failed");
+                    JOptionPane.showMessageDialog(RocketDashboard.this,
+                            "Error saving flight: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private void generateReport() {
         if (telemetryData == null) {
             JOptionPane.showMessageDialog(this,
-                    "Please load CSV data first!",
+                    "Please load a flight first!",
                     "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Save Flight Report");
-        fileChooser.setSelectedFile(new File("rocket_flight_report.txt"));
+        fileChooser.setSelectedFile(new File("rocket_flight_report.pdf"));
 
-        int result = fileChooser.showSaveDialog(this);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
 
-        if (result == JFileChooser.APPROVE_OPTION) {
-            try {
-                reportGenerator.generateReport(telemetryData, stages, weatherData,
-                        anomalies, fileChooser.getSelectedFile().getAbsolutePath());
-                JOptionPane.showMessageDialog(this, "Report generated successfully!");
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this,
-                        "Error generating report: " + ex.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
+        String outputPath = fileChooser.getSelectedFile().getAbsolutePath();
+        TelemetryFrame frame = currentFlight != null ? currentFlight.getTelemetry() : telemetryData; // Never the filtered view
+        StageTimeline reportStages = stages;
+        WeatherTrack reportWeather = weatherTrack;
+        List<Anomaly> reportAnomalies = anomalies;
+        controlsPanel.setStatus("Generating report " + fileChooser.getSelectedFile().getName() + "...");
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                reportGenerator.generateReport(frame, reportStages, reportWeather, reportAnomalies, outputPath);
+                return null;
             }
-        }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    controlsPanel.setStatus("Report saved to " + outputPath);
+                    JOptionPane.showMessageDialog(RocketDashboard.this, "Report generated successfully!");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    controlsPanel.setStatus("Report failed");
+                    JOptionPane.showMessageDialog(RocketDashboard.this,
+                            "Error generating report: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     public static void main(String[] args) {
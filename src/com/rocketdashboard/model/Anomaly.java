@@ -0,0 +1,30 @@
+package com.rocketdashboard.model;
+
+// One finding of an anomaly rule. sampleIndex points into the flight's frame, or is -1 for
+// findings about the flight as a whole (e.g. no parachute deployment at all).
+public record Anomaly(Severity severity, String rule, int sampleIndex, String message) {
+    public enum Severity {
+        INFO("Info"),
+        WARNING("Warning"),
+        CRITICAL("Critical");
+
+        private final String displayName;
+
+        Severity(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    public boolean hasSampleIndex() {
+        return sampleIndex >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return severity.getDisplayName() + ": " + message;
+    }
+}
@@ -0,0 +1,99 @@
+package com.rocketdashboard.model;
+
+// Reads a BitWriter stream from a given word; one reader per decoded block. Every read
+// starts from a 64-bit window at the current position, so prefix codes are resolved with
+// a leading-zero count instead of a branch per bit. The stream must be followed by at
+// least one more word (see BitWriter.copyWords()).
+final class BitReader {
+    // Value bits of the delta-of-delta codes written by BitWriter, a byte each, by number of
+    // leading ones; the prefix is that many ones and a zero. Five ones are followed by 64 bits.
+    private static final long SHORT_VALUE_BITS = 32L << 32 | 12 << 24 | 9 << 16 | 7 << 8;
+    private static final int LONGEST_SHORT_CODE = 5 + 32;
+    private static final int ZERO_RUN = 8; // Zero codes in a row worth a loop of their own
+
+    private final long[] words;
+    private long position; // In bits
+
+    BitReader(long[] words, int startWord) {
+        this.words = words;
+        this.position = (long) startWord << 6;
+    }
+
+    // The 64 bits from position, first bit in the sign position; static for decode loops
+    // that keep the position in a local
+    static long peek(long[] words, long position) {
+        int word = (int) (position >>> 6);
+        int used = (int) position & 63;
+        // (x >>> 1) >>> (63 - used) is x >>> (64 - used), but 0 rather than x when used == 0
+        return (words[word] << used) | ((words[word + 1] >>> 1) >>> (63 - used));
+    }
+
+    private long peek() {
+        return peek(words, position);
+    }
+
+    boolean readBit() {
+        boolean bit = peek() < 0;
+        position++;
+        return bit;
+    }
+
+    // count in 1..64
+    long read(int count) {
+        long result = peek() >>> (64 - count);
+        position += count;
+        return result;
+    }
+
+    // Reads count values of a delta-of-delta series whose first value is first, which is
+    // what a scan over a compressed column spends most of its time in. Codes are taken from
+    // a window held in a local and refilled only once it may not hold a whole code, and are
+    // resolved arithmetically, as branches would be mispredicted on every sample of a noisy
+    // channel. A long run of zero codes, as on a steady climb or clock, is taken in one go.
+    void readDeltaOfDeltas(long first, long[] destination, int offset, int count) {
+        long[] words = this.words;
+        long position = this.position;
+        long value = first;
+        long delta = 0;
+        destination[offset] = value;
+        long window = peek(words, position);
+        int available = 64;
+        int i = 1;
+        while (i < count) {
+            if (available < LONGEST_SHORT_CODE) {
+                window = peek(words, position);
+                available = 64;
+            }
+            int zeros = Long.numberOfLeadingZeros(window);
+            if (zeros >= ZERO_RUN) {
+                // The window is zero-filled past what is available, so cap the run there
+                zeros = Math.min(Math.min(zeros, available), count - i);
+                position += zeros;
+                window <<= zeros;
+                available -= zeros;
+                for (int end = i + zeros; i < end; i++) {
+                    value += delta;
+                    destination[offset + i] = value;
+                }
+                continue;
+            }
+            int ones = Long.numberOfLeadingZeros(~window);
+            if (ones >= 5) {
+                delta += peek(words, position + 5);
+                position += 5 + 64;
+                available = 0;
+            } else {
+                // For the 1-bit zero code bits is 0, so the shift is by 64, i.e. none, and the mask clears it
+                int bits = (int) (SHORT_VALUE_BITS >>> (ones << 3)) & 0xFF;
+                int length = ones + 1 + bits;
+                delta += ((window << (ones + 1)) >> (64 - bits)) & -(long) Integer.signum(bits);
+                position += length;
+                window <<= length;
+                available -= length;
+            }
+            value += delta;
+            destination[offset + i++] = value;
+        }
+        this.position = position;
+    }
+}
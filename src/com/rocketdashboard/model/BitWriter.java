@@ -0,0 +1,80 @@
+package com.rocketdashboard.model;
+
+import java.util.Arrays;
+
+// Append-only bit stream for the compressed columns, most significant bit first.
+// Words already written are never changed once the stream has moved past them.
+final class BitWriter {
+    private long[] words = new long[64];
+    private long position; // In bits
+
+    // The low count bits of value, count in 1..64
+    void write(long value, int count) {
+        int word = (int) (position >>> 6);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length + (words.length >> 1) + 2);
+        }
+        long bits = count == 64 ? value : value & ((1L << count) - 1);
+        int free = 64 - (int) (position & 63);
+        if (count <= free) {
+            words[word] |= bits << (free - count);
+        } else {
+            int rest = count - free;
+            words[word] |= bits >>> rest;
+            words[word + 1] |= bits << (64 - rest);
+        }
+        position += count;
+    }
+
+    // Variable-length signed value for delta-of-delta streams, shortest for 0:
+    // '0', or '10', '110', '1110', '11110', '11111' followed by 7, 9, 12, 32 or 64 bits
+    void writeDeltaOfDelta(long value) {
+        if (value == 0) {
+            write(0, 1);
+        } else if (fits(value, 7)) {
+            write(0b10, 2);
+            write(value, 7);
+        } else if (fits(value, 9)) {
+            write(0b110, 3);
+            write(value, 9);
+        } else if (fits(value, 12)) {
+            write(0b1110, 4);
+            write(value, 12);
+        } else if (fits(value, 32)) {
+            write(0b11110, 5);
+            write(value, 32);
+        } else {
+            write(0b11111, 5);
+            write(value, 64);
+        }
+    }
+
+    private static boolean fits(long value, int bits) {
+        return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+    }
+
+    // Pads to the next word so a block can be decoded from its own first word
+    void alignToWord() {
+        position = (position + 63) & ~63L;
+    }
+
+    int wordPosition() {
+        return (int) (position >>> 6);
+    }
+
+    // Words holding at least one written bit
+    int usedWords() {
+        return (int) ((position + 63) >>> 6);
+    }
+
+    // The backing array; only the words before wordPosition() are final. It always has a
+    // word past the last one written, which BitReader reads ahead into.
+    long[] words() {
+        return words;
+    }
+
+    // Trimmed copy of the stream, with the word BitReader needs past its end
+    long[] copyWords() {
+        return Arrays.copyOf(words, usedWords() + 1);
+    }
+}
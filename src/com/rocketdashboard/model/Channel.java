@@ -0,0 +1,25 @@
+package com.rocketdashboard.model;
+
+public enum Channel {
+    ALTITUDE("Altitude", "m"),
+    VELOCITY("Velocity", "m/s"),
+    ACCELERATION("Acceleration", "m/s²"),
+    LATITUDE("Latitude", "°"),
+    LONGITUDE("Longitude", "°");
+
+    private final String displayName;
+    private final String unit;
+
+    Channel(String displayName, String unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
@@ -0,0 +1,317 @@
+package com.rocketdashboard.model;
+
+import java.util.Arrays;
+
+// Channel compressed in blocks of BLOCK_SIZE samples, each starting on a word boundary with
+// its own min and max, so seeking decodes one block. A block is encoded one of two ways:
+// - Gorilla-style XOR: each value is stored as the XOR with its predecessor, one bit when
+//   unchanged and otherwise just the bits between the leading and trailing zeros.
+// - Decimal: when every value is exactly round(v * 10^k) / 10^k for some k <= MAX_DECIMALS,
+//   as parsed from a CSV with fixed decimals, the scaled integers are stored delta-of-delta.
+//   XOR does poorly on such values, since their binary fractions differ in most bits.
+// get() keeps the last few decoded blocks, enough for several threads scanning at once.
+public final class CompressedDoubleColumn implements DoubleColumn {
+    public static final int BLOCK_SHIFT = 10;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int CACHE_WAYS = 4;
+    private static final int MAX_DECIMALS = 6;
+    private static final int XOR_MODE = 7; // Block header: 3 bits, the decimal count or XOR_MODE
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+
+    private final int size;
+    private final long[] words;
+    private final int usedWords;
+    private final int[] blockOffsets; // First word of each block
+    private final double[] blockMin;
+    private final double[] blockMax;
+
+    // Racy but safe: DecodedBlock is immutable, so a reader sees a whole block or none
+    private final DecodedBlock[] cache = new DecodedBlock[CACHE_WAYS];
+    private DecodedBlock recent; // Checked first, as most reads follow the one before
+    private int nextSlot;
+
+    private static final class DecodedBlock {
+        final int block;
+        final double[] values;
+
+        DecodedBlock(int block, double[] values) {
+            this.block = block;
+            this.values = values;
+        }
+    }
+
+    private CompressedDoubleColumn(int size, long[] words, int usedWords,
+                                   int[] blockOffsets, double[] blockMin, double[] blockMax) {
+        this.size = size;
+        this.words = words;
+        this.usedWords = usedWords;
+        this.blockOffsets = blockOffsets;
+        this.blockMin = blockMin;
+        this.blockMax = blockMax;
+    }
+
+    public static CompressedDoubleColumn encode(DoubleColumn source, int size) {
+        Encoder encoder = new Encoder();
+        encoder.addAll(source, size);
+        return encoder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    // Extent of a block, ignoring NaN; NaN when every value in it is NaN
+    public double getBlockMin(int block) {
+        return blockMin[block];
+    }
+
+    public double getBlockMax(int block) {
+        return blockMax[block];
+    }
+
+    // Encoded size including the block table, against 8 bytes per sample in an array
+    public long getCompressedBytes() {
+        return 8L * usedWords + 20L * blockOffsets.length;
+    }
+
+    @Override
+    public double get(int index) {
+        int block = index >>> BLOCK_SHIFT;
+        DecodedBlock decoded = recent;
+        if (decoded == null || decoded.block != block) {
+            decoded = lookup(block);
+            recent = decoded;
+        }
+        return decoded.values[index & BLOCK_MASK];
+    }
+
+    private DecodedBlock lookup(int block) {
+        DecodedBlock[] slots = cache;
+        for (int k = 0; k < CACHE_WAYS; k++) {
+            DecodedBlock decoded = slots[k];
+            if (decoded != null && decoded.block == block) {
+                return decoded;
+            }
+        }
+        double[] values = new double[blockLength(block)];
+        decodeBlock(block, values, 0);
+        DecodedBlock decoded = new DecodedBlock(block, values);
+        slots[nextSlot++ & (CACHE_WAYS - 1)] = decoded;
+        return decoded;
+    }
+
+    // Decodes whole blocks straight into the destination; only partial ones go through a buffer
+    @Override
+    public void copyTo(int from, double[] destination, int destinationOffset, int length) {
+        double[] buffer = null;
+        long[] scaled = new long[BLOCK_SIZE];
+        int end = from + length;
+        int index = from;
+        while (index < end) {
+            int block = index >>> BLOCK_SHIFT;
+            int blockStart = block << BLOCK_SHIFT;
+            int blockLength = blockLength(block);
+            int count = Math.min(end, blockStart + blockLength) - index;
+            if (index == blockStart && count == blockLength) {
+                decodeBlock(block, destination, destinationOffset + (index - from), scaled);
+            } else {
+                if (buffer == null) buffer = new double[BLOCK_SIZE];
+                decodeBlock(block, buffer, 0, scaled);
+                System.arraycopy(buffer, index - blockStart, destination, destinationOffset + (index - from), count);
+            }
+            index += count;
+        }
+    }
+
+    // Writes the block's values to destination[offset ...]
+    public void decodeBlock(int block, double[] destination, int offset) {
+        decodeBlock(block, destination, offset, new long[BLOCK_SIZE]);
+    }
+
+    private void decodeBlock(int block, double[] destination, int offset, long[] scaled) {
+        int count = blockLength(block);
+        BitReader in = new BitReader(words, blockOffsets[block]);
+        int mode = (int) in.read(3);
+        if (mode == XOR_MODE) {
+            decodeXor(in, count, destination, offset);
+        } else {
+            in.readDeltaOfDeltas(in.read(64), scaled, 0, count);
+            // Dividing in a separate loop lets it run on vectors; one value at a time,
+            // the division takes longer than decoding the bits
+            double scale = POWERS_OF_TEN[mode];
+            for (int i = 0; i < count; i++) {
+                destination[offset + i] = scaled[i] / scale;
+            }
+        }
+    }
+
+    private static void decodeXor(BitReader in, int count, double[] destination, int offset) {
+        long bits = in.read(64);
+        destination[offset] = Double.longBitsToDouble(bits);
+        int leading = 0, meaningful = 64;
+        for (int i = 1; i < count; i++) {
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.read(5);
+                    meaningful = (int) in.read(6);
+                    if (meaningful == 0) meaningful = 64;
+                }
+                bits ^= in.read(meaningful) << (64 - leading - meaningful);
+            }
+            destination[offset + i] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+    }
+
+    // Streaming encoder; each block is encoded once it is complete, the last one by build().
+    // The samples added so far can be read through snapshot() while it keeps growing.
+    public static final class Encoder {
+        private final BitWriter out = new BitWriter();
+        private final double[] pending = new double[BLOCK_SIZE];
+        private int size;
+        private int[] blockOffsets = new int[16];
+        private double[] blockMin = new double[16];
+        private double[] blockMax = new double[16];
+        private double[] buffer;
+
+        public int size() {
+            return size;
+        }
+
+        public void add(double value) {
+            pending[size & BLOCK_MASK] = value;
+            size++;
+            if ((size & BLOCK_MASK) == 0) {
+                writeBlock(BLOCK_SIZE);
+            }
+        }
+
+        public void addAll(DoubleColumn source, int count) {
+            if (buffer == null) buffer = new double[BLOCK_SIZE];
+            for (int from = 0; from < count; from += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, count - from);
+                source.copyTo(from, buffer, 0, length);
+                for (int i = 0; i < length; i++) {
+                    add(buffer[i]);
+                }
+            }
+        }
+
+        // Only the complete blocks, which later adds never touch; shares the encoded words
+        public CompressedDoubleColumn snapshot() {
+            int blocks = size >>> BLOCK_SHIFT;
+            return new CompressedDoubleColumn(blocks << BLOCK_SHIFT, out.words(), out.usedWords(),
+                    Arrays.copyOf(blockOffsets, blocks), Arrays.copyOf(blockMin, blocks), Arrays.copyOf(blockMax, blocks));
+        }
+
+        // Encodes the partial last block, so nothing may be added afterwards
+        public CompressedDoubleColumn build() {
+            if ((size & BLOCK_MASK) != 0) {
+                writeBlock(size & BLOCK_MASK);
+            }
+            int blocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+            return new CompressedDoubleColumn(size, out.copyWords(), out.usedWords(),
+                    Arrays.copyOf(blockOffsets, blocks), Arrays.copyOf(blockMin, blocks), Arrays.copyOf(blockMax, blocks));
+        }
+
+        private void writeBlock(int count) {
+            int block = (size - 1) >>> BLOCK_SHIFT;
+            if (block == blockOffsets.length) {
+                int capacity = block + (block >> 1) + 1;
+                blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+                blockMin = Arrays.copyOf(blockMin, capacity);
+                blockMax = Arrays.copyOf(blockMax, capacity);
+            }
+
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double value = pending[i];
+                if (value < min) min = value;
+                if (value > max) max = value;
+            }
+            blockMin[block] = min <= max ? min : Double.NaN;
+            blockMax[block] = min <= max ? max : Double.NaN;
+
+            out.alignToWord();
+            blockOffsets[block] = out.wordPosition();
+            int decimals = decimals(count);
+            out.write(decimals, 3);
+            if (decimals == XOR_MODE) {
+                writeXor(count);
+            } else {
+                writeDecimal(count, POWERS_OF_TEN[decimals]);
+            }
+        }
+
+        // Fewest decimals that reproduce every pending value exactly, or XOR_MODE
+        private int decimals(int count) {
+            int decimals = 0;
+            for (int i = 0; i < count; i++) {
+                while (!isExact(pending[i], POWERS_OF_TEN[decimals])) {
+                    if (++decimals > MAX_DECIMALS) return XOR_MODE;
+                }
+            }
+            // A value exact at fewer decimals is not always exact at more
+            for (int i = 0; i < count; i++) {
+                if (!isExact(pending[i], POWERS_OF_TEN[decimals])) return XOR_MODE;
+            }
+            return decimals;
+        }
+
+        private static boolean isExact(double value, double scale) {
+            return Double.doubleToRawLongBits(Math.round(value * scale) / scale) == Double.doubleToRawLongBits(value);
+        }
+
+        private void writeDecimal(int count, double scale) {
+            long previous = Math.round(pending[0] * scale);
+            long previousDelta = 0;
+            out.write(previous, 64);
+            for (int i = 1; i < count; i++) {
+                long scaled = Math.round(pending[i] * scale);
+                long delta = scaled - previous;
+                out.writeDeltaOfDelta(delta - previousDelta);
+                previous = scaled;
+                previousDelta = delta;
+            }
+        }
+
+        private void writeXor(int count) {
+            long previousBits = Double.doubleToRawLongBits(pending[0]);
+            int previousLeading = -1, previousTrailing = 0;
+            out.write(previousBits, 64);
+            for (int i = 1; i < count; i++) {
+                long bits = Double.doubleToRawLongBits(pending[i]);
+                long xor = bits ^ previousBits;
+                if (xor == 0) {
+                    out.write(0, 1);
+                } else {
+                    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                        // Fits in the previous window: '10' and the window's bits
+                        out.write(0b10, 2);
+                        out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                    } else {
+                        // New window: '11', 5 bits of leading zeros, 6 bits of length (64 as 0)
+                        int meaningful = 64 - leading - trailing;
+                        out.write(0b11, 2);
+                        out.write(leading, 5);
+                        out.write(meaningful & 63, 6);
+                        out.write(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+                previousBits = bits;
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.rocketdashboard.model;
+
+import java.util.Arrays;
+
+// Timestamp column compressed with delta-of-delta encoding: each value is stored as the
+// change in its spacing from the previous one, so a steady sample rate costs one bit per
+// sample and jitter a handful. Blocks work as in CompressedDoubleColumn; their first
+// values are kept apart so a time can be located by block without decoding anything.
+public final class CompressedLongColumn implements LongColumn {
+    public static final int BLOCK_SHIFT = CompressedDoubleColumn.BLOCK_SHIFT;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int CACHE_WAYS = 4;
+
+    private final int size;
+    private final long[] words;
+    private final int usedWords;
+    private final int[] blockOffsets;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    private final long[] blockFirst;
+
+    private final DecodedBlock[] cache = new DecodedBlock[CACHE_WAYS];
+    private DecodedBlock recent; // Checked first, as most reads follow the one before
+    private int nextSlot;
+
+    private static final class DecodedBlock {
+        final int block;
+        final long[] values;
+
+        DecodedBlock(int block, long[] values) {
+            this.block = block;
+            this.values = values;
+        }
+    }
+
+    private CompressedLongColumn(int size, long[] words, int usedWords, int[] blockOffsets,
+                                 long[] blockMin, long[] blockMax, long[] blockFirst) {
+        this.size = size;
+        this.words = words;
+        this.usedWords = usedWords;
+        this.blockOffsets = blockOffsets;
+        this.blockMin = blockMin;
+        this.blockMax = blockMax;
+        this.blockFirst = blockFirst;
+    }
+
+    public static CompressedLongColumn encode(LongColumn source, int size) {
+        Encoder encoder = new Encoder();
+        encoder.addAll(source, size);
+        return encoder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    public long getBlockMin(int block) {
+        return blockMin[block];
+    }
+
+    public long getBlockMax(int block) {
+        return blockMax[block];
+    }
+
+    public long getBlockFirst(int block) {
+        return blockFirst[block];
+    }
+
+    public long getCompressedBytes() {
+        return 8L * usedWords + 28L * blockOffsets.length;
+    }
+
+    @Override
+    public long get(int index) {
+        if ((index & BLOCK_MASK) == 0) {
+            return blockFirst[index >>> BLOCK_SHIFT];
+        }
+        int block = index >>> BLOCK_SHIFT;
+        DecodedBlock decoded = recent;
+        if (decoded == null || decoded.block != block) {
+            decoded = lookup(block);
+            recent = decoded;
+        }
+        return decoded.values[index & BLOCK_MASK];
+    }
+
+    private DecodedBlock lookup(int block) {
+        DecodedBlock[] slots = cache;
+        for (int k = 0; k < CACHE_WAYS; k++) {
+            DecodedBlock decoded = slots[k];
+            if (decoded != null && decoded.block == block) {
+                return decoded;
+            }
+        }
+        long[] values = new long[blockLength(block)];
+        decodeBlock(block, values, 0);
+        DecodedBlock decoded = new DecodedBlock(block, values);
+        slots[nextSlot++ & (CACHE_WAYS - 1)] = decoded;
+        return decoded;
+    }
+
+    @Override
+    public void copyTo(int from, long[] destination, int destinationOffset, int length) {
+        long[] buffer = null;
+        int end = from + length;
+        int index = from;
+        while (index < end) {
+            int block = index >>> BLOCK_SHIFT;
+            int blockStart = block << BLOCK_SHIFT;
+            int blockLength = blockLength(block);
+            int count = Math.min(end, blockStart + blockLength) - index;
+            if (index == blockStart && count == blockLength) {
+                decodeBlock(block, destination, destinationOffset + (index - from));
+            } else {
+                if (buffer == null) buffer = new long[BLOCK_SIZE];
+                decodeBlock(block, buffer, 0);
+                System.arraycopy(buffer, index - blockStart, destination, destinationOffset + (index - from), count);
+            }
+            index += count;
+        }
+    }
+
+    public void decodeBlock(int block, long[] destination, int offset) {
+        int count = blockLength(block);
+        new BitReader(words, blockOffsets[block]).readDeltaOfDeltas(blockFirst[block], destination, offset, count);
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+    }
+
+    // Streaming encoder, with snapshot() as in CompressedDoubleColumn.Encoder
+    public static final class Encoder {
+        private final BitWriter out = new BitWriter();
+        private int size;
+        private int[] blockOffsets = new int[16];
+        private long[] blockMin = new long[16];
+        private long[] blockMax = new long[16];
+        private long[] blockFirst = new long[16];
+        private long[] buffer;
+
+        private long previous;
+        private long previousDelta;
+
+        public int size() {
+            return size;
+        }
+
+        public void add(long value) {
+            int block = size >>> BLOCK_SHIFT;
+            if ((size & BLOCK_MASK) == 0) {
+                startBlock(block, value);
+            } else {
+                long delta = value - previous;
+                out.writeDeltaOfDelta(delta - previousDelta);
+                previousDelta = delta;
+                if (value < blockMin[block]) blockMin[block] = value;
+                if (value > blockMax[block]) blockMax[block] = value;
+            }
+            previous = value;
+            size++;
+        }
+
+        public void addAll(LongColumn source, int count) {
+            if (buffer == null) buffer = new long[BLOCK_SIZE];
+            for (int from = 0; from < count; from += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, count - from);
+                source.copyTo(from, buffer, 0, length);
+                for (int i = 0; i < length; i++) {
+                    add(buffer[i]);
+                }
+            }
+        }
+
+        public CompressedLongColumn snapshot() {
+            int blocks = size >>> BLOCK_SHIFT;
+            return new CompressedLongColumn(blocks << BLOCK_SHIFT, out.words(), out.usedWords(),
+                    Arrays.copyOf(blockOffsets, blocks), Arrays.copyOf(blockMin, blocks),
+                    Arrays.copyOf(blockMax, blocks), Arrays.copyOf(blockFirst, blocks));
+        }
+
+        public CompressedLongColumn build() {
+            int blocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+            return new CompressedLongColumn(size, out.copyWords(), out.usedWords(),
+                    Arrays.copyOf(blockOffsets, blocks), Arrays.copyOf(blockMin, blocks),
+                    Arrays.copyOf(blockMax, blocks), Arrays.copyOf(blockFirst, blocks));
+        }
+
+        private void startBlock(int block, long value) {
+            out.alignToWord();
+            if (block == blockOffsets.length) {
+                int capacity = block + (block >> 1) + 1;
+                blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+                blockMin = Arrays.copyOf(blockMin, capacity);
+                blockMax = Arrays.copyOf(blockMax, capacity);
+                blockFirst = Arrays.copyOf(blockFirst, capacity);
+            }
+            blockOffsets[block] = out.wordPosition();
+            blockFirst[block] = value;
+            blockMin[block] = value;
+            blockMax[block] = value;
+            previousDelta = 0;
+        }
+    }
+}
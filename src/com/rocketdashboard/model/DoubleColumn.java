@@ -0,0 +1,13 @@
+package com.rocketdashboard.model;
+
+// Read access to one channel of a TelemetryFrame, wherever its values live
+// (heap array, memory-mapped file, ...). Bounds are checked by the frame.
+public interface DoubleColumn {
+    double get(int index);
+
+    default void copyTo(int from, double[] destination, int destinationOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = get(from + i);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.rocketdashboard.model;
+
+import java.util.List;
+
+// Everything the dashboard knows about one loaded flight
+public class Flight {
+    private final String sourcePath;
+    private final TelemetryFrame telemetry;
+    private final TelemetryFrame filteredTelemetry; // Denoised copy the stages were detected on
+    private final StageTimeline stages;
+    private final List<Anomaly> anomalies;
+    private final List<WeatherData> weatherData;
+    private final WeatherTrack weatherTrack; // Null without weather data
+
+    public Flight(String sourcePath, TelemetryFrame telemetry, TelemetryFrame filteredTelemetry, StageTimeline stages,
+                  List<Anomaly> anomalies, List<WeatherData> weatherData, WeatherTrack weatherTrack) {
+        this.sourcePath = sourcePath;
+        this.telemetry = telemetry;
+        this.filteredTelemetry = filteredTelemetry;
+        this.stages = stages;
+        this.anomalies = anomalies;
+        this.weatherData = weatherData;
+        this.weatherTrack = weatherTrack;
+    }
+
+    // Getters
+    public String getSourcePath() { return sourcePath; }
+    public TelemetryFrame getTelemetry() { return telemetry; }
+    public TelemetryFrame getFilteredTelemetry() { return filteredTelemetry; }
+    public StageTimeline getStages() { return stages; }
+    public List<Anomaly> getAnomalies() { return anomalies; }
+    public List<WeatherData> getWeatherData() { return weatherData; }
+    public WeatherTrack getWeatherTrack() { return weatherTrack; }
+}
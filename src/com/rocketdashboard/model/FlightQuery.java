@@ -0,0 +1,25 @@
+package com.rocketdashboard.model;
+
+import java.util.Locale;
+
+// Filter over catalog summaries, e.g. all flights above 3 km with a hard landing:
+//   new FlightQuery(3000, Double.NaN, catalog.anomalyMask("Hard landing"), false, "")
+// NaN apogee bounds are open; requiredAnomalies is a mask of anomaly flags that must all be
+// set; anomalyFree keeps only flights without any findings; text matches the path.
+public record FlightQuery(double minApogee, double maxApogee, long requiredAnomalies, boolean anomalyFree, String text) {
+    public static final FlightQuery ALL = new FlightQuery(Double.NaN, Double.NaN, 0, false, "");
+    // Rules get flag bits 0..62; bit 63 is never set, so requiring it matches no flight
+    public static final int MAX_ANOMALY_RULES = Long.SIZE - 1;
+    public static final long UNKNOWN_ANOMALY = 1L << MAX_ANOMALY_RULES;
+
+    public FlightQuery {
+        text = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean matches(FlightSummary flight) {
+        if (flight.apogee() < minApogee || flight.apogee() > maxApogee) return false;
+        if (!flight.hasAnomalies(requiredAnomalies)) return false;
+        if (anomalyFree && flight.anomalyCount() > 0) return false;
+        return text.isEmpty() || flight.path().toLowerCase(Locale.ROOT).contains(text);
+    }
+}
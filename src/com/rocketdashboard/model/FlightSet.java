@@ -0,0 +1,21 @@
+package com.rocketdashboard.model;
+
+import java.util.List;
+
+// Flights loaded together for comparison, in the order they were requested.
+// Files that failed to load are reported instead of failing the whole set.
+public class FlightSet {
+    private final List<Flight> flights;
+    private final List<String> failures;
+
+    public FlightSet(List<Flight> flights, List<String> failures) {
+        this.flights = List.copyOf(flights);
+        this.failures = List.copyOf(failures);
+    }
+
+    // Getters
+    public List<Flight> getFlights() { return flights; }
+    public List<String> getFailures() { return failures; }
+    public int size() { return flights.size(); }
+    public boolean isEmpty() { return flights.isEmpty(); }
+}
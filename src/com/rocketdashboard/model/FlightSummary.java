@@ -0,0 +1,25 @@
+package com.rocketdashboard.model;
+
+// Compact catalog record of one analyzed flight file: enough to search and list flights
+// without touching their telemetry. Times are seconds since the first sample and NaN for
+// events that were not detected; weather fields are NaN without weather data. Bit i of
+// anomalyFlags is set when the catalog's i-th anomaly rule fired.
+public record FlightSummary(
+        String path, long fileSize, long modifiedMillis, long contentHash,
+        long startNanos, int samples, double durationSeconds,
+        double launchSeconds, double apogeeSeconds, double parachuteSeconds, double landingSeconds,
+        double apogee, double maxVelocity, double maxAcceleration,
+        int anomalyCount, int criticalCount, long anomalyFlags,
+        float temperature, float pressure, float windSpeed, float windDirection) {
+
+    public boolean hasAnomalies(long mask) {
+        return (anomalyFlags & mask) == mask;
+    }
+
+    // Same flight, seen again with a new modification time but unchanged content
+    public FlightSummary withModifiedMillis(long modifiedMillis) {
+        return new FlightSummary(path, fileSize, modifiedMillis, contentHash, startNanos, samples, durationSeconds,
+                launchSeconds, apogeeSeconds, parachuteSeconds, landingSeconds, apogee, maxVelocity, maxAcceleration,
+                anomalyCount, criticalCount, anomalyFlags, temperature, pressure, windSpeed, windDirection);
+    }
+}
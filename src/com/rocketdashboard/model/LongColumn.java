@@ -0,0 +1,18 @@
+package com.rocketdashboard.model;
+
+// Same as DoubleColumn for long values: timestamps and packed flag words
+public interface LongColumn {
+    long get(int index);
+
+    default void copyTo(int from, long[] destination, int destinationOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = get(from + i);
+        }
+    }
+
+    // Values 0, stride, 2 * stride, ... if the column keeps them at hand (e.g. the time index
+    // stored in a flight file); null if they would have to be read from the column
+    default long[] getSampled(int stride) {
+        return null;
+    }
+}
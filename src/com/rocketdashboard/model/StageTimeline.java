@@ -0,0 +1,91 @@
+package com.rocketdashboard.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Result of one classification pass, expressed as sample indices into the source frame.
+// Point events hold a single index; range stages hold [start, end) and are derived from
+// the points, so nothing is copied out of the telemetry itself.
+public class StageTimeline {
+    private static final StageTimeline EMPTY = new StageTimeline(-1, -1, -1, -1);
+
+    private final int[] start = new int[Stage.values().length];
+    private final int[] end = new int[Stage.values().length];
+
+    // Pass -1 for events that were not detected
+    public StageTimeline(int launchIndex, int apogeeIndex, int parachuteIndex, int landingIndex) {
+        Arrays.fill(start, -1);
+        Arrays.fill(end, -1);
+
+        setPoint(Stage.LAUNCH, launchIndex);
+        setPoint(Stage.APOGEE, apogeeIndex);
+        setPoint(Stage.PARACHUTE_DEPLOYED, parachuteIndex);
+        setPoint(Stage.LANDING, landingIndex);
+
+        if (launchIndex >= 0 && apogeeIndex >= 0 && landingIndex >= 0) {
+            // Ascent runs from launch up to and including apogee
+            setRange(Stage.ASCENT, Math.min(launchIndex, apogeeIndex), apogeeIndex + 1);
+            // Descent starts at apogee (shared for continuity) and stops before landing
+            setRange(Stage.DESCENT, apogeeIndex, Math.max(landingIndex, apogeeIndex + 1));
+        }
+    }
+
+    public static StageTimeline empty() {
+        return EMPTY;
+    }
+
+    public boolean contains(Stage stage) {
+        return start[stage.ordinal()] >= 0;
+    }
+
+    // Point index, or the first sample of a range stage; -1 when absent
+    public int getIndex(Stage stage) {
+        return start[stage.ordinal()];
+    }
+
+    // Exclusive end; -1 when absent
+    public int getEnd(Stage stage) {
+        return end[stage.ordinal()];
+    }
+
+    public int getLength(Stage stage) {
+        return contains(stage) ? end[stage.ordinal()] - start[stage.ordinal()] : 0;
+    }
+
+    // Sample used to place a stage marker: the point itself or the middle of the range
+    public int getMarkerIndex(Stage stage) {
+        return contains(stage) ? start[stage.ordinal()] + getLength(stage) / 2 : -1;
+    }
+
+    public List<Stage> getStages() {
+        List<Stage> stages = new ArrayList<>();
+        for (Stage stage : Stage.values()) {
+            if (contains(stage)) stages.add(stage);
+        }
+        return stages;
+    }
+
+    public int getStageCount() {
+        int count = 0;
+        for (Stage stage : Stage.values()) {
+            if (contains(stage)) count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return getStageCount() == 0;
+    }
+
+    private void setPoint(Stage stage, int index) {
+        if (index >= 0) {
+            setRange(stage, index, index + 1);
+        }
+    }
+
+    private void setRange(Stage stage, int from, int to) {
+        start[stage.ordinal()] = from;
+        end[stage.ordinal()] = to;
+    }
+}
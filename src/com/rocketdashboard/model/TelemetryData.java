@@ -1,6 +1,7 @@
 package com.rocketdashboard.model;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 public class TelemetryData {
     private LocalDateTime timestamp;
@@ -35,6 +36,28 @@ public class TelemetryData {
     public boolean isRecoveryDeployed() { return recoveryDeployed; }
     public boolean isMotorBurning() { return motorBurning; }
     
+    // Value equality, so views materialized from a TelemetryFrame compare equal
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TelemetryData)) return false;
+        TelemetryData other = (TelemetryData) o;
+        return Double.compare(altitude, other.altitude) == 0 &&
+                Double.compare(velocity, other.velocity) == 0 &&
+                Double.compare(acceleration, other.acceleration) == 0 &&
+                Double.compare(latitude, other.latitude) == 0 &&
+                Double.compare(longitude, other.longitude) == 0 &&
+                recoveryDeployed == other.recoveryDeployed &&
+                motorBurning == other.motorBurning &&
+                Objects.equals(timestamp, other.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, altitude, velocity, acceleration, latitude, longitude,
+                recoveryDeployed, motorBurning);
+    }
+
     @Override
     public String toString() {
         return String.format("Time: %s, Alt: %.2f, Vel: %.2f", timestamp, altitude, velocity);
@@ -0,0 +1,421 @@
+package com.rocketdashboard.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Column-oriented store for a whole flight: one column per channel, epoch-nanosecond
+// timestamps and packed bitsets (64 samples per word) for the boolean flags. Frames built
+// here are backed by heap arrays; fromColumns() accepts any other backing, such as a
+// memory-mapped flight file. Samples are addressed by index.
+public class TelemetryFrame {
+    private static final TelemetryFrame EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final LongColumn timestamps;
+    private final DoubleColumn[] channels;
+    private final LongColumn recoveryBits;
+    private final LongColumn motorBits;
+
+    private TelemetryFrame(int size, LongColumn timestamps, DoubleColumn[] channels,
+                           LongColumn recoveryBits, LongColumn motorBits) {
+        this.size = size;
+        this.timestamps = timestamps;
+        this.channels = channels;
+        this.recoveryBits = recoveryBits;
+        this.motorBits = motorBits;
+    }
+
+    private TelemetryFrame(int size, long[] timestamps, double[][] channels,
+                           long[] recoveryBits, long[] motorBits) {
+        this(size, new ArrayLongColumn(timestamps), wrap(channels),
+                new ArrayLongColumn(recoveryBits), new ArrayLongColumn(motorBits));
+    }
+
+    // Channels are indexed by Channel ordinal; flag columns hold 64 samples per word
+    public static TelemetryFrame fromColumns(int size, LongColumn timestamps, DoubleColumn[] channels,
+                                             LongColumn recoveryWords, LongColumn motorWords) {
+        if (channels.length != Channel.values().length) {
+            throw new IllegalArgumentException("Expected " + Channel.values().length + " channels, got " + channels.length);
+        }
+        return new TelemetryFrame(size, timestamps, channels.clone(), recoveryWords, motorWords);
+    }
+
+    public static TelemetryFrame empty() {
+        return EMPTY;
+    }
+
+    public static TelemetryFrame fromList(List<TelemetryData> telemetryData) {
+        if (telemetryData == null || telemetryData.isEmpty()) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder(telemetryData.size());
+        for (TelemetryData data : telemetryData) {
+            builder.add(data);
+        }
+        return builder.build();
+    }
+
+    // Joins frames end to end, e.g. chunks parsed in parallel, preserving their order
+    public static TelemetryFrame concat(List<TelemetryFrame> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        long total = 0;
+        for (TelemetryFrame part : parts) {
+            total += part.size;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many samples for one frame: " + total);
+        }
+
+        int size = (int) total;
+        long[] timestamps = new long[size];
+        double[][] channels = new double[Channel.values().length][size];
+        long[] recoveryBits = new long[Builder.bitWords(size)];
+        long[] motorBits = new long[Builder.bitWords(size)];
+
+        int offset = 0;
+        for (TelemetryFrame part : parts) {
+            part.timestamps.copyTo(0, timestamps, offset, part.size);
+            for (int c = 0; c < channels.length; c++) {
+                part.channels[c].copyTo(0, channels[c], offset, part.size);
+            }
+            copyBits(part.recoveryBits, part.size, recoveryBits, offset);
+            copyBits(part.motorBits, part.size, motorBits, offset);
+            offset += part.size;
+        }
+        return new TelemetryFrame(size, timestamps, channels, recoveryBits, motorBits);
+    }
+
+    // Same samples with some channels replaced, indexed by Channel ordinal; a null entry
+    // keeps this frame's column. Timestamps and flags are shared, not copied.
+    public TelemetryFrame withChannels(double[][] replacements) {
+        if (replacements.length != channels.length) {
+            throw new IllegalArgumentException("Expected " + channels.length + " channels, got " + replacements.length);
+        }
+        DoubleColumn[] columns = new DoubleColumn[channels.length];
+        for (int c = 0; c < columns.length; c++) {
+            if (replacements[c] == null) continue;
+            if (replacements[c].length < size) {
+                throw new IllegalArgumentException("Channel " + c + " has " + replacements[c].length + " samples, expected " + size);
+            }
+            columns[c] = new ArrayDoubleColumn(replacements[c]);
+        }
+        return withColumns(columns);
+    }
+
+    // As withChannels, with replacement columns of any kind, e.g. compressed ones
+    public TelemetryFrame withColumns(DoubleColumn[] replacements) {
+        if (replacements.length != channels.length) {
+            throw new IllegalArgumentException("Expected " + channels.length + " channels, got " + replacements.length);
+        }
+        DoubleColumn[] columns = channels.clone();
+        for (int c = 0; c < columns.length; c++) {
+            if (replacements[c] != null) columns[c] = replacements[c];
+        }
+        return new TelemetryFrame(size, timestamps, columns, recoveryBits, motorBits);
+    }
+
+    // Same samples with the timestamps and channels in compressed blocks (see
+    // CompressedDoubleColumn), typically 5-10x smaller for slowly changing channels. Columns
+    // that are already compressed are shared; the flag bitsets are shared as they are.
+    public TelemetryFrame compressed() {
+        LongColumn packedTimestamps = timestamps instanceof CompressedLongColumn
+                ? timestamps : CompressedLongColumn.encode(timestamps, size);
+        DoubleColumn[] columns = new DoubleColumn[channels.length];
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = channels[c] instanceof CompressedDoubleColumn
+                    ? channels[c] : CompressedDoubleColumn.encode(channels[c], size);
+        }
+        return new TelemetryFrame(size, packedTimestamps, columns, recoveryBits, motorBits);
+    }
+
+    public boolean isCompressed() {
+        return timestamps instanceof CompressedLongColumn;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    // Column accessors
+    public long getTimestampNanos(int index) { return timestamps.get(checkIndex(index)); }
+    public LocalDateTime getTimestamp(int index) { return toLocalDateTime(getTimestampNanos(index)); }
+    public double get(Channel channel, int index) { return channels[channel.ordinal()].get(checkIndex(index)); }
+    public double getAltitude(int index) { return get(Channel.ALTITUDE, index); }
+    public double getVelocity(int index) { return get(Channel.VELOCITY, index); }
+    public double getAcceleration(int index) { return get(Channel.ACCELERATION, index); }
+    public double getLatitude(int index) { return get(Channel.LATITUDE, index); }
+    public double getLongitude(int index) { return get(Channel.LONGITUDE, index); }
+    public boolean isRecoveryDeployed(int index) { return testBit(recoveryBits, checkIndex(index)); }
+    public boolean isMotorBurning(int index) { return testBit(motorBits, checkIndex(index)); }
+
+    // Raw columns, for bulk readers and writers; indices past size() are not valid
+    public LongColumn getTimestampColumn() { return timestamps; }
+    public DoubleColumn getColumn(Channel channel) { return channels[channel.ordinal()]; }
+
+    // Materializes a single sample for callers that still work with TelemetryData
+    public TelemetryData get(int index) {
+        return new TelemetryData(getTimestamp(index), getAltitude(index), getVelocity(index),
+                getAcceleration(index), getLatitude(index), getLongitude(index),
+                isRecoveryDeployed(index), isMotorBurning(index));
+    }
+
+    // Read-only List view; elements are created on access and never cached
+    public List<TelemetryData> asList() {
+        return new SampleView();
+    }
+
+    public static long toEpochNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                (int) Math.floorMod(epochNanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+
+    private static boolean testBit(LongColumn bits, int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static DoubleColumn[] wrap(double[][] arrays) {
+        DoubleColumn[] columns = new DoubleColumn[arrays.length];
+        for (int c = 0; c < arrays.length; c++) {
+            columns[c] = new ArrayDoubleColumn(arrays[c]);
+        }
+        return columns;
+    }
+
+    // ORs the first count bits of src into dst starting at bit offset
+    private static void copyBits(LongColumn src, int count, long[] dst, int offset) {
+        int shift = offset & 63;
+        int base = offset >>> 6;
+        int words = Builder.bitWords(count);
+        for (int w = 0; w < words; w++) {
+            long word = src.get(w);
+            if (w == words - 1 && (count & 63) != 0) {
+                word &= (1L << count) - 1; // Ignore bits past count, e.g. in a builder snapshot
+            }
+            if (word == 0) continue;
+            dst[base + w] |= word << shift;
+            if (shift != 0 && base + w + 1 < dst.length) {
+                dst[base + w + 1] |= word >>> (64 - shift);
+            }
+        }
+    }
+
+    private static final class ArrayDoubleColumn implements DoubleColumn {
+        private final double[] values;
+
+        ArrayDoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public double get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public void copyTo(int from, double[] destination, int destinationOffset, int length) {
+            System.arraycopy(values, from, destination, destinationOffset, length);
+        }
+    }
+
+    private static final class ArrayLongColumn implements LongColumn {
+        private final long[] values;
+
+        ArrayLongColumn(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public long get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public void copyTo(int from, long[] destination, int destinationOffset, int length) {
+            System.arraycopy(values, from, destination, destinationOffset, length);
+        }
+    }
+
+    private final class SampleView extends AbstractList<TelemetryData> implements RandomAccess {
+        @Override
+        public TelemetryData get(int index) {
+            return TelemetryFrame.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // Append-only builder that encodes samples as they arrive, so a long capture never has to
+    // exist as arrays in full; e.g. parsed chunks are appended and dropped one at a time
+    public static class CompressedBuilder {
+        private final CompressedLongColumn.Encoder timestamps = new CompressedLongColumn.Encoder();
+        private final CompressedDoubleColumn.Encoder[] channels = new CompressedDoubleColumn.Encoder[Channel.values().length];
+        private long[] recoveryBits = new long[16];
+        private long[] motorBits = new long[16];
+        private int size;
+
+        public CompressedBuilder() {
+            for (int c = 0; c < channels.length; c++) {
+                channels[c] = new CompressedDoubleColumn.Encoder();
+            }
+        }
+
+        public CompressedBuilder addAll(TelemetryFrame frame) {
+            int words = Builder.bitWords(size + frame.size);
+            if (words > recoveryBits.length) {
+                int capacity = Math.max(words, recoveryBits.length + (recoveryBits.length >> 1));
+                recoveryBits = Arrays.copyOf(recoveryBits, capacity);
+                motorBits = Arrays.copyOf(motorBits, capacity);
+            }
+
+            timestamps.addAll(frame.timestamps, frame.size);
+            for (int c = 0; c < channels.length; c++) {
+                channels[c].addAll(frame.channels[c], frame.size);
+            }
+            copyBits(frame.recoveryBits, frame.size, recoveryBits, size);
+            copyBits(frame.motorBits, frame.size, motorBits, size);
+            size += frame.size;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Frame over the complete blocks added so far; like Builder.snapshot(), it stays valid
+        // while the builder keeps growing
+        public TelemetryFrame snapshot() {
+            DoubleColumn[] columns = new DoubleColumn[channels.length];
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = channels[c].snapshot();
+            }
+            CompressedLongColumn snapshotTimestamps = timestamps.snapshot();
+            return new TelemetryFrame(snapshotTimestamps.size(), snapshotTimestamps, columns,
+                    new ArrayLongColumn(recoveryBits), new ArrayLongColumn(motorBits));
+        }
+
+        public TelemetryFrame build() {
+            DoubleColumn[] columns = new DoubleColumn[channels.length];
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = channels[c].build();
+            }
+            return new TelemetryFrame(size, timestamps.build(), columns,
+                    new ArrayLongColumn(Arrays.copyOf(recoveryBits, Builder.bitWords(size))),
+                    new ArrayLongColumn(Arrays.copyOf(motorBits, Builder.bitWords(size))));
+        }
+    }
+
+    // Append-only builder; arrays grow geometrically and are trimmed on build()
+    public static class Builder {
+        private int size;
+        private long[] timestamps;
+        private double[][] channels;
+        private long[] recoveryBits;
+        private long[] motorBits;
+
+        public Builder() {
+            this(1024);
+        }
+
+        public Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 1);
+            timestamps = new long[capacity];
+            channels = new double[Channel.values().length][capacity];
+            recoveryBits = new long[bitWords(capacity)];
+            motorBits = new long[bitWords(capacity)];
+        }
+
+        public Builder add(long timestampNanos, double altitude, double velocity, double acceleration,
+                           double latitude, double longitude,
+                           boolean recoveryDeployed, boolean motorBurning) {
+            if (size == timestamps.length) {
+                grow();
+            }
+
+            timestamps[size] = timestampNanos;
+            channels[Channel.ALTITUDE.ordinal()][size] = altitude;
+            channels[Channel.VELOCITY.ordinal()][size] = velocity;
+            channels[Channel.ACCELERATION.ordinal()][size] = acceleration;
+            channels[Channel.LATITUDE.ordinal()][size] = latitude;
+            channels[Channel.LONGITUDE.ordinal()][size] = longitude;
+            if (recoveryDeployed) recoveryBits[size >>> 6] |= 1L << size;
+            if (motorBurning) motorBits[size >>> 6] |= 1L << size;
+            size++;
+            return this;
+        }
+
+        public Builder add(TelemetryData data) {
+            return add(toEpochNanos(data.getTimestamp()), data.getAltitude(), data.getVelocity(),
+                    data.getAcceleration(), data.getLatitude(), data.getLongitude(),
+                    data.isRecoveryDeployed(), data.isMotorBurning());
+        }
+
+        public Builder addAll(TelemetryFrame frame) {
+            while (timestamps.length - size < frame.size) {
+                grow();
+            }
+
+            frame.timestamps.copyTo(0, timestamps, size, frame.size);
+            for (int c = 0; c < channels.length; c++) {
+                frame.channels[c].copyTo(0, channels[c], size, frame.size);
+            }
+            copyBits(frame.recoveryBits, frame.size, recoveryBits, size);
+            copyBits(frame.motorBits, frame.size, motorBits, size);
+            size += frame.size;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Frame over the samples added so far, sharing the builder's arrays. Later adds only
+        // write past this size, so the snapshot stays valid while the builder keeps growing.
+        public TelemetryFrame snapshot() {
+            return new TelemetryFrame(size, timestamps, channels.clone(), recoveryBits, motorBits);
+        }
+
+        public TelemetryFrame build() {
+            double[][] trimmed = new double[channels.length][];
+            for (int c = 0; c < channels.length; c++) {
+                trimmed[c] = Arrays.copyOf(channels[c], size);
+            }
+            return new TelemetryFrame(size, Arrays.copyOf(timestamps, size), trimmed,
+                    Arrays.copyOf(recoveryBits, bitWords(size)), Arrays.copyOf(motorBits, bitWords(size)));
+        }
+
+        private void grow() {
+            int capacity = timestamps.length + (timestamps.length >> 1) + 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int c = 0; c < channels.length; c++) {
+                channels[c] = Arrays.copyOf(channels[c], capacity);
+            }
+            recoveryBits = Arrays.copyOf(recoveryBits, bitWords(capacity));
+            motorBits = Arrays.copyOf(motorBits, bitWords(capacity));
+        }
+
+        private static int bitWords(int bits) {
+            return (bits + 63) >>> 6;
+        }
+    }
+}
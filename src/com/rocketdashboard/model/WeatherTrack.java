@@ -0,0 +1,124 @@
+package com.rocketdashboard.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Weather at every sample of a flight, interpolated on demand from the time-ordered
+// observations: a read finds the sample's pair of observations by binary search, which is a
+// handful of comparisons for a day of hourly reports. Nothing is stored per sample, so a long
+// capture in compressed columns does not grow by the weather. Samples before the first or
+// after the last observation take its values.
+public class WeatherTrack {
+    static final double AIR_GAS_CONSTANT = 287.05; // J/(kg·K)
+
+    private final int size;
+    private final LongColumn timestamps;
+    private final long[] times; // Observation times, ascending
+    private final double[] temperature;
+    private final double[] pressure;
+    private final double[] windSpeed;
+    private final double[] windDirection;
+    private final double[] humidity;
+
+    private WeatherTrack(TelemetryFrame frame, List<WeatherData> ordered) {
+        int count = ordered.size();
+        this.size = frame.size();
+        this.timestamps = frame.getTimestampColumn();
+        this.times = new long[count];
+        this.temperature = new double[count];
+        this.pressure = new double[count];
+        this.windSpeed = new double[count];
+        this.windDirection = new double[count];
+        this.humidity = new double[count];
+        for (int k = 0; k < count; k++) {
+            WeatherData observation = ordered.get(k);
+            times[k] = TelemetryFrame.toEpochNanos(observation.getTimestamp());
+            temperature[k] = observation.getTemperature();
+            pressure[k] = observation.getPressure();
+            windSpeed[k] = observation.getWindSpeed();
+            windDirection[k] = observation.getWindDirection();
+            humidity[k] = observation.getHumidity();
+        }
+    }
+
+    // Null without observations or samples
+    public static WeatherTrack interpolate(TelemetryFrame frame, List<WeatherData> observations) {
+        if (frame == null || frame.isEmpty() || observations == null || observations.isEmpty()) {
+            return null;
+        }
+
+        List<WeatherData> ordered = observations;
+        for (int k = 1; k < observations.size(); k++) {
+            if (observations.get(k).getTimestamp().isBefore(observations.get(k - 1).getTimestamp())) {
+                ordered = new ArrayList<>(observations);
+                ordered.sort(Comparator.comparing(WeatherData::getTimestamp));
+                break;
+            }
+        }
+        return new WeatherTrack(frame, ordered);
+    }
+
+    // Last observation at or before the time (the first if the time precedes them all)
+    private int segment(long t) {
+        int lo = 0, hi = times.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (times[mid] <= t) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // Weight of the observation after the segment's; 0 outside the observed range
+    private double weight(int segment, long t) {
+        if (segment + 1 == times.length || t <= times[segment]) {
+            return 0;
+        }
+        return (double) (t - times[segment]) / (times[segment + 1] - times[segment]);
+    }
+
+    private double interpolate(double[] values, int index) {
+        long t = timestamps.get(index);
+        int k = segment(t);
+        double weight = weight(k, t);
+        return weight == 0 ? values[k] : lerp(values[k], values[k + 1], weight);
+    }
+
+    private static double lerp(double a, double b, double weight) {
+        return a + (b - a) * weight;
+    }
+
+    public int size() { return size; }
+    public double getTemperature(int index) { return interpolate(temperature, index); } // °C
+    public double getPressure(int index) { return interpolate(pressure, index); } // hPa
+    public double getWindSpeed(int index) { return interpolate(windSpeed, index); } // km/h
+    public double getHumidity(int index) { return interpolate(humidity, index); } // %
+
+    // Degrees, wind from. Turns the short way round, e.g. 350° to 10° through north.
+    public double getWindDirection(int index) {
+        long t = timestamps.get(index);
+        int k = segment(t);
+        double weight = weight(k, t);
+        if (weight == 0) {
+            return windDirection[k];
+        }
+        double turn = ((windDirection[k + 1] - windDirection[k]) % 360 + 540) % 360 - 180;
+        return ((windDirection[k] + weight * turn) % 360 + 360) % 360;
+    }
+
+    // Surface air density from the ideal gas law, kg/m³
+    public double getAirDensity(int index) {
+        long t = timestamps.get(index);
+        int k = segment(t);
+        double weight = weight(k, t);
+        double pressureHpa = weight == 0 ? pressure[k] : lerp(pressure[k], pressure[k + 1], weight);
+        double celsius = weight == 0 ? temperature[k] : lerp(temperature[k], temperature[k + 1], weight);
+        return pressureHpa * 100 / (AIR_GAS_CONSTANT * (celsius + 273.15));
+    }
+
+    // Conditions at one sample as a WeatherData, e.g. for display
+    public WeatherData get(TelemetryFrame frame, int index) {
+        return new WeatherData(frame.getTimestamp(index), getTemperature(index), getPressure(index),
+                getWindSpeed(index), getWindDirection(index), getHumidity(index));
+    }
+}
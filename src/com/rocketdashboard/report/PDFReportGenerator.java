@@ -1,67 +1,320 @@
 package com.rocketdashboard.report;
 
-import com.rocketdashboard.model.TelemetryData;
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Channel;
 import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
 import com.rocketdashboard.model.WeatherData;
-import java.io.FileOutputStream;
+import com.rocketdashboard.model.WeatherTrack;
+import com.rocketdashboard.util.FlightStats;
+import com.rocketdashboard.util.Metrics;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
-import java.util.Map;
 
+// Writes the flight report as a PDF. The statistics come from streaming passes over the
+// telemetry (see ReportStatistics) and the pages are streamed to disk as they are laid out,
+// so memory does not depend on the flight's length. Like flight files,
+// the report is written next to the target and moved into place when complete.
 public class PDFReportGenerator {
+    private static final float MARGIN = 56;
+    private static final float LINE = 15;
+    private static final float CHART_HEIGHT = 200;
+    private static final float[] STAGE_COLUMNS = {MARGIN, 175, 255, 330, 395, 465, 535};
 
-    public void generateReport(List<TelemetryData> telemetryData,
-                               Map<Stage, List<TelemetryData>> stages,
+    private static final PdfWriter.Color BLACK = new PdfWriter.Color(0, 0, 0);
+    private static final PdfWriter.Color GRID = new PdfWriter.Color(0.75f, 0.75f, 0.75f);
+    private static final PdfWriter.Color ALTITUDE_COLOR = new PdfWriter.Color(0, 0, 1);
+    private static final PdfWriter.Color VELOCITY_COLOR = new PdfWriter.Color(0.8f, 0, 0);
+
+    public void generateReport(TelemetryFrame telemetryData,
+                               StageTimeline stages,
                                List<WeatherData> weatherData,
-                               List<String> anomalies,
+                               List<Anomaly> anomalies,
                                String outputPath) throws IOException {
+        generateReport(telemetryData, stages, WeatherTrack.interpolate(telemetryData, weatherData), anomalies, outputPath);
+    }
 
-        StringBuilder report = new StringBuilder();
-        report.append("ROCKET FLIGHT ANALYSIS REPORT\n");
-        report.append("=============================\n\n");
+    // weather is interpolated onto telemetryData's timestamps, e.g. Flight.getWeatherTrack()
+    public void generateReport(TelemetryFrame telemetryData,
+                               StageTimeline stages,
+                               WeatherTrack weather,
+                               List<Anomaly> anomalies,
+                               String outputPath) throws IOException {
+        long start = Metrics.start();
+        try {
+            StageTimeline timeline = stages != null ? stages : StageTimeline.empty();
+            ReportStatistics statistics = telemetryData != null && !telemetryData.isEmpty()
+                    ? ReportStatistics.compute(telemetryData, timeline, weather) : null;
+            writeReport(telemetryData, timeline, statistics, anomalies, outputPath);
+        } finally {
+            Metrics.stop(Metrics.REPORT_GENERATION, start);
+        }
+    }
 
-        // Flight statistics
-        if (telemetryData != null && !telemetryData.isEmpty()) {
-            double maxAltitude = 0;
-            double maxVelocity = 0;
+    // For callers that already computed the statistics, e.g. to summarize the flight elsewhere
+    public void generateReport(TelemetryFrame telemetryData,
+                               StageTimeline stages,
+                               ReportStatistics statistics,
+                               List<Anomaly> anomalies,
+                               String outputPath) throws IOException {
+        long start = Metrics.start();
+        try {
+            writeReport(telemetryData, stages != null ? stages : StageTimeline.empty(), statistics, anomalies, outputPath);
+        } finally {
+            Metrics.stop(Metrics.REPORT_GENERATION, start);
+        }
+    }
 
-            for (TelemetryData data : telemetryData) {
-                if (data.getAltitude() > maxAltitude) maxAltitude = data.getAltitude();
-                if (Math.abs(data.getVelocity()) > Math.abs(maxVelocity)) maxVelocity = data.getVelocity();
+    private void writeReport(TelemetryFrame telemetryData,
+                             StageTimeline timeline,
+                             ReportStatistics statistics,
+                             List<Anomaly> anomalies,
+                             String outputPath) throws IOException {
+        Path target = Path.of(outputPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (PdfWriter pdf = new PdfWriter(temp)) {
+            Layout page = new Layout(pdf);
+            page.title("Rocket Flight Analysis Report");
+
+            if (statistics != null) {
+                writeStatistics(page, statistics);
+                writeStages(page, telemetryData, timeline, statistics);
+                writeWeather(page, statistics);
+                writeCharts(page, telemetryData, timeline, statistics);
             }
+            writeAnomalies(page, anomalies);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
 
-            report.append("FLIGHT STATISTICS:\n");
-            report.append(String.format("Maximum Altitude: %.2f meters\n", maxAltitude));
-            report.append(String.format("Maximum Velocity: %.2f m/s\n", maxVelocity));
-            report.append(String.format("Flight Duration: %d data points\n\n", telemetryData.size()));
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
+    }
+
+    private void writeStatistics(Layout page, ReportStatistics statistics) throws IOException {
+        ReportStatistics.PhaseStats drogue = statistics.getPhase(ReportStatistics.Phase.DROGUE_DESCENT);
+        ReportStatistics.PhaseStats main = statistics.getPhase(ReportStatistics.Phase.MAIN_DESCENT);
 
-        // Stage information
-        if (stages != null && !stages.isEmpty()) {
-            report.append("FLIGHT STAGES:\n");
-            for (Map.Entry<Stage, List<TelemetryData>> entry : stages.entrySet()) {
-                if (!entry.getValue().isEmpty()) {
-                    report.append(String.format("%s: %d data points\n",
-                            entry.getKey().getDisplayName(),
-                            entry.getValue().size()));
+        page.heading("Flight Statistics");
+        page.line(String.format("Maximum Altitude: %.2f m at T+%.1f s",
+                statistics.getApogee(), statistics.getApogeeSeconds()));
+        page.line(String.format("Maximum Velocity: %.2f m/s", statistics.getMaxVelocity()));
+        page.line(String.format("Maximum Acceleration: %.2f m/s²", statistics.getMaxAcceleration()));
+        page.line(String.format("Flight Duration: %.1f s (%d data points)",
+                statistics.getDurationSeconds(), statistics.getSampleCount()));
+        page.line(String.format("Motor Burn Time: %.1f s", statistics.getBurnSeconds()));
+        if (statistics.hasMaxQ()) {
+            page.line(String.format("Max-Q: %.0f Pa at T+%.1f s, %.0f m",
+                    statistics.getMaxQ(), statistics.getMaxQSeconds(), statistics.getMaxQAltitude()));
+        }
+        page.line(drogue.isEmpty() ? "Descent Rate under Drogue: not observed"
+                : String.format("Descent Rate under Drogue: %.1f m/s", -drogue.getMeanVerticalSpeed()));
+        page.line(main.isEmpty() ? "Descent Rate under Main: no deployment detected"
+                : String.format("Descent Rate under Main: %.1f m/s", -main.getMeanVerticalSpeed()));
+        page.gap();
+
+        page.heading("Channel Statistics");
+        page.row(true, "Channel", "Unit", "Min", "Max", "Mean", "Std Dev");
+        for (Channel channel : Channel.values()) {
+            FlightStats.ChannelStats stats = statistics.getFlightStats().get(channel);
+            int decimals = channel == Channel.LATITUDE || channel == Channel.LONGITUDE ? 5 : 2;
+            page.row(false, channel.getDisplayName(), channel.getUnit(),
+                    String.format("%." + decimals + "f", stats.getMin()),
+                    String.format("%." + decimals + "f", stats.getMax()),
+                    String.format("%." + decimals + "f", stats.getMean()),
+                    String.format("%." + decimals + "f", stats.getStandardDeviation()));
+        }
+        page.gap();
+    }
+
+    private void writeStages(Layout page, TelemetryFrame telemetryData, StageTimeline stages,
+                             ReportStatistics statistics) throws IOException {
+        page.heading("Flight Phases");
+        page.row(true, "Phase", "Start", "Duration", "Samples", "Max Alt", "Max Speed", "Mean Vz");
+        for (ReportStatistics.Phase phase : ReportStatistics.Phase.values()) {
+            ReportStatistics.PhaseStats stats = statistics.getPhase(phase);
+            if (stats.isEmpty()) continue;
+            page.row(false, phase.getDisplayName(),
+                    String.format("T+%.1f s", (stats.getStartNanos() - statistics.getStartNanos()) / 1e9),
+                    String.format("%.1f s", stats.getDurationSeconds()),
+                    Integer.toString(stats.getSampleCount()),
+                    String.format("%.1f m", stats.getMaxAltitude()),
+                    String.format("%.1f m/s", stats.getMaxSpeed()),
+                    String.format("%.1f m/s", stats.getMeanVerticalSpeed()));
+        }
+        page.gap();
+
+        if (!stages.isEmpty()) {
+            page.heading("Detected Events");
+            for (Stage stage : stages.getStages()) {
+                double start = secondsAt(telemetryData, stages.getIndex(stage), statistics);
+                if (stage.isPointEvent()) {
+                    page.line(String.format("%s: T+%.1f s", stage.getDisplayName(), start));
+                } else {
+                    double end = secondsAt(telemetryData, stages.getEnd(stage) - 1, statistics);
+                    page.line(String.format("%s: T+%.1f s to T+%.1f s (%.1f s, %d data points)",
+                            stage.getDisplayName(), start, end, end - start, stages.getLength(stage)));
                 }
             }
-            report.append("\n");
+            page.gap();
+        }
+    }
+
+    private void writeWeather(Layout page, ReportStatistics statistics) throws IOException {
+        WeatherData weather = statistics.getLaunchWeather();
+        page.heading("Weather at Launch");
+        if (weather == null) {
+            page.line(String.format("No weather data; standard sea-level air density %.3f kg/m³ assumed",
+                    statistics.getSurfaceDensity()));
+        } else {
+            page.line(String.format("Interpolated at %s: %.1f °C, %.1f hPa, %.0f%% humidity",
+                    weather.getTimestamp(), weather.getTemperature(), weather.getPressure(), weather.getHumidity()));
+            page.line(String.format("Wind: %.1f km/h from %.0f°", weather.getWindSpeed(), weather.getWindDirection()));
+            page.line(String.format("Surface air density: %.3f kg/m³", statistics.getSurfaceDensity()));
         }
+        page.gap();
+    }
 
-        // Anomalies
+    private void writeCharts(Layout page, TelemetryFrame telemetryData, StageTimeline stages,
+                             ReportStatistics statistics) throws IOException {
+        double[] events = new double[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            events[stage.ordinal()] = stage.isPointEvent() && stages.contains(stage)
+                    ? secondsAt(telemetryData, stages.getIndex(stage), statistics) : Double.NaN;
+        }
+        page.chart("Altitude (m)", statistics.getAltitudeSeries(), ALTITUDE_COLOR, statistics.getDurationSeconds(), events);
+        page.chart("Velocity (m/s)", statistics.getVelocitySeries(), VELOCITY_COLOR, statistics.getDurationSeconds(), events);
+    }
+
+    private void writeAnomalies(Layout page, List<Anomaly> anomalies) throws IOException {
         if (anomalies != null && !anomalies.isEmpty()) {
-            report.append("DETECTED ANOMALIES:\n");
-            for (String anomaly : anomalies) {
-                report.append("• ").append(anomaly).append("\n");
+            page.heading("Detected Anomalies");
+            for (Anomaly anomaly : anomalies) {
+                page.line("• " + anomaly);
             }
         } else {
-            report.append("ANOMALIES: None detected\n");
+            page.heading("Anomalies: None detected");
+        }
+    }
+
+    private static double secondsAt(TelemetryFrame telemetryData, int index, ReportStatistics statistics) {
+        return (telemetryData.getTimestampNanos(index) - statistics.getStartNanos()) / 1e9;
+    }
+
+    // Top-to-bottom text cursor that starts a new page when the next block does not fit
+    private static final class Layout {
+        private final PdfWriter pdf;
+        private float y;
+
+        Layout(PdfWriter pdf) throws IOException {
+            this.pdf = pdf;
+            newPage();
+        }
+
+        void title(String text) throws IOException {
+            pdf.text(MARGIN, y, 18, true, text);
+            y -= 2 * LINE;
+        }
+
+        void heading(String text) throws IOException {
+            ensure(3 * LINE);
+            pdf.text(MARGIN, y, 13, true, text);
+            y -= 1.3f * LINE;
+        }
+
+        void line(String text) throws IOException {
+            ensure(LINE);
+            pdf.text(MARGIN, y, 10, false, text);
+            y -= LINE;
+        }
+
+        void row(boolean header, String... cells) throws IOException {
+            ensure(LINE);
+            for (int c = 0; c < cells.length; c++) {
+                pdf.text(STAGE_COLUMNS[c], y, 9, header, cells[c]);
+            }
+            y -= LINE;
+        }
+
+        void gap() {
+            y -= LINE / 2;
+        }
+
+        // Plot of one series against time since the first sample, with event markers
+        void chart(String title, ReportStatistics.Series series, PdfWriter.Color color,
+                   double durationSeconds, double[] events) throws IOException {
+            ensure(CHART_HEIGHT + 3 * LINE);
+            pdf.text(MARGIN, y, 11, true, title);
+            y -= LINE / 2;
+
+            float left = MARGIN + 45, width = PdfWriter.PAGE_WIDTH - MARGIN - left;
+            float top = y, bottom = y - CHART_HEIGHT;
+            double min = Math.min(0, series.getMin());
+            double max = Math.max(series.getMax(), min + 1);
+            double span = durationSeconds > 0 ? durationSeconds : 1;
+
+            pdf.strokeColor(GRID);
+            pdf.lineWidth(0.5f);
+            for (Stage stage : Stage.values()) {
+                double seconds = events[stage.ordinal()];
+                if (Double.isNaN(seconds)) continue;
+                float x = (float) (left + width * seconds / span);
+                pdf.moveTo(x, bottom);
+                pdf.lineTo(x, top);
+                pdf.stroke();
+                pdf.text(x + 2, top - 9, 7, false, stage.getDisplayName());
+            }
+            if (min < 0) {
+                float zero = (float) (bottom + CHART_HEIGHT * -min / (max - min));
+                pdf.moveTo(left, zero);
+                pdf.lineTo(left + width, zero);
+                pdf.stroke();
+            }
+            pdf.strokeColor(BLACK);
+            pdf.strokeRect(left, bottom, width, CHART_HEIGHT);
+
+            pdf.fillColor(BLACK);
+            pdf.text(MARGIN, top - 8, 8, false, String.format("%.0f", max));
+            pdf.text(MARGIN, bottom, 8, false, String.format("%.0f", min));
+            pdf.text(left, bottom - 11, 8, false, "T+0 s");
+            pdf.text(left + width - 40, bottom - 11, 8, false, String.format("T+%.0f s", durationSeconds));
+
+            if (series.getPointCount() > 0) {
+                pdf.strokeColor(color);
+                pdf.lineWidth(1);
+                for (int k = 0; k < series.getPointCount(); k++) {
+                    double x = left + width * series.getSeconds(k) / span;
+                    double yValue = bottom + CHART_HEIGHT * (series.getValue(k) - min) / (max - min);
+                    if (k == 0) {
+                        pdf.moveTo(x, yValue);
+                    } else {
+                        pdf.lineTo(x, yValue);
+                    }
+                }
+                pdf.stroke();
+                pdf.strokeColor(BLACK);
+            }
+            y = bottom - 2 * LINE;
+        }
+
+        private void ensure(float height) throws IOException {
+            if (y - height < MARGIN) {
+                newPage();
+            }
         }
 
-        // Write to file
-        try (FileOutputStream fos = new FileOutputStream(outputPath)) {
-            fos.write(report.toString().getBytes());
+        private void newPage() throws IOException {
+            pdf.beginPage();
+            y = PdfWriter.PAGE_HEIGHT - MARGIN;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+package com.rocketdashboard.report;
+
+import com.rocketdashboard.util.FixedPointFormat;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Minimal PDF 1.4 writer that streams pages straight to a file channel through one
+// reusable buffer. Each page's content stream is written as it is drawn, with its length
+// stored in a separate object afterwards, so memory stays bounded by the buffer plus the
+// object offset table. Text uses the standard Helvetica fonts in WinAnsiEncoding.
+final class PdfWriter implements Closeable {
+    static final float PAGE_WIDTH = 612;  // US Letter, in points
+    static final float PAGE_HEIGHT = 792;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int CATALOG = 1, PAGES = 2, REGULAR_FONT = 3, BOLD_FONT = 4;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final StringBuilder number = new StringBuilder(24);
+    private long flushed;
+
+    private long[] offsets = new long[64]; // File offset of each object, by object number
+    private int nextObject = 5;
+    private int[] pages = new int[8];
+    private int pageCount;
+
+    // Open content stream, if any
+    private boolean inPage;
+    private long streamStart;
+    private int lengthObject;
+
+    PdfWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            raw("%PDF-1.4\n%âãÏÓ\n");
+            writeFont(REGULAR_FONT, "Helvetica");
+            writeFont(BOLD_FONT, "Helvetica-Bold");
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int getPageCount() {
+        return pageCount;
+    }
+
+    void beginPage() throws IOException {
+        if (inPage) {
+            endPage();
+        }
+        int page = nextObject++;
+        int contents = nextObject++;
+        lengthObject = nextObject++;
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, 2 * pageCount);
+        }
+        pages[pageCount++] = page;
+
+        beginObject(page);
+        raw("<< /Type /Page /Parent ").raw(PAGES).raw(" 0 R /MediaBox [0 0 ").number(PAGE_WIDTH).raw(' ')
+                .number(PAGE_HEIGHT).raw("] /Resources << /Font << /F1 ").raw(REGULAR_FONT).raw(" 0 R /F2 ")
+                .raw(BOLD_FONT).raw(" 0 R >> >> /Contents ").raw(contents).raw(" 0 R >>\nendobj\n");
+
+        beginObject(contents);
+        raw("<< /Length ").raw(lengthObject).raw(" 0 R >>\nstream\n");
+        streamStart = position();
+        inPage = true;
+    }
+
+    void endPage() throws IOException {
+        long length = position() - streamStart;
+        raw("\nendstream\nendobj\n");
+        beginObject(lengthObject);
+        raw(length).raw("\nendobj\n");
+        inPage = false;
+    }
+
+    // Text drawing; (x, y) is the baseline start, from the bottom-left corner of the page
+    void text(float x, float y, float size, boolean bold, String text) throws IOException {
+        raw("BT /").raw(bold ? "F2 " : "F1 ").number(size).raw(" Tf ").number(x).raw(' ').number(y).raw(" Td (");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                raw('\\');
+            }
+            put((byte) winAnsi(c));
+        }
+        raw(") Tj ET\n");
+    }
+
+    void strokeColor(Color color) throws IOException {
+        color(color).raw(" RG\n");
+    }
+
+    void fillColor(Color color) throws IOException {
+        color(color).raw(" rg\n");
+    }
+
+    void lineWidth(float width) throws IOException {
+        number(width).raw(" w\n");
+    }
+
+    void moveTo(double x, double y) throws IOException {
+        number(x).raw(' ').number(y).raw(" m\n");
+    }
+
+    void lineTo(double x, double y) throws IOException {
+        number(x).raw(' ').number(y).raw(" l\n");
+    }
+
+    void stroke() throws IOException {
+        raw("S\n");
+    }
+
+    void strokeRect(float x, float y, float width, float height) throws IOException {
+        number(x).raw(' ').number(y).raw(' ').number(width).raw(' ').number(height).raw(" re S\n");
+    }
+
+    void fillRect(float x, float y, float width, float height) throws IOException {
+        number(x).raw(' ').number(y).raw(' ').number(width).raw(' ').number(height).raw(" re f\n");
+    }
+
+    // Writes the page tree, catalog and cross-reference table, then closes the file
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!inPage && pageCount == 0) {
+                beginPage(); // A PDF needs at least one page
+            }
+            if (inPage) {
+                endPage();
+            }
+
+            beginObject(PAGES);
+            raw("<< /Type /Pages /Count ").raw(pageCount).raw(" /Kids [");
+            for (int i = 0; i < pageCount; i++) {
+                raw(pages[i]).raw(" 0 R ");
+            }
+            raw("] >>\nendobj\n");
+            beginObject(CATALOG);
+            raw("<< /Type /Catalog /Pages ").raw(PAGES).raw(" 0 R >>\nendobj\n");
+
+            long xref = position();
+            raw("xref\n0 ").raw(nextObject).raw("\n0000000000 65535 f \n");
+            for (int i = 1; i < nextObject; i++) {
+                padded(offsets[i]).raw(" 00000 n \n");
+            }
+            raw("trailer\n<< /Size ").raw(nextObject).raw(" /Root ").raw(CATALOG).raw(" 0 R >>\nstartxref\n")
+                    .raw(xref).raw("\n%%EOF\n");
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Colors as 0-1 RGB components, to keep AWT out of the writer
+    record Color(float red, float green, float blue) {
+    }
+
+    private void writeFont(int object, String baseFont) throws IOException {
+        beginObject(object);
+        raw("<< /Type /Font /Subtype /Type1 /BaseFont /").raw(baseFont)
+                .raw(" /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    private void beginObject(int object) throws IOException {
+        if (object >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(2 * offsets.length, object + 1));
+        }
+        offsets[object] = position();
+        raw(object).raw(" 0 obj\n");
+    }
+
+    private PdfWriter color(Color color) throws IOException {
+        return number(color.red()).raw(' ').number(color.green()).raw(' ').number(color.blue());
+    }
+
+    private PdfWriter number(double value) throws IOException {
+        // PDF has no exponent or NaN syntax; nothing drawn on a page comes near the clamp
+        double clamped = Double.isNaN(value) ? 0 : Math.max(-1e8, Math.min(1e8, value));
+        number.setLength(0);
+        FixedPointFormat.appendFixed(number, clamped, 2);
+        // Trim trailing zeros: 12.50 -> 12.5, 3.00 -> 3
+        int length = number.length();
+        while (number.charAt(length - 1) == '0') length--;
+        if (number.charAt(length - 1) == '.') length--;
+        number.setLength(length);
+        return raw(number);
+    }
+
+    private PdfWriter padded(long value) throws IOException {
+        for (long p = 1_000_000_000L; p > 1 && value < p; p /= 10) {
+            put((byte) '0');
+        }
+        return raw(value);
+    }
+
+    private PdfWriter raw(long value) throws IOException {
+        number.setLength(0);
+        number.append(value);
+        return raw(number);
+    }
+
+    private PdfWriter raw(CharSequence ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            put((byte) ascii.charAt(i));
+        }
+        return this;
+    }
+
+    private PdfWriter raw(char c) throws IOException {
+        put((byte) c);
+        return this;
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private long position() {
+        return flushed + buffer.position();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // WinAnsiEncoding matches Latin-1 apart from 0x80-0x9F; map the few punctuation
+    // characters the report uses there and replace anything else outside the font
+    private static int winAnsi(char c) {
+        if (c < 0x80 || (c >= 0xA0 && c <= 0xFF)) {
+            return c;
+        }
+        switch (c) {
+            case '•': return 0x95; // Bullet
+            case '–': return 0x96; // En dash
+            case '—': return 0x97; // Em dash
+            case '…': return 0x85; // Ellipsis
+            default: return '?';
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.rocketdashboard.report;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.LongColumn;
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.model.WeatherData;
+import com.rocketdashboard.model.WeatherTrack;
+import com.rocketdashboard.util.FlightStats;
+import java.util.Arrays;
+import java.util.List;
+
+// Everything the flight report shows, in one pass over the telemetry: per-channel extremes and
+// moments (FlightStats), burn time, max-Q, per-phase durations and rates, and min/max-decimated
+// chart series. Columns are read block by block into scratch arrays that every statistic shares,
+// so memory does not grow with the flight's length. Max-Q uses the surface air density
+// interpolated at each sample when a WeatherTrack is given.
+public class ReportStatistics {
+    public static final int CHART_BUCKETS = 400; // Each bucket contributes its min and max
+    static final int BLOCK = 4096; // Samples per scratch block
+    static final double SEA_LEVEL_DENSITY = 1.225; // kg/m³, standard atmosphere
+    static final double DENSITY_SCALE_HEIGHT = 8500.0; // m, exponential atmosphere
+
+    // Flight phases as reported; recovery is split at the detected parachute deployment
+    public enum Phase {
+        PAD("On pad"),
+        POWERED_ASCENT("Powered ascent"),
+        COAST("Coast"),
+        DROGUE_DESCENT("Drogue descent"),
+        MAIN_DESCENT("Main descent"),
+        LANDED("Landed");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    public static class PhaseStats {
+        private int samples;
+        private long startNanos;
+        private long durationNanos;
+        private double maxAltitude = Double.NEGATIVE_INFINITY;
+        private double maxSpeed;
+        private double velocitySum;
+
+        public int getSampleCount() { return samples; }
+        public boolean isEmpty() { return samples == 0; }
+        public long getStartNanos() { return startNanos; }
+        public double getDurationSeconds() { return durationNanos / 1e9; }
+        public double getMaxAltitude() { return samples > 0 ? maxAltitude : 0; }
+        public double getMaxSpeed() { return maxSpeed; }
+        // Positive while climbing; the descent rate is its negation
+        public double getMeanVerticalSpeed() { return samples > 0 ? velocitySum / samples : 0; }
+    }
+
+    // Chart points in time order: the min and max of each bucket, as seconds since the first sample
+    public static class Series {
+        private final double[] bucketMin = new double[CHART_BUCKETS];
+        private final double[] bucketMax = new double[CHART_BUCKETS];
+        private final int[] bucketMinIndex = new int[CHART_BUCKETS];
+        private final int[] bucketMaxIndex = new int[CHART_BUCKETS];
+        private double[] seconds = new double[0];
+        private double[] values = new double[0];
+        private int points;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private Series() {
+            Arrays.fill(bucketMinIndex, -1);
+        }
+
+        private void add(int bucket, int index, double value) {
+            if (bucketMinIndex[bucket] < 0) {
+                bucketMin[bucket] = bucketMax[bucket] = value;
+                bucketMinIndex[bucket] = bucketMaxIndex[bucket] = index;
+            } else if (value < bucketMin[bucket]) {
+                bucketMin[bucket] = value;
+                bucketMinIndex[bucket] = index;
+            } else if (value > bucketMax[bucket]) {
+                bucketMax[bucket] = value;
+                bucketMaxIndex[bucket] = index;
+            }
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+
+        private void finish(LongColumn timestamps, long startNanos) {
+            seconds = new double[2 * CHART_BUCKETS];
+            values = new double[2 * CHART_BUCKETS];
+            for (int b = 0; b < CHART_BUCKETS; b++) {
+                if (bucketMinIndex[b] < 0) continue;
+                int first = Math.min(bucketMinIndex[b], bucketMaxIndex[b]);
+                int second = Math.max(bucketMinIndex[b], bucketMaxIndex[b]);
+                addPoint(timestamps, startNanos, first, first == bucketMinIndex[b] ? bucketMin[b] : bucketMax[b]);
+                if (second != first) {
+                    addPoint(timestamps, startNanos, second, second == bucketMaxIndex[b] ? bucketMax[b] : bucketMin[b]);
+                }
+            }
+        }
+
+        private void addPoint(LongColumn timestamps, long startNanos, int index, double value) {
+            seconds[points] = (timestamps.get(index) - startNanos) / 1e9;
+            values[points] = value;
+            points++;
+        }
+
+        public int getPointCount() { return points; }
+        public double getSeconds(int point) { return seconds[point]; }
+        public double getValue(int point) { return values[point]; }
+        public double getMin() { return points > 0 ? min : 0; }
+        public double getMax() { return points > 0 ? max : 0; }
+    }
+
+    private final int sampleCount;
+    private final long startNanos;
+    private final long endNanos;
+    private FlightStats flightStats;
+    private final WeatherData launchWeather;
+    private final double surfaceDensity;
+    private final PhaseStats[] phases = new PhaseStats[Phase.values().length];
+    private final Series altitudeSeries = new Series();
+    private final Series velocitySeries = new Series();
+
+    private long burnNanos;
+    private double maxQ;
+    private int maxQIndex = -1;
+    private double maxQTime;
+    private double maxQAltitude;
+    private double apogeeTime;
+
+    private ReportStatistics(TelemetryFrame frame, WeatherTrack weather, int launch) {
+        this.sampleCount = frame.size();
+        this.startNanos = frame.getTimestampNanos(0);
+        this.endNanos = frame.getTimestampNanos(frame.size() - 1);
+        this.launchWeather = weather != null ? weather.get(frame, launch) : null;
+        this.surfaceDensity = weather != null ? weather.getAirDensity(launch) : SEA_LEVEL_DENSITY;
+        for (Phase phase : Phase.values()) {
+            phases[phase.ordinal()] = new PhaseStats();
+        }
+    }
+
+    public static ReportStatistics compute(TelemetryFrame frame, StageTimeline stages, List<WeatherData> weatherData) {
+        return compute(frame, stages, WeatherTrack.interpolate(frame, weatherData));
+    }
+
+    // Phase boundaries come from the timeline; powered vs. coasting ascent from the motor flag.
+    // The track, if any, must be interpolated onto this frame's timestamps.
+    public static ReportStatistics compute(TelemetryFrame frame, StageTimeline stages, WeatherTrack weather) {
+        if (frame == null || frame.isEmpty()) {
+            throw new IllegalArgumentException("No telemetry to summarize");
+        }
+        if (weather != null && weather.size() != frame.size()) {
+            throw new IllegalArgumentException("Weather track has " + weather.size() + " samples, telemetry " + frame.size());
+        }
+
+        int size = frame.size();
+        int launch = stages.contains(Stage.LAUNCH) ? stages.getIndex(Stage.LAUNCH) : 0;
+        ReportStatistics stats = new ReportStatistics(frame, weather, launch);
+        int apogee = stages.contains(Stage.APOGEE) ? Math.max(stages.getIndex(Stage.APOGEE), launch) : size - 1;
+        int landing = stages.contains(Stage.LANDING) ? Math.max(stages.getIndex(Stage.LANDING), apogee + 1) : size;
+        int main = stages.contains(Stage.PARACHUTE_DEPLOYED)
+                ? Math.min(Math.max(stages.getIndex(Stage.PARACHUTE_DEPLOYED), apogee + 1), landing) : landing;
+
+        LongColumn timestamps = frame.getTimestampColumn();
+        DoubleColumn altitudes = frame.getColumn(Channel.ALTITUDE);
+        Channel[] channels = Channel.values();
+        double[][] blocks = new double[channels.length][BLOCK];
+        long[] times = new long[BLOCK];
+        FlightStats.Accumulator moments = new FlightStats.Accumulator();
+        double qFactor = 0.5 * stats.surfaceDensity;
+
+        PhaseStats previous = null;
+        boolean previousBurning = false;
+        long previousTime = stats.startNanos;
+        for (int start = 0; start < size; start += BLOCK) {
+            int length = Math.min(BLOCK, size - start);
+            timestamps.copyTo(start, times, 0, length);
+            for (Channel channel : channels) {
+                frame.getColumn(channel).copyTo(start, blocks[channel.ordinal()], 0, length);
+                moments.add(channel, blocks[channel.ordinal()], length, start);
+            }
+            double[] altitudeBlock = blocks[Channel.ALTITUDE.ordinal()];
+            double[] velocityBlock = blocks[Channel.VELOCITY.ordinal()];
+
+            for (int k = 0; k < length; k++) {
+                int i = start + k;
+                long time = times[k];
+                double altitude = altitudeBlock[k];
+                double velocity = velocityBlock[k];
+                boolean burning = frame.isMotorBurning(i);
+
+                // Time up to this sample belongs to the previous sample's phase
+                if (previous != null) {
+                    previous.durationNanos += time - previousTime;
+                    if (previousBurning) {
+                        stats.burnNanos += time - previousTime;
+                    }
+                }
+
+                Phase phase;
+                if (i < launch) {
+                    phase = Phase.PAD;
+                } else if (i <= apogee) {
+                    phase = burning ? Phase.POWERED_ASCENT : Phase.COAST;
+                } else if (i < main) {
+                    phase = Phase.DROGUE_DESCENT;
+                } else if (i < landing) {
+                    phase = Phase.MAIN_DESCENT;
+                } else {
+                    phase = Phase.LANDED;
+                }
+                PhaseStats current = stats.phases[phase.ordinal()];
+                if (current.samples++ == 0) {
+                    current.startNanos = time;
+                }
+                double speed = Math.abs(velocity);
+                if (altitude > current.maxAltitude) current.maxAltitude = altitude;
+                if (speed > current.maxSpeed) current.maxSpeed = speed;
+                current.velocitySum += velocity;
+
+                // Dynamic pressure with an exponential density profile; exp() is only evaluated
+                // when the sea-level bound could beat the current maximum
+                if (weather != null) {
+                    qFactor = 0.5 * weather.getAirDensity(i);
+                }
+                double qBound = qFactor * velocity * velocity;
+                if (qBound > stats.maxQ || altitude < 0) {
+                    double q = qBound * Math.exp(-altitude / DENSITY_SCALE_HEIGHT);
+                    if (q > stats.maxQ) {
+                        stats.maxQ = q;
+                        stats.maxQIndex = i;
+                    }
+                }
+
+                int bucket = (int) ((long) i * CHART_BUCKETS / size);
+                stats.altitudeSeries.add(bucket, i, altitude);
+                stats.velocitySeries.add(bucket, i, velocity);
+
+                previous = current;
+                previousBurning = burning;
+                previousTime = time;
+            }
+        }
+
+        stats.flightStats = moments.build();
+        stats.altitudeSeries.finish(timestamps, stats.startNanos);
+        stats.velocitySeries.finish(timestamps, stats.startNanos);
+        stats.maxQTime = stats.maxQIndex >= 0 ? (timestamps.get(stats.maxQIndex) - stats.startNanos) / 1e9 : 0;
+        stats.maxQAltitude = stats.maxQIndex >= 0 ? altitudes.get(stats.maxQIndex) : 0;
+        int apogeeIndex = stats.flightStats.get(Channel.ALTITUDE).getArgMax();
+        stats.apogeeTime = apogeeIndex >= 0 ? (timestamps.get(apogeeIndex) - stats.startNanos) / 1e9 : 0;
+        return stats;
+    }
+
+    public int getSampleCount() { return sampleCount; }
+    public long getStartNanos() { return startNanos; }
+    public double getDurationSeconds() { return (endNanos - startNanos) / 1e9; }
+    public FlightStats getFlightStats() { return flightStats; }
+    public double getApogee() { return flightStats.get(Channel.ALTITUDE).getMax(); }
+    public double getApogeeSeconds() { return apogeeTime; }
+    public double getMaxVelocity() { return flightStats.get(Channel.VELOCITY).getAbsMax(); }
+    public double getMaxAcceleration() { return flightStats.get(Channel.ACCELERATION).getAbsMax(); }
+    public double getBurnSeconds() { return burnNanos / 1e9; }
+    public boolean hasMaxQ() { return maxQIndex >= 0; }
+    public double getMaxQ() { return maxQ; } // Pa
+    public double getMaxQSeconds() { return maxQTime; }
+    public double getMaxQAltitude() { return maxQAltitude; }
+    public WeatherData getLaunchWeather() { return launchWeather; }
+    public double getSurfaceDensity() { return surfaceDensity; }
+    public PhaseStats getPhase(Phase phase) { return phases[phase.ordinal()]; }
+    public Series getAltitudeSeries() { return altitudeSeries; }
+    public Series getVelocitySeries() { return velocitySeries; }
+}
@@ -0,0 +1,100 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Runs a set of AnomalyRules over a classified flight. The per-sample checks of all rules
+// are fused into a single pass; flights of PARALLEL_CHUNK samples or more are split into
+// chunks checked in parallel, and the findings are merged back in sample order. Noisy
+// rules are capped at MAX_REPORTS_PER_RULE findings plus one summary line.
+public class AnomalyDetector {
+    public static final int MAX_REPORTS_PER_RULE = 20;
+    static final int PARALLEL_CHUNK = 1 << 20;
+
+    private final List<AnomalyRule> rules;
+
+    public AnomalyDetector() {
+        this(AnomalyRules.defaults());
+    }
+
+    public AnomalyDetector(List<AnomalyRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public List<AnomalyRule> getRules() {
+        return rules;
+    }
+
+    public List<Anomaly> detect(TelemetryFrame frame, StageTimeline stages) {
+        if (frame == null || frame.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        AnomalyRule.Context context = new AnomalyRule.Context(frame, stages != null ? stages : StageTimeline.empty());
+        List<Anomaly> found = new ArrayList<>();
+        for (AnomalyRule rule : rules) {
+            rule.checkFlight(context, found);
+        }
+
+        int size = frame.size();
+        int chunks = size >= 2 * PARALLEL_CHUNK ? (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK : 1;
+        if (chunks == 1) {
+            found.addAll(checkRange(context, 0, size));
+        } else {
+            List<List<Anomaly>> partial = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                partial.add(null);
+            }
+            IntStream.range(0, chunks).parallel().forEach(c ->
+                    partial.set(c, checkRange(context, c * PARALLEL_CHUNK, Math.min(size, (c + 1) * PARALLEL_CHUNK))));
+            partial.forEach(found::addAll);
+        }
+        return capPerRule(found);
+    }
+
+    private List<Anomaly> checkRange(AnomalyRule.Context context, int from, int to) {
+        List<Anomaly> found = new ArrayList<>();
+        List<AnomalyRule.Visitor> visitors = new ArrayList<>(rules.size());
+        for (AnomalyRule rule : rules) {
+            AnomalyRule.Visitor visitor = rule.newVisitor(context, from, found);
+            if (visitor != null) {
+                visitors.add(visitor);
+            }
+        }
+        if (visitors.isEmpty()) {
+            return found;
+        }
+
+        AnomalyRule.Visitor[] active = visitors.toArray(new AnomalyRule.Visitor[0]);
+        for (int i = from; i < to; i++) {
+            for (AnomalyRule.Visitor visitor : active) {
+                visitor.visit(i);
+            }
+        }
+        return found;
+    }
+
+    private static List<Anomaly> capPerRule(List<Anomaly> found) {
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Integer> suppressed = new LinkedHashMap<>();
+        List<Anomaly> kept = new ArrayList<>();
+        for (Anomaly anomaly : found) {
+            int count = counts.merge(anomaly.rule(), 1, Integer::sum);
+            if (count <= MAX_REPORTS_PER_RULE) {
+                kept.add(anomaly);
+            } else {
+                suppressed.merge(anomaly.rule(), 1, Integer::sum);
+            }
+        }
+        suppressed.forEach((rule, count) -> kept.add(new Anomaly(Anomaly.Severity.INFO, rule, -1,
+                count + " more " + rule + " findings not listed")));
+        return kept;
+    }
+}
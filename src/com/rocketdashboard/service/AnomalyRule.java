@@ -0,0 +1,72 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.LongColumn;
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.List;
+
+// One anomaly check, run by AnomalyDetector. Checks on the detected events alone go in
+// checkFlight(); per-sample checks hand out a Visitor per chunk of the flight, and the
+// detector feeds each sample to the visitors of all rules in one pass. Chunks may run in
+// parallel, so a visitor keeps its state to itself and reads earlier samples (index - 1,
+// even before its chunk) from the context rather than relying on having seen them.
+public interface AnomalyRule {
+    String getName();
+
+    // Called once per flight
+    default void checkFlight(Context flight, List<Anomaly> out) {
+    }
+
+    // Called once per chunk starting at sample from; null when the rule has no per-sample check
+    default Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+        return null;
+    }
+
+    interface Visitor {
+        // Samples arrive in index order
+        void visit(int index);
+    }
+
+    // Read-only view of the flight being checked, with the columns resolved once
+    final class Context {
+        private final TelemetryFrame frame;
+        private final StageTimeline stages;
+        private final LongColumn timestamps;
+        private final DoubleColumn[] columns = new DoubleColumn[Channel.values().length];
+        private final long startNanos;
+        private final double meanIntervalNanos;
+
+        Context(TelemetryFrame frame, StageTimeline stages) {
+            this.frame = frame;
+            this.stages = stages;
+            this.timestamps = frame.getTimestampColumn();
+            for (Channel channel : Channel.values()) {
+                columns[channel.ordinal()] = frame.getColumn(channel);
+            }
+            this.startNanos = frame.getTimestampNanos(0);
+            this.meanIntervalNanos = frame.size() > 1
+                    ? (frame.getTimestampNanos(frame.size() - 1) - startNanos) / (double) (frame.size() - 1) : 0;
+        }
+
+        public TelemetryFrame getFrame() { return frame; }
+        public StageTimeline getStages() { return stages; }
+        public int size() { return frame.size(); }
+        public long getTimestampNanos(int index) { return timestamps.get(index); }
+        public double get(Channel channel, int index) { return columns[channel.ordinal()].get(index); }
+        // Average spacing of the samples over the whole flight
+        public double getMeanIntervalNanos() { return meanIntervalNanos; }
+
+        public double secondsSinceStart(int index) {
+            return (timestamps.get(index) - startNanos) / 1e9;
+        }
+
+        // Detected event index, or -1
+        public int eventIndex(Stage stage) {
+            return stages.contains(stage) ? stages.getIndex(stage) : -1;
+        }
+    }
+}
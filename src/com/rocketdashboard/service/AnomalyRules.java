@@ -0,0 +1,306 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.Stage;
+import java.util.List;
+
+// The built-in anomaly rules. Per-sample rules report where a condition starts rather than
+// every sample it holds for; whether it held at the previous sample is primed from the
+// context when a visitor starts, so a condition spanning two chunks is reported once.
+public class AnomalyRules {
+    static final double HARD_LANDING_VELOCITY = 5.0; // m/s
+    static final double MAX_BURN_SECONDS = 12.0; // Expected burn time plus margin
+    static final double MAX_GROUND_SPEED = 1000.0; // m/s implied by consecutive GPS fixes
+    static final double MAX_ACCELERATION = 20 * 9.80665; // 20 g
+    static final double RECOVERY_FLAG_TOLERANCE_SECONDS = 1.0;
+    static final double DROPOUT_GAP_FACTOR = 5.0; // Gaps this many times the mean interval
+    private static final double EARTH_RADIUS = 6_371_000.0; // m
+    private static final Channel[] CHANNELS = Channel.values();
+
+    public static List<AnomalyRule> defaults() {
+        return List.of(
+                new PrematureDeployment(),
+                new MissingDeployment(),
+                new HardLanding(HARD_LANDING_VELOCITY),
+                new MotorBurnOverrun(MAX_BURN_SECONDS),
+                new GpsJump(MAX_GROUND_SPEED),
+                new AccelerationSpike(MAX_ACCELERATION),
+                new RecoveryFlagMismatch(RECOVERY_FLAG_TOLERANCE_SECONDS),
+                new SensorDropout(DROPOUT_GAP_FACTOR));
+    }
+
+    public static class PrematureDeployment implements AnomalyRule {
+        @Override
+        public String getName() { return "Premature deployment"; }
+
+        @Override
+        public void checkFlight(Context flight, List<Anomaly> out) {
+            int parachute = flight.eventIndex(Stage.PARACHUTE_DEPLOYED);
+            int apogee = flight.eventIndex(Stage.APOGEE);
+            if (parachute >= 0 && apogee >= 0 && parachute < apogee) {
+                out.add(new Anomaly(Anomaly.Severity.CRITICAL, getName(), parachute,
+                        "Premature parachute deployment detected! Parachute deployed before apogee."));
+            }
+        }
+    }
+
+    public static class MissingDeployment implements AnomalyRule {
+        @Override
+        public String getName() { return "Missing deployment"; }
+
+        @Override
+        public void checkFlight(Context flight, List<Anomaly> out) {
+            if (flight.eventIndex(Stage.PARACHUTE_DEPLOYED) < 0) {
+                out.add(new Anomaly(Anomaly.Severity.CRITICAL, getName(), -1,
+                        "No parachute deployment detected during descent."));
+            }
+        }
+    }
+
+    public static class HardLanding implements AnomalyRule {
+        private final double maxVelocity;
+
+        public HardLanding(double maxVelocity) {
+            this.maxVelocity = maxVelocity;
+        }
+
+        @Override
+        public String getName() { return "Hard landing"; }
+
+        @Override
+        public void checkFlight(Context flight, List<Anomaly> out) {
+            int landing = flight.eventIndex(Stage.LANDING);
+            if (landing < 0) return;
+            double landingVelocity = flight.get(Channel.VELOCITY, landing);
+            if (Math.abs(landingVelocity) > maxVelocity) {
+                out.add(new Anomaly(Anomaly.Severity.CRITICAL, getName(), landing,
+                        String.format("Hard landing detected! High velocity (%.1f m/s) at landing.", landingVelocity)));
+            }
+        }
+    }
+
+    // Motor flag still set longer after launch than any expected burn
+    public static class MotorBurnOverrun implements AnomalyRule {
+        private final double maxBurnSeconds;
+
+        public MotorBurnOverrun(double maxBurnSeconds) {
+            this.maxBurnSeconds = maxBurnSeconds;
+        }
+
+        @Override
+        public String getName() { return "Motor burn overrun"; }
+
+        @Override
+        public Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+            int launch = Math.max(flight.eventIndex(Stage.LAUNCH), 0);
+            long limitNanos = flight.getTimestampNanos(launch) + (long) (maxBurnSeconds * 1e9);
+            return new Visitor() {
+                private boolean previous = from > 0 && overrun(from - 1);
+
+                @Override
+                public void visit(int index) {
+                    boolean current = overrun(index);
+                    if (current && !previous) {
+                        out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                String.format("Motor still burning at T+%.1f s, past the expected %.1f s burn.",
+                                        flight.secondsSinceStart(index), maxBurnSeconds)));
+                    }
+                    previous = current;
+                }
+
+                private boolean overrun(int index) {
+                    return flight.getTimestampNanos(index) > limitNanos && flight.getFrame().isMotorBurning(index);
+                }
+            };
+        }
+    }
+
+    // Consecutive GPS fixes further apart than the rocket could have travelled
+    public static class GpsJump implements AnomalyRule {
+        private final double maxGroundSpeed;
+
+        public GpsJump(double maxGroundSpeed) {
+            this.maxGroundSpeed = maxGroundSpeed;
+        }
+
+        @Override
+        public String getName() { return "GPS jump"; }
+
+        @Override
+        public Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+            return new Visitor() {
+                private double latitude = from > 0 ? flight.get(Channel.LATITUDE, from - 1) : Double.NaN;
+                private double longitude = from > 0 ? flight.get(Channel.LONGITUDE, from - 1) : Double.NaN;
+                private long time = from > 0 ? flight.getTimestampNanos(from - 1) : 0;
+
+                @Override
+                public void visit(int index) {
+                    double lat = flight.get(Channel.LATITUDE, index);
+                    double lon = flight.get(Channel.LONGITUDE, index);
+                    long now = flight.getTimestampNanos(index);
+                    if ((lat != latitude || lon != longitude) && !Double.isNaN(latitude) && now > time) {
+                        // Equirectangular distance; plenty for fixes a sample apart
+                        double dLat = Math.toRadians(lat - latitude);
+                        double dLon = Math.toRadians(lon - longitude) * Math.cos(Math.toRadians((lat + latitude) / 2));
+                        double distance = EARTH_RADIUS * Math.sqrt(dLat * dLat + dLon * dLon);
+                        double seconds = (now - time) / 1e9;
+                        if (distance / seconds > maxGroundSpeed) {
+                            out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                    String.format("GPS position jumped %.0f m in %.2f s at T+%.1f s.",
+                                            distance, seconds, flight.secondsSinceStart(index))));
+                        }
+                    }
+                    latitude = lat;
+                    longitude = lon;
+                    time = now;
+                }
+            };
+        }
+    }
+
+    public static class AccelerationSpike implements AnomalyRule {
+        private final double maxAcceleration;
+
+        public AccelerationSpike(double maxAcceleration) {
+            this.maxAcceleration = maxAcceleration;
+        }
+
+        @Override
+        public String getName() { return "Acceleration spike"; }
+
+        @Override
+        public Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+            return new Visitor() {
+                private boolean previous = from > 0 && spike(from - 1);
+
+                @Override
+                public void visit(int index) {
+                    boolean current = spike(index);
+                    if (current && !previous) {
+                        out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                String.format("Acceleration spike of %.1f m/s² at T+%.1f s.",
+                                        flight.get(Channel.ACCELERATION, index), flight.secondsSinceStart(index))));
+                    }
+                    previous = current;
+                }
+
+                private boolean spike(int index) {
+                    return Math.abs(flight.get(Channel.ACCELERATION, index)) > maxAcceleration;
+                }
+            };
+        }
+    }
+
+    // Recovery flag and the deployment found in the velocity data should agree
+    public static class RecoveryFlagMismatch implements AnomalyRule {
+        private final double toleranceSeconds;
+
+        public RecoveryFlagMismatch(double toleranceSeconds) {
+            this.toleranceSeconds = toleranceSeconds;
+        }
+
+        @Override
+        public String getName() { return "Recovery flag mismatch"; }
+
+        // Deployment detected but no flag near it; only the samples within the tolerance are read
+        @Override
+        public void checkFlight(Context flight, List<Anomaly> out) {
+            int parachute = flight.eventIndex(Stage.PARACHUTE_DEPLOYED);
+            if (parachute < 0) return;
+            long deployed = flight.getTimestampNanos(parachute);
+            long tolerance = (long) (toleranceSeconds * 1e9);
+            for (int i = parachute; i >= 0 && deployed - flight.getTimestampNanos(i) <= tolerance; i--) {
+                if (flight.getFrame().isRecoveryDeployed(i)) return;
+            }
+            for (int i = parachute + 1; i < flight.size() && flight.getTimestampNanos(i) - deployed <= tolerance; i++) {
+                if (flight.getFrame().isRecoveryDeployed(i)) return;
+            }
+            out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), parachute,
+                    String.format("Deployment detected at T+%.1f s but the recovery flag is not set.",
+                            flight.secondsSinceStart(parachute))));
+        }
+
+        // Flag raised away from the detected deployment
+        @Override
+        public Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+            int parachute = flight.eventIndex(Stage.PARACHUTE_DEPLOYED);
+            return new Visitor() {
+                private boolean previous = from > 0 && flight.getFrame().isRecoveryDeployed(from - 1);
+
+                @Override
+                public void visit(int index) {
+                    boolean current = flight.getFrame().isRecoveryDeployed(index);
+                    if (current && !previous) {
+                        check(index);
+                    }
+                    previous = current;
+                }
+
+                private void check(int index) {
+                    double raised = flight.secondsSinceStart(index);
+                    if (parachute < 0) {
+                        out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                String.format("Recovery flag set at T+%.1f s but no deployment was detected.", raised)));
+                    } else if (Math.abs(raised - flight.secondsSinceStart(parachute)) > toleranceSeconds) {
+                        out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                String.format("Recovery flag set at T+%.1f s, but deployment was detected at T+%.1f s.",
+                                        raised, flight.secondsSinceStart(parachute))));
+                    }
+                }
+            };
+        }
+    }
+
+    // Gaps in the sample stream, timestamps that do not advance, and channels reading NaN
+    public static class SensorDropout implements AnomalyRule {
+        private final double gapFactor;
+
+        public SensorDropout(double gapFactor) {
+            this.gapFactor = gapFactor;
+        }
+
+        @Override
+        public String getName() { return "Sensor dropout"; }
+
+        @Override
+        public Visitor newVisitor(Context flight, int from, List<Anomaly> out) {
+            double maxGapNanos = gapFactor * flight.getMeanIntervalNanos();
+            return new Visitor() {
+                private long time = from > 0 ? flight.getTimestampNanos(from - 1) : Long.MIN_VALUE;
+                private boolean previousMissing = from > 0 && missingChannel(from - 1) != null;
+
+                @Override
+                public void visit(int index) {
+                    long now = flight.getTimestampNanos(index);
+                    if (time != Long.MIN_VALUE) {
+                        if (now <= time) {
+                            out.add(new Anomaly(Anomaly.Severity.CRITICAL, getName(), index,
+                                    String.format("Timestamp does not advance at T+%.3f s.", flight.secondsSinceStart(index))));
+                        } else if (maxGapNanos > 0 && now - time > maxGapNanos) {
+                            out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                    String.format("Telemetry gap of %.2f s before T+%.1f s.",
+                                            (now - time) / 1e9, flight.secondsSinceStart(index))));
+                        }
+                    }
+                    time = now;
+
+                    Channel missing = missingChannel(index);
+                    if (missing != null && !previousMissing) {
+                        out.add(new Anomaly(Anomaly.Severity.WARNING, getName(), index,
+                                String.format("%s reads no value from T+%.1f s.",
+                                        missing.getDisplayName(), flight.secondsSinceStart(index))));
+                    }
+                    previousMissing = missing != null;
+                }
+
+                private Channel missingChannel(int index) {
+                    for (Channel channel : CHANNELS) {
+                        if (Double.isNaN(flight.get(channel, index))) return channel;
+                    }
+                    return null;
+                }
+            };
+        }
+    }
+}
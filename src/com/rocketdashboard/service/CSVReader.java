@@ -1,22 +1,77 @@
 package com.rocketdashboard.service;
 
 import com.rocketdashboard.model.TelemetryData;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.Metrics;
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 public class CSVReader {
     private static final DateTimeFormatter formatter =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
+    private static final int PROGRESS_INTERVAL = 1 << 16; // Rows between progress reports
+
+    private final MappedCSVReader mappedReader = new MappedCSVReader();
+
     public List<TelemetryData> readCSV(String filePath) throws IOException {
-        List<TelemetryData> data = new ArrayList<>();
+        return readFrame(filePath).asList();
+    }
+
+    // Receives the samples parsed so far (a prefix of the final frame) as loading advances
+    public interface ProgressListener {
+        void onProgress(TelemetryFrame loadedSoFar, long bytesRead, long totalBytes);
+    }
+
+    public TelemetryFrame readFrame(String filePath) throws IOException {
+        return readFrame(filePath, null);
+    }
+
+    public TelemetryFrame readFrame(String filePath, ProgressListener listener) throws IOException {
+        long start = Metrics.start();
+        try {
+            return mappedReader.readFrame(filePath, listener);
+        } catch (MappedCSVReader.MalformedCSVException e) {
+            // Rows the fast path rejects get another chance through the lenient line reader
+            return readFrameLineByLine(filePath, listener);
+        } finally {
+            Metrics.stop(Metrics.CSV_PARSE, start);
+        }
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+    // Same samples as readFrame, in compressed columns (see TelemetryFrame.compressed()),
+    // for captures that would not fit in the heap as arrays
+    public TelemetryFrame readCompressedFrame(String filePath, ProgressListener listener) throws IOException {
+        long start = Metrics.start();
+        try {
+            return mappedReader.readCompressedFrame(filePath, listener);
+        } catch (MappedCSVReader.MalformedCSVException e) {
+            return readFrameLineByLine(filePath, listener).compressed();
+        } finally {
+            Metrics.stop(Metrics.CSV_PARSE, start);
+        }
+    }
+
+    public TelemetryFrame readFrameLineByLine(String filePath) throws IOException {
+        return readFrameLineByLine(filePath, null);
+    }
+
+    public TelemetryFrame readFrameLineByLine(String filePath, ProgressListener listener) throws IOException {
+        TelemetryFrame.Builder data = new TelemetryFrame.Builder();
+
+        try (FileInputStream in = new FileInputStream(filePath);
+             BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            // Progress is the file position, in bytes whatever the charset and line endings;
+            // it runs at most a read-ahead buffer ahead of the rows parsed
+            FileChannel file = in.getChannel();
+            long totalBytes = file.size();
             String line;
             boolean headerSkipped = false;
 
@@ -26,6 +81,15 @@ public class CSVReader {
                     continue;
                 }
 
+                if ((data.size() & (PROGRESS_INTERVAL - 1)) == 0 && data.size() > 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Interrupted while reading " + filePath);
+                    }
+                    if (listener != null) {
+                        listener.onProgress(data.snapshot(), file.position(), totalBytes);
+                    }
+                }
+
                 String[] values = line.split(",");
                 if (values.length >= 7) {
                     LocalDateTime timestamp = LocalDateTime.parse(values[0], formatter);
@@ -37,12 +101,15 @@ public class CSVReader {
                     boolean recoveryDeployed = Boolean.parseBoolean(values[6]);
                     boolean motorBurning = values.length > 7 ? Boolean.parseBoolean(values[7]) : false;
 
-                    data.add(new TelemetryData(timestamp, altitude, velocity, acceleration,
-                            latitude, longitude, recoveryDeployed, motorBurning));
+                    data.add(TelemetryFrame.toEpochNanos(timestamp), altitude, velocity, acceleration,
+                            latitude, longitude, recoveryDeployed, motorBurning);
                 }
             }
+            if (listener != null) {
+                listener.onProgress(data.snapshot(), totalBytes, totalBytes);
+            }
         }
 
-        return data;
+        return data.build();
     }
-}
\ No newline at end of file
+}
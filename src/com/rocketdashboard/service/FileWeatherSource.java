@@ -0,0 +1,85 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.WeatherData;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+// Historical observations kept as one CSV file per site in a local directory, e.g.
+// weather/launch-site.csv for "Launch Site":
+//   timestamp,temperature,pressure,wind_speed,wind_direction,humidity
+//   2024-01-15 13:00:00,18.5,1014.2,12.0,270,55
+// in °C, hPa, km/h, degrees and percent. A site without a file has no observations.
+public class FileWeatherSource implements WeatherSource {
+    public static final String DIRECTORY_PROPERTY = "rocketdashboard.weather.dir";
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss[.SSS]");
+
+    private final Path directory;
+
+    // Directory from the rocketdashboard.weather.dir system property, ./weather by default
+    public FileWeatherSource() {
+        this(Path.of(System.getProperty(DIRECTORY_PROPERTY, "weather")));
+    }
+
+    public FileWeatherSource(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getFile(String site) {
+        String name = site.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return directory.resolve(name + ".csv");
+    }
+
+    @Override
+    public List<WeatherData> fetch(String site, LocalDateTime from, LocalDateTime to) throws IOException {
+        Path file = getFile(site);
+        List<WeatherData> observations = new ArrayList<>();
+        boolean sorted = true;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // Header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                WeatherData observation = parse(file, lineNumber, line);
+                LocalDateTime time = observation.getTimestamp();
+                if (time.isBefore(from) || time.isAfter(to)) continue;
+                if (!observations.isEmpty() && time.isBefore(observations.get(observations.size() - 1).getTimestamp())) {
+                    sorted = false;
+                }
+                observations.add(observation);
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        if (!sorted) {
+            observations.sort(Comparator.comparing(WeatherData::getTimestamp));
+        }
+        return observations;
+    }
+
+    private static WeatherData parse(Path file, int lineNumber, String line) throws IOException {
+        String[] fields = line.split(",");
+        if (fields.length < 6) {
+            throw new IOException(file + ":" + lineNumber + ": expected 6 fields, got " + fields.length);
+        }
+        try {
+            return new WeatherData(LocalDateTime.parse(fields[0].trim(), formatter),
+                    Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim()),
+                    Double.parseDouble(fields[3].trim()), Double.parseDouble(fields[4].trim()),
+                    Double.parseDouble(fields[5].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IOException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+}
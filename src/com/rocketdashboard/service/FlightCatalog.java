@@ -0,0 +1,426 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.Flight;
+import com.rocketdashboard.model.FlightQuery;
+import com.rocketdashboard.model.FlightSummary;
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.model.WeatherTrack;
+import com.rocketdashboard.util.FlightStats;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// On-disk index of FlightSummary records for every flight file under the catalog's folders.
+// Queries run over the in-memory summaries only. refresh() is incremental: files whose size
+// and modification time match their record are skipped, files that were only touched are
+// recognized by their content hash, and only new or changed files are loaded and analyzed.
+// Files that fail to load are recorded the same way, so an unchanged broken file is reported
+// from its record instead of being read again. The index is a small binary file written next
+// to its target and moved into place.
+public class FlightCatalog {
+    public interface RefreshListener {
+        void onProgress(int completed, int total, String file);
+    }
+
+    public record RefreshStats(int scanned, int analyzed, int unchanged, int removed, List<String> failures) {
+    }
+
+    private static final byte[] MAGIC = "RKTCATLG".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2; // Version 1 had no failed files
+    private static final int HASH_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_ERROR_LENGTH = 1000; // Chars kept of a failure's message
+
+    // A file that could not be cataloged, as it was when it failed
+    private record FailedFile(long fileSize, long modifiedMillis, long contentHash, String error) {
+    }
+
+    private final Path indexFile;
+    private final FlightLoader loader;
+    private final Set<String> roots = new LinkedHashSet<>();
+    private final List<String> anomalyRules = new ArrayList<>(); // Bit i of the anomaly flags
+    private final Map<String, FlightSummary> summaries = new LinkedHashMap<>(); // By absolute path
+    private final Map<String, FailedFile> failedFiles = new LinkedHashMap<>(); // By absolute path
+
+    public FlightCatalog(Path indexFile, FlightLoader loader) {
+        this.indexFile = indexFile;
+        this.loader = loader;
+    }
+
+    // ~/.rocketdashboard/flight-catalog.idx
+    public static Path defaultIndexFile() {
+        return Path.of(System.getProperty("user.home"), ".rocketdashboard", "flight-catalog.idx");
+    }
+
+    public static boolean isFlightLog(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".csv") || name.endsWith(".rktf");
+    }
+
+    public Path getIndexFile() {
+        return indexFile;
+    }
+
+    public synchronized List<String> getRoots() {
+        return List.copyOf(roots);
+    }
+
+    public synchronized List<String> getAnomalyRules() {
+        return List.copyOf(anomalyRules);
+    }
+
+    // Flag bit of an anomaly rule; FlightQuery.UNKNOWN_ANOMALY, which no flight matches, for a
+    // rule no cataloged flight has reported
+    public synchronized long anomalyMask(String rule) {
+        int bit = anomalyRules.indexOf(rule);
+        return bit >= 0 ? 1L << bit : FlightQuery.UNKNOWN_ANOMALY;
+    }
+
+    public synchronized List<FlightSummary> getFlights() {
+        return List.copyOf(summaries.values());
+    }
+
+    public synchronized int size() {
+        return summaries.size();
+    }
+
+    public synchronized List<FlightSummary> query(FlightQuery query) {
+        List<FlightSummary> matches = new ArrayList<>();
+        for (FlightSummary summary : summaries.values()) {
+            if (query.matches(summary)) {
+                matches.add(summary);
+            }
+        }
+        return matches;
+    }
+
+    // Reads the index if there is one; an index from another version or a damaged one is
+    // dropped, since refresh() rebuilds it from the files
+    public synchronized void open() throws IOException {
+        roots.clear();
+        anomalyRules.clear();
+        summaries.clear();
+        failedFiles.clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                return;
+            }
+            int version = in.readInt();
+            if (version != 1 && version != VERSION) {
+                return;
+            }
+            for (int n = in.readInt(); n > 0; n--) {
+                roots.add(in.readUTF());
+            }
+            for (int n = in.readInt(); n > 0; n--) {
+                anomalyRules.add(in.readUTF());
+            }
+            if (anomalyRules.size() > FlightQuery.MAX_ANOMALY_RULES) {
+                throw new IOException("Index uses the reserved anomaly flag"); // Rebuilt as damaged
+            }
+            for (int n = in.readInt(); n > 0; n--) {
+                FlightSummary summary = new FlightSummary(in.readUTF(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readLong(), in.readInt(), in.readDouble(),
+                        in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                        in.readDouble(), in.readDouble(), in.readDouble(),
+                        in.readInt(), in.readInt(), in.readLong(),
+                        in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+                summaries.put(summary.path(), summary);
+            }
+            if (version >= 2) {
+                for (int n = in.readInt(); n > 0; n--) {
+                    failedFiles.put(in.readUTF(), new FailedFile(in.readLong(), in.readLong(), in.readLong(), in.readUTF()));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First use
+        } catch (IOException e) {
+            roots.clear();
+            anomalyRules.clear();
+            summaries.clear();
+            failedFiles.clear();
+        }
+    }
+
+    public synchronized void save() throws IOException {
+        Path parent = indexFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(roots.size());
+            for (String root : roots) {
+                out.writeUTF(root);
+            }
+            out.writeInt(anomalyRules.size());
+            for (String rule : anomalyRules) {
+                out.writeUTF(rule);
+            }
+            out.writeInt(summaries.size());
+            for (FlightSummary s : summaries.values()) {
+                out.writeUTF(s.path());
+                out.writeLong(s.fileSize());
+                out.writeLong(s.modifiedMillis());
+                out.writeLong(s.contentHash());
+                out.writeLong(s.startNanos());
+                out.writeInt(s.samples());
+                out.writeDouble(s.durationSeconds());
+                out.writeDouble(s.launchSeconds());
+                out.writeDouble(s.apogeeSeconds());
+                out.writeDouble(s.parachuteSeconds());
+                out.writeDouble(s.landingSeconds());
+                out.writeDouble(s.apogee());
+                out.writeDouble(s.maxVelocity());
+                out.writeDouble(s.maxAcceleration());
+                out.writeInt(s.anomalyCount());
+                out.writeInt(s.criticalCount());
+                out.writeLong(s.anomalyFlags());
+                out.writeFloat(s.temperature());
+                out.writeFloat(s.pressure());
+                out.writeFloat(s.windSpeed());
+                out.writeFloat(s.windDirection());
+            }
+            out.writeInt(failedFiles.size());
+            for (Map.Entry<String, FailedFile> entry : failedFiles.entrySet()) {
+                FailedFile f = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(f.fileSize());
+                out.writeLong(f.modifiedMillis());
+                out.writeLong(f.contentHash());
+                out.writeUTF(f.error());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Brings the records for every flight log under root up to date, loading at most
+    // maxInFlight flights at once, and saves the index. Records of files that are gone are
+    // dropped. Files that failed before and are unchanged are reported among the failures
+    // without being read. If interrupted, the flights finished so far are kept and saved.
+    public RefreshStats refresh(Path root, int maxInFlight, RefreshListener listener)
+            throws IOException, InterruptedException {
+        Path base = root.toAbsolutePath().normalize();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(base)) {
+            files = paths.filter(Files::isRegularFile).filter(FlightCatalog::isFlightLog).sorted().toList();
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<Path> candidates = new ArrayList<>();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        int unchanged = 0;
+        synchronized (this) {
+            roots.add(base.toString());
+            for (Path file : files) {
+                String key = file.toString();
+                seen.add(key);
+                FlightSummary known = summaries.get(key);
+                FailedFile broken = failedFiles.get(key);
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long modified = attributes.lastModifiedTime().toMillis();
+                if (known != null && known.fileSize() == attributes.size() && known.modifiedMillis() == modified) {
+                    unchanged++;
+                } else if (broken != null && broken.fileSize() == attributes.size() && broken.modifiedMillis() == modified) {
+                    failures.add(file.getFileName() + ": " + broken.error());
+                } else {
+                    candidates.add(file);
+                }
+            }
+        }
+
+        int removed = 0;
+        synchronized (this) {
+            var iterator = summaries.keySet().iterator();
+            while (iterator.hasNext()) {
+                String key = iterator.next();
+                if (Path.of(key).startsWith(base) && !seen.contains(key)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            failedFiles.keySet().removeIf(key -> Path.of(key).startsWith(base) && !seen.contains(key));
+        }
+
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger analyzed = new AtomicInteger();
+        AtomicInteger touched = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(candidates.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                for (Path file : candidates) {
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            if (update(file)) {
+                                analyzed.incrementAndGet();
+                            } else {
+                                touched.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (Exception e) {
+                            failures.add(file.getFileName() + ": " + e.getMessage());
+                        } finally {
+                            inFlight.release();
+                            if (listener != null) {
+                                listener.onProgress(completed.incrementAndGet(), candidates.size(), file.toString());
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Catalog refresh failed", e.getCause());
+            } finally {
+                save();
+            }
+        }
+        return new RefreshStats(files.size(), analyzed.get(), unchanged + touched.get(), removed, List.copyOf(failures));
+    }
+
+    // Re-reads one file's record; false when only its modification time had changed. A file
+    // that cannot be cataloged is recorded as failed and its error thrown; one that failed
+    // before with the same content throws the recorded error without being loaded.
+    private boolean update(Path file) throws Exception {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        long hash = contentHash(file);
+        String key = file.toString();
+        synchronized (this) {
+            FlightSummary known = summaries.get(key);
+            if (known != null && known.fileSize() == size && known.contentHash() == hash) {
+                summaries.put(key, known.withModifiedMillis(modified));
+                return false;
+            }
+            FailedFile broken = failedFiles.get(key);
+            if (broken != null && broken.fileSize() == size && broken.contentHash() == hash) {
+                failedFiles.put(key, new FailedFile(size, modified, hash, broken.error()));
+                throw new IOException(broken.error());
+            }
+        }
+
+        try {
+            Flight flight = loader.load(key, null);
+            synchronized (this) {
+                summaries.put(key, summarize(key, size, modified, hash, flight));
+                failedFiles.remove(key);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.toString();
+            synchronized (this) {
+                summaries.remove(key); // No longer the flight it summarized
+                failedFiles.put(key, new FailedFile(size, modified, hash,
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error));
+            }
+            throw e;
+        }
+    }
+
+    // Callers hold the lock, since new rules are added to the flag table
+    private FlightSummary summarize(String path, long size, long modified, long hash, Flight flight) {
+        TelemetryFrame telemetry = flight.getTelemetry();
+        StageTimeline stages = flight.getStages();
+        FlightStats stats = FlightStats.compute(telemetry);
+        long start = telemetry.getTimestampNanos(0);
+
+        long flags = 0;
+        int critical = 0;
+        for (Anomaly anomaly : flight.getAnomalies()) {
+            int bit = anomalyRules.indexOf(anomaly.rule());
+            if (bit < 0 && anomalyRules.size() < FlightQuery.MAX_ANOMALY_RULES) {
+                anomalyRules.add(anomaly.rule());
+                bit = anomalyRules.size() - 1;
+            }
+            if (bit >= 0) flags |= 1L << bit;
+            if (anomaly.severity() == Anomaly.Severity.CRITICAL) critical++;
+        }
+
+        int launch = stages.contains(Stage.LAUNCH) ? stages.getIndex(Stage.LAUNCH) : 0;
+        WeatherTrack weather = flight.getWeatherTrack();
+        return new FlightSummary(path, size, modified, hash,
+                start, telemetry.size(), (telemetry.getTimestampNanos(telemetry.size() - 1) - start) / 1e9,
+                eventSeconds(telemetry, stages, Stage.LAUNCH, start), eventSeconds(telemetry, stages, Stage.APOGEE, start),
+                eventSeconds(telemetry, stages, Stage.PARACHUTE_DEPLOYED, start), eventSeconds(telemetry, stages, Stage.LANDING, start),
+                stats.get(Channel.ALTITUDE).getMax(), stats.get(Channel.VELOCITY).getAbsMax(),
+                stats.get(Channel.ACCELERATION).getAbsMax(),
+                flight.getAnomalies().size(), critical, flags,
+                weather != null ? (float) weather.getTemperature(launch) : Float.NaN,
+                weather != null ? (float) weather.getPressure(launch) : Float.NaN,
+                weather != null ? (float) weather.getWindSpeed(launch) : Float.NaN,
+                weather != null ? (float) weather.getWindDirection(launch) : Float.NaN);
+    }
+
+    private static double eventSeconds(TelemetryFrame telemetry, StageTimeline stages, Stage stage, long start) {
+        return stages.contains(stage) ? (telemetry.getTimestampNanos(stages.getIndex(stage)) - start) / 1e9 : Double.NaN;
+    }
+
+    // CRC-32C of the whole file, which the JIT turns into hardware CRC instructions
+    static long contentHash(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,38 @@
+package com.rocketdashboard.service;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+// Layout of the binary flight file (all values little-endian):
+//
+//   0  magic "RKTFLGHT"          8  version (int)          12 channel count (int)
+//  16  sample count (long)      24  timestamps offset     32  first timestamp
+//  40  last timestamp           48  recovery words offset 56  motor words offset
+//  64  time index offset (0 = none)                        72  time index stride (int)
+//  80  channel table, one entry per channel: name (24 bytes, ASCII, zero padded),
+//      min, max, data offset
+//
+// followed by 8-byte aligned column blocks: timestamps (long per sample), one double per
+// sample for each channel, the two flag bitsets (64 samples per long) and the optional
+// time index (timestamp of every stride-th sample).
+final class FlightFileFormat {
+    static final byte[] MAGIC = "RKTFLGHT".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_BYTES = 80;
+    static final int CHANNEL_NAME_BYTES = 24;
+    static final int CHANNEL_ENTRY_BYTES = CHANNEL_NAME_BYTES + 24;
+    static final int TIME_INDEX_STRIDE = 4096;
+
+    private FlightFileFormat() {
+    }
+
+    static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    static int bitWords(int samples) {
+        return (samples + 63) >>> 6;
+    }
+}
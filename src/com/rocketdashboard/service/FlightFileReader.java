@@ -0,0 +1,284 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.LongColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.rocketdashboard.service.FlightFileFormat.*;
+
+// Opens binary flight files (see FlightFileFormat) by memory-mapping their column blocks.
+// The returned frame reads straight from the page cache, so opening costs the header
+// parse plus a handful of mmap calls regardless of the flight's length.
+public class FlightFileReader {
+    private static final int SEGMENT_SHIFT = 27; // 2^27 values (1 GB) per mapping
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    // Parsed header: sample count, time range, per-channel extent and the sparse time index
+    public static class Header {
+        private final int sampleCount;
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+        private final double[] channelMin;
+        private final double[] channelMax;
+        private final long[] channelOffsets;
+        private final long timestampsOffset;
+        private final long recoveryOffset;
+        private final long motorOffset;
+        private final long[] timeIndex;
+        private final int timeIndexStride;
+
+        Header(int sampleCount, long firstTimestamp, long lastTimestamp, double[] channelMin, double[] channelMax,
+               long[] channelOffsets, long timestampsOffset, long recoveryOffset, long motorOffset,
+               long[] timeIndex, int timeIndexStride) {
+            this.sampleCount = sampleCount;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.channelMin = channelMin;
+            this.channelMax = channelMax;
+            this.channelOffsets = channelOffsets;
+            this.timestampsOffset = timestampsOffset;
+            this.recoveryOffset = recoveryOffset;
+            this.motorOffset = motorOffset;
+            this.timeIndex = timeIndex;
+            this.timeIndexStride = timeIndexStride;
+        }
+
+        public int getSampleCount() { return sampleCount; }
+        public long getFirstTimestamp() { return firstTimestamp; }
+        public long getLastTimestamp() { return lastTimestamp; }
+        public double getMin(Channel channel) { return channelMin[channel.ordinal()]; }
+        public double getMax(Channel channel) { return channelMax[channel.ordinal()]; }
+        public boolean hasTimeIndex() { return timeIndex.length > 0; }
+        // Timestamp of every getTimeIndexStride()-th sample
+        public long[] getTimeIndex() { return timeIndex.clone(); }
+        public int getTimeIndexStride() { return timeIndexStride; }
+    }
+
+    public static boolean isFlightFile(String filePath) {
+        Path path = Path.of(filePath);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            while (magic.hasRemaining() && channel.read(magic) > 0) {
+                // Keep reading until the magic is complete or the file ends
+            }
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Header readHeader(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            return readHeader(channel, filePath);
+        }
+    }
+
+    public TelemetryFrame map(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            Header header = readHeader(channel, filePath);
+            int size = header.sampleCount;
+            int words = bitWords(size);
+
+            DoubleColumn[] columns = new DoubleColumn[Channel.values().length];
+            for (Channel c : Channel.values()) {
+                columns[c.ordinal()] = new MappedDoubleColumn(channel, header.channelOffsets[c.ordinal()], size);
+            }
+
+            // Mappings stay valid after the channel is closed
+            return TelemetryFrame.fromColumns(size,
+                    new MappedLongColumn(channel, header.timestampsOffset, size,
+                            header.timeIndex, header.timeIndexStride),
+                    columns,
+                    new MappedLongColumn(channel, header.recoveryOffset, words),
+                    new MappedLongColumn(channel, header.motorOffset, words));
+        }
+    }
+
+    private Header readHeader(FileChannel channel, String filePath) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer fixed = readFully(channel, 0, HEADER_BYTES, filePath);
+
+        byte[] magic = new byte[MAGIC.length];
+        fixed.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a flight file: " + filePath);
+        }
+        int version = fixed.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported flight file version " + version + ": " + filePath);
+        }
+
+        int channelCount = fixed.getInt();
+        long sampleCount = fixed.getLong();
+        long timestampsOffset = fixed.getLong();
+        long firstTimestamp = fixed.getLong();
+        long lastTimestamp = fixed.getLong();
+        long recoveryOffset = fixed.getLong();
+        long motorOffset = fixed.getLong();
+        long timeIndexOffset = fixed.getLong();
+        int timeIndexStride = fixed.getInt();
+
+        if (sampleCount < 0 || sampleCount > Integer.MAX_VALUE - 8 || channelCount < 0 || channelCount > 256) {
+            throw corrupt(filePath);
+        }
+        int size = (int) sampleCount;
+        checkBlock(timestampsOffset, 8L * size, fileSize, filePath);
+        checkBlock(recoveryOffset, 8L * bitWords(size), fileSize, filePath);
+        checkBlock(motorOffset, 8L * bitWords(size), fileSize, filePath);
+
+        // Channels are matched by name, so files stay readable if the enum order changes
+        int known = Channel.values().length;
+        double[] channelMin = new double[known];
+        double[] channelMax = new double[known];
+        long[] channelOffsets = new long[known];
+        Arrays.fill(channelOffsets, -1);
+
+        ByteBuffer table = readFully(channel, HEADER_BYTES, channelCount * CHANNEL_ENTRY_BYTES, filePath);
+        byte[] nameBytes = new byte[CHANNEL_NAME_BYTES];
+        for (int i = 0; i < channelCount; i++) {
+            table.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.US_ASCII).trim();
+            double min = table.getDouble();
+            double max = table.getDouble();
+            long offset = table.getLong();
+            for (Channel c : Channel.values()) {
+                if (c.name().equals(name)) {
+                    checkBlock(offset, 8L * size, fileSize, filePath);
+                    channelMin[c.ordinal()] = min;
+                    channelMax[c.ordinal()] = max;
+                    channelOffsets[c.ordinal()] = offset;
+                }
+            }
+        }
+        for (Channel c : Channel.values()) {
+            if (channelOffsets[c.ordinal()] < 0) {
+                throw new IOException("Flight file has no " + c.name() + " channel: " + filePath);
+            }
+        }
+
+        long[] timeIndex = new long[0];
+        if (timeIndexOffset > 0 && timeIndexStride > 0) {
+            int entries = (int) ((sampleCount + timeIndexStride - 1) / timeIndexStride);
+            checkBlock(timeIndexOffset, 8L * entries, fileSize, filePath);
+            timeIndex = new long[entries];
+            readFully(channel, timeIndexOffset, 8 * entries, filePath).asLongBuffer().get(timeIndex);
+        }
+
+        return new Header(size, firstTimestamp, lastTimestamp, channelMin, channelMax, channelOffsets,
+                timestampsOffset, recoveryOffset, motorOffset, timeIndex, timeIndexStride);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length, String filePath) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw corrupt(filePath);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void checkBlock(long offset, long length, long fileSize, String filePath) throws IOException {
+        if (offset < 0 || offset + length > fileSize) {
+            throw corrupt(filePath);
+        }
+    }
+
+    private static IOException corrupt(String filePath) {
+        return new IOException("Corrupt or truncated flight file: " + filePath);
+    }
+
+    private static ByteBuffer mapSegment(FileChannel channel, long offset, int segment, int count) throws IOException {
+        long start = offset + ((long) segment << SEGMENT_SHIFT) * 8;
+        long values = Math.min(1L << SEGMENT_SHIFT, count - ((long) segment << SEGMENT_SHIFT));
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, values * 8).order(ORDER);
+    }
+
+    private static int segmentCount(int count) {
+        return Math.max(1, (int) (((long) count + SEGMENT_MASK) >>> SEGMENT_SHIFT));
+    }
+
+    // Column over one or more 1 GB mappings
+    private static final class MappedDoubleColumn implements DoubleColumn {
+        private final DoubleBuffer[] segments;
+
+        MappedDoubleColumn(FileChannel channel, long offset, int count) throws IOException {
+            segments = new DoubleBuffer[segmentCount(count)];
+            for (int s = 0; s < segments.length; s++) {
+                segments[s] = mapSegment(channel, offset, s, count).asDoubleBuffer();
+            }
+        }
+
+        @Override
+        public double get(int index) {
+            return segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+        }
+
+        @Override
+        public void copyTo(int from, double[] destination, int destinationOffset, int length) {
+            while (length > 0) {
+                int within = from & SEGMENT_MASK;
+                int n = Math.min(length, (1 << SEGMENT_SHIFT) - within);
+                segments[from >>> SEGMENT_SHIFT].get(within, destination, destinationOffset, n);
+                from += n;
+                destinationOffset += n;
+                length -= n;
+            }
+        }
+    }
+
+    private static final class MappedLongColumn implements LongColumn {
+        private final LongBuffer[] segments;
+        private final long[] sampled; // Stored time index, so TimeIndex need not read the column
+        private final int sampledStride;
+
+        MappedLongColumn(FileChannel channel, long offset, int count) throws IOException {
+            this(channel, offset, count, new long[0], 0);
+        }
+
+        MappedLongColumn(FileChannel channel, long offset, int count, long[] sampled, int sampledStride) throws IOException {
+            this.sampled = sampled;
+            this.sampledStride = sampledStride;
+            segments = new LongBuffer[segmentCount(count)];
+            for (int s = 0; s < segments.length; s++) {
+                segments[s] = mapSegment(channel, offset, s, count).asLongBuffer();
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            return segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+        }
+
+        @Override
+        public void copyTo(int from, long[] destination, int destinationOffset, int length) {
+            while (length > 0) {
+                int within = from & SEGMENT_MASK;
+                int n = Math.min(length, (1 << SEGMENT_SHIFT) - within);
+                segments[from >>> SEGMENT_SHIFT].get(within, destination, destinationOffset, n);
+                from += n;
+                destinationOffset += n;
+                length -= n;
+            }
+        }
+
+        @Override
+        public long[] getSampled(int stride) {
+            return stride == sampledStride && sampled.length > 0 ? sampled.clone() : null;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static com.rocketdashboard.service.FlightFileFormat.*;
+
+// Writes a TelemetryFrame as a binary flight file (see FlightFileFormat) through one
+// reusable direct buffer. The file is written next to the target and moved into place
+// when complete, so a failed save never leaves a truncated flight behind.
+public class FlightFileWriter {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    public void write(TelemetryFrame frame, String outputPath) throws IOException {
+        Channel[] channels = Channel.values();
+        int size = frame.size();
+
+        // Column layout
+        long offset = HEADER_BYTES + (long) channels.length * CHANNEL_ENTRY_BYTES;
+        long timestampsOffset = align(offset);
+        offset = timestampsOffset + 8L * size;
+        long[] channelOffsets = new long[channels.length];
+        for (int c = 0; c < channels.length; c++) {
+            channelOffsets[c] = align(offset);
+            offset = channelOffsets[c] + 8L * size;
+        }
+        long recoveryOffset = align(offset);
+        long motorOffset = recoveryOffset + 8L * bitWords(size);
+        long timeIndexOffset = motorOffset + 8L * bitWords(size);
+
+        Path target = Path.of(outputPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BlockWriter out = new BlockWriter(channel);
+
+            out.put(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(channels.length);
+            out.putLong(size);
+            out.putLong(timestampsOffset);
+            out.putLong(size > 0 ? frame.getTimestampNanos(0) : 0);
+            out.putLong(size > 0 ? frame.getTimestampNanos(size - 1) : 0);
+            out.putLong(recoveryOffset);
+            out.putLong(motorOffset);
+            out.putLong(size > 0 ? timeIndexOffset : 0);
+            out.putInt(TIME_INDEX_STRIDE);
+            out.putInt(0);
+
+            for (int c = 0; c < channels.length; c++) {
+                byte[] name = channels[c].name().getBytes(StandardCharsets.US_ASCII);
+                out.put(name);
+                out.padTo(out.position() + CHANNEL_NAME_BYTES - name.length);
+                writeExtent(out, frame.getColumn(channels[c]), size);
+                out.putLong(channelOffsets[c]);
+            }
+
+            out.padTo(timestampsOffset);
+            for (int i = 0; i < size; i++) {
+                out.putLong(frame.getTimestampNanos(i));
+            }
+
+            for (int c = 0; c < channels.length; c++) {
+                out.padTo(channelOffsets[c]);
+                DoubleColumn column = frame.getColumn(channels[c]);
+                for (int i = 0; i < size; i++) {
+                    out.putDouble(column.get(i));
+                }
+            }
+
+            out.padTo(recoveryOffset);
+            writeBits(out, frame, size, true);
+            writeBits(out, frame, size, false);
+
+            for (int i = 0; i < size; i += TIME_INDEX_STRIDE) {
+                out.putLong(frame.getTimestampNanos(i));
+            }
+            out.flush();
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Converts a telemetry CSV into a binary flight file
+    public static void convert(String csvPath, String outputPath) throws IOException {
+        new FlightFileWriter().write(new CSVReader().readFrame(csvPath), outputPath);
+    }
+
+    private void writeExtent(BlockWriter out, DoubleColumn column, int size) throws IOException {
+        double min = size > 0 ? Double.POSITIVE_INFINITY : 0;
+        double max = size > 0 ? Double.NEGATIVE_INFINITY : 0;
+        for (int i = 0; i < size; i++) {
+            double value = column.get(i);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        out.putDouble(min);
+        out.putDouble(max);
+    }
+
+    private void writeBits(BlockWriter out, TelemetryFrame frame, int size, boolean recovery) throws IOException {
+        for (int word = 0; word < bitWords(size); word++) {
+            long bits = 0;
+            int end = Math.min(size, (word + 1) * 64);
+            for (int i = word * 64; i < end; i++) {
+                if (recovery ? frame.isRecoveryDeployed(i) : frame.isMotorBurning(i)) {
+                    bits |= 1L << i;
+                }
+            }
+            out.putLong(bits);
+        }
+    }
+
+    // Sequential little-endian writer over a FileChannel
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ORDER);
+        private long flushed;
+
+        BlockWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        void put(byte[] bytes) throws IOException {
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void padTo(long offset) throws IOException {
+            while (position() < offset) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: FlightFileWriter <input.csv> <output.rktf>");
+            System.exit(2);
+        }
+        convert(args[0], args[1]);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Anomaly;
+import com.rocketdashboard.model.Flight;
+import com.rocketdashboard.model.FlightSet;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.model.WeatherData;
+import com.rocketdashboard.model.WeatherTrack;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Load pipeline shared by the UI and anything else that needs a fully analyzed flight.
+// Binary flight files are memory-mapped; CSV parsing reports progress as it goes, and large
+// CSV files can be kept in compressed columns. The analysis steps that do not depend on each
+// other (filtering + classification + anomaly check, weather lookup + interpolation) run
+// concurrently.
+public class FlightLoader {
+    // CSV files at least this many MB are loaded into compressed columns (see
+    // TelemetryFrame.compressed()); unset or negative keeps every file in arrays
+    public static final String COMPRESS_ABOVE_PROPERTY = "rocketdashboard.compressAboveMB";
+
+    public interface SetProgressListener {
+        void onFlightLoaded(Flight flight, int completed, int total);
+    }
+
+    private final CSVReader csvReader;
+    private final FlightFileReader flightFileReader = new FlightFileReader();
+    private final StageClassifier stageClassifier;
+    private final TelemetryFilter telemetryFilter = new TelemetryFilter();
+    private final WeatherService weatherService;
+    private final ExecutorService executor;
+    private final long compressAboveBytes = Long.getLong(COMPRESS_ABOVE_PROPERTY, -1) << 20;
+
+    public FlightLoader(CSVReader csvReader, StageClassifier stageClassifier, WeatherService weatherService) {
+        this(csvReader, stageClassifier, weatherService, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public FlightLoader(CSVReader csvReader, StageClassifier stageClassifier, WeatherService weatherService,
+                        ExecutorService executor) {
+        this.csvReader = csvReader;
+        this.stageClassifier = stageClassifier;
+        this.weatherService = weatherService;
+        this.executor = executor;
+    }
+
+    public Flight load(String filePath, CSVReader.ProgressListener listener) throws IOException, InterruptedException {
+        TelemetryFrame telemetry;
+        if (FlightFileReader.isFlightFile(filePath)) {
+            telemetry = flightFileReader.map(filePath);
+            if (listener != null) {
+                listener.onProgress(telemetry, 1, 1);
+            }
+        } else if (compressAboveBytes >= 0 && new File(filePath).length() >= compressAboveBytes) {
+            telemetry = csvReader.readCompressedFrame(filePath, listener);
+        } else {
+            telemetry = csvReader.readFrame(filePath, listener);
+        }
+        if (telemetry.isEmpty()) {
+            throw new IOException("No telemetry rows found in " + filePath);
+        }
+        return analyze(filePath, telemetry);
+    }
+
+    // Loads every file concurrently; CSV chunks of all files share the common ForkJoin pool,
+    // and each file is classified as soon as it is parsed. Failed files are listed in the
+    // result rather than aborting the others.
+    public FlightSet loadAll(List<String> filePaths, SetProgressListener listener) throws InterruptedException {
+        ExecutorCompletionService<Flight> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Flight>> futures = new ArrayList<>(filePaths.size());
+        for (String filePath : filePaths) {
+            futures.add(completion.submit(() -> load(filePath, null)));
+        }
+
+        List<String> failures = new ArrayList<>();
+        try {
+            for (int completed = 1; completed <= futures.size(); completed++) {
+                Future<Flight> done = completion.take();
+                try {
+                    Flight flight = done.get();
+                    if (listener != null) {
+                        listener.onFlightLoaded(flight, completed, futures.size());
+                    }
+                } catch (ExecutionException e) {
+                    String file = filePaths.get(futures.indexOf(done));
+                    failures.add(Path.of(file).getFileName() + ": " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        // Keep the requested order, not completion order
+        List<Flight> flights = new ArrayList<>(futures.size());
+        for (Future<Flight> future : futures) {
+            if (future.state() == Future.State.SUCCESS) {
+                flights.add(future.resultNow());
+            }
+        }
+        return new FlightSet(flights, failures);
+    }
+
+    public Flight analyze(String sourcePath, TelemetryFrame telemetry) throws InterruptedException {
+        LocalDateTime startTime = telemetry.getTimestamp(0);
+        LocalDateTime endTime = telemetry.getTimestamp(telemetry.size() - 1);
+
+        // Stages are detected on the filtered channels; anomaly rules check the raw samples
+        // against that timeline, so sensor faults are not smoothed away
+        CompletableFuture<TelemetryFrame> filtered =
+                CompletableFuture.supplyAsync(() -> telemetryFilter.apply(telemetry), executor);
+        CompletableFuture<StageTimeline> stages = filtered.thenApplyAsync(stageClassifier::classifyStages, executor);
+        CompletableFuture<List<Anomaly>> anomalies =
+                stages.thenApplyAsync(timeline -> stageClassifier.detectAnomalies(telemetry, timeline), executor);
+        CompletableFuture<List<WeatherData>> weather = CompletableFuture.supplyAsync(() ->
+                weatherService.getWeather("Launch Site", startTime.minus(WeatherService.HISTORY), endTime), executor);
+        CompletableFuture<WeatherTrack> weatherTrack =
+                weather.thenApplyAsync(observations -> WeatherTrack.interpolate(telemetry, observations), executor);
+
+        try {
+            CompletableFuture.allOf(anomalies, weatherTrack).get();
+        } catch (InterruptedException e) {
+            filtered.cancel(true);
+            stages.cancel(true);
+            anomalies.cancel(true);
+            weather.cancel(true);
+            weatherTrack.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Flight analysis failed", e.getCause());
+        }
+
+        return new Flight(sourcePath, telemetry, filtered.join(), stages.join(), anomalies.join(),
+                weather.join(), weatherTrack.join());
+    }
+}
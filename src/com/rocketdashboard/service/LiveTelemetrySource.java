@@ -0,0 +1,262 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.TelemetryRingBuffer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.rocketdashboard.service.TelemetryPacket.*;
+
+// Receives TelemetryPacket records from a ground station on a UDP or TCP port. A receiver
+// thread decodes straight from one reusable buffer into a TelemetryRingBuffer, without
+// allocating per packet; the consumer drains whole batches at its own pace, normally once
+// per UI refresh. When the ring is full UDP samples are discarded (and counted), while TCP
+// stops reading so the sender is slowed down by flow control.
+public class LiveTelemetrySource implements AutoCloseable {
+    public enum Protocol { UDP, TCP }
+
+    public static final int DEFAULT_PORT = 5005;
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int RECEIVE_BUFFER_BYTES = 64 * 1024;
+    private static final long BACKPRESSURE_PARK_NANOS = 200_000;
+    private static final long RESTART_GAP = 1024; // A sequence this far back means the sender restarted
+
+    private final Protocol protocol;
+    private final int port;
+    private final TelemetryRingBuffer buffer;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_BYTES).order(ORDER);
+
+    private volatile boolean running;
+    private volatile DatagramChannel datagramChannel;
+    private volatile ServerSocketChannel serverChannel;
+    private volatile SocketChannel clientChannel;
+    private Thread receiver;
+    private long expectedSequence = -1;
+
+    // Counters, written only by the receiver thread
+    private volatile long packetsReceived;
+    private volatile long packetsLost;
+    private volatile long packetsRejected;
+    private volatile long samplesOverflowed;
+    private volatile long backpressureStalls;
+    private volatile IOException failure; // What stopped the receiver, if not close()
+
+    public LiveTelemetrySource(Protocol protocol, int port) {
+        this(protocol, port, DEFAULT_CAPACITY);
+    }
+
+    public LiveTelemetrySource(Protocol protocol, int port, int capacity) {
+        this.protocol = protocol;
+        this.port = port;
+        this.buffer = new TelemetryRingBuffer(capacity);
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    // Binds the port on the calling thread, so bind errors reach the caller, then starts receiving
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Already listening on port " + port);
+        }
+
+        if (protocol == Protocol.UDP) {
+            datagramChannel = DatagramChannel.open().bind(new InetSocketAddress(port));
+        } else {
+            serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(port));
+        }
+        running = true;
+
+        receiver = new Thread(this::receive, "live-telemetry-" + protocol.name().toLowerCase() + "-" + port);
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        closeQuietly(datagramChannel);
+        closeQuietly(serverChannel);
+        closeQuietly(clientChannel);
+        if (receiver != null) {
+            receiver.interrupt();
+            receiver = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Consumer side; must always be called from the same thread
+    public int drainTo(TelemetryFrame.Builder builder, int maxSamples) {
+        return buffer.drainTo(builder, maxSamples);
+    }
+
+    public Stats getStats() {
+        return new Stats(packetsReceived, packetsLost, packetsRejected, samplesOverflowed,
+                backpressureStalls, buffer.size(), buffer.capacity(), failure);
+    }
+
+    private void receive() {
+        try {
+            if (protocol == Protocol.UDP) {
+                receiveDatagrams();
+            } else {
+                receiveStreams();
+            }
+        } catch (ClosedChannelException e) {
+            // Stopped by close()
+        } catch (IOException e) {
+            if (running) {
+                failure = e;
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    private void receiveDatagrams() throws IOException {
+        while (running) {
+            receiveBuffer.clear();
+            datagramChannel.receive(receiveBuffer);
+            receiveBuffer.flip();
+            decode(false);
+            if (receiveBuffer.hasRemaining()) {
+                packetsRejected++; // Trailing partial record
+            }
+        }
+    }
+
+    // One ground station connection at a time; each new connection starts a new sequence
+    private void receiveStreams() throws IOException {
+        while (running) {
+            try (SocketChannel client = serverChannel.accept()) {
+                clientChannel = client;
+                expectedSequence = -1;
+                receiveBuffer.clear();
+                while (running && client.read(receiveBuffer) >= 0) {
+                    receiveBuffer.flip();
+                    decode(true);
+                    receiveBuffer.compact();
+                }
+            } catch (IOException e) {
+                if (!running) throw e;
+                // Connection reset by the sender: wait for the next one
+            } finally {
+                clientChannel = null;
+            }
+        }
+    }
+
+    // Decodes every whole record in receiveBuffer, leaving any partial one in place
+    private void decode(boolean stream) {
+        ByteBuffer in = receiveBuffer;
+        while (in.remaining() >= BYTES) {
+            int at = in.position();
+            if (in.getInt(at + MAGIC_OFFSET) != MAGIC) {
+                packetsRejected++;
+                if (stream) {
+                    in.position(at + 1); // Resynchronize on the next magic
+                    continue;
+                }
+                in.position(in.limit()); // Garbage datagram
+                return;
+            }
+            in.position(at + BYTES);
+            packetsReceived++;
+
+            long sequence = in.getLong(at + SEQUENCE_OFFSET);
+            if (expectedSequence >= 0 && sequence != expectedSequence) {
+                if (sequence > expectedSequence) {
+                    packetsLost += sequence - expectedSequence;
+                } else if (expectedSequence - sequence < RESTART_GAP) {
+                    packetsRejected++; // Late or duplicate, would break time order
+                    continue;
+                }
+            }
+            expectedSequence = sequence + 1;
+
+            int flags = in.getInt(at + FLAGS_OFFSET);
+            boolean stalled = false;
+            while (!buffer.offer(in.getLong(at + TIMESTAMP_OFFSET),
+                    in.getDouble(at + ALTITUDE_OFFSET),
+                    in.getDouble(at + VELOCITY_OFFSET),
+                    in.getDouble(at + ACCELERATION_OFFSET),
+                    in.getDouble(at + LATITUDE_OFFSET),
+                    in.getDouble(at + LONGITUDE_OFFSET),
+                    (flags & FLAG_RECOVERY) != 0,
+                    (flags & FLAG_MOTOR) != 0)) {
+                if (!stream) {
+                    samplesOverflowed++;
+                    break;
+                }
+                if (!stalled) {
+                    backpressureStalls++;
+                    stalled = true;
+                }
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+                if (!running) return;
+            }
+        }
+    }
+
+    private static void closeQuietly(java.nio.channels.Channel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    // Counter snapshot; all counts are since start()
+    public static final class Stats {
+        private final long packetsReceived;
+        private final long packetsLost;
+        private final long packetsRejected;
+        private final long samplesOverflowed;
+        private final long backpressureStalls;
+        private final int bufferedSamples;
+        private final int bufferCapacity;
+        private final IOException failure;
+
+        Stats(long packetsReceived, long packetsLost, long packetsRejected, long samplesOverflowed,
+              long backpressureStalls, int bufferedSamples, int bufferCapacity, IOException failure) {
+            this.packetsReceived = packetsReceived;
+            this.packetsLost = packetsLost;
+            this.packetsRejected = packetsRejected;
+            this.samplesOverflowed = samplesOverflowed;
+            this.backpressureStalls = backpressureStalls;
+            this.bufferedSamples = bufferedSamples;
+            this.bufferCapacity = bufferCapacity;
+            this.failure = failure;
+        }
+
+        public long getPacketsReceived() { return packetsReceived; }
+        // Missing sequence numbers, i.e. datagrams lost on the way
+        public long getPacketsLost() { return packetsLost; }
+        // Malformed, late or duplicate records
+        public long getPacketsRejected() { return packetsRejected; }
+        // UDP samples discarded because the consumer fell behind
+        public long getSamplesOverflowed() { return samplesOverflowed; }
+        // Times the TCP receiver had to wait for the consumer
+        public long getBackpressureStalls() { return backpressureStalls; }
+        public int getBufferedSamples() { return bufferedSamples; }
+        public int getBufferCapacity() { return bufferCapacity; }
+        // The I/O error that stopped the receiver, which then no longer isRunning(); null if none
+        public IOException getFailure() { return failure; }
+    }
+}
@@ -0,0 +1,417 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.TelemetryFrame;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Fast ingest path: memory-maps the file, splits it into newline-aligned chunks and
+// parses the bytes of each chunk straight into primitive columns on the common pool.
+// Rows it cannot handle raise MalformedCSVException so the caller can fall back.
+public class MappedCSVReader {
+    private static final long MIN_CHUNK_BYTES = 1L << 20;   // Not worth a task below 1 MB
+    private static final long MAX_CHUNK_BYTES = 256L << 20; // Keeps each mapping well under 2 GB
+    private static final long PROGRESS_CHUNK_BYTES = 16L << 20; // Granularity of progressive updates
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd HH:mm:ss.SSS".length();
+    private static final int MAX_FIELDS = 8;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    public static class MalformedCSVException extends IOException {
+        public MalformedCSVException(String message) {
+            super(message);
+        }
+    }
+
+    public TelemetryFrame readFrame(String filePath) throws IOException {
+        return readFrame(filePath, null);
+    }
+
+    // With a listener, chunks are kept small and handed over in file order as they finish
+    public TelemetryFrame readFrame(String filePath, CSVReader.ProgressListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long dataStart = findLineEnd(channel, 0, fileSize); // Header is always skipped
+            if (dataStart >= fileSize) {
+                return TelemetryFrame.empty();
+            }
+
+            List<long[]> chunks = splitChunks(channel, dataStart, fileSize,
+                    listener != null ? PROGRESS_CHUNK_BYTES : MAX_CHUNK_BYTES);
+            List<Callable<TelemetryFrame>> tasks = new ArrayList<>();
+            for (long[] chunk : chunks) {
+                long start = chunk[0];
+                long end = chunk[1];
+                tasks.add(() -> new ChunkParser(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), start).parse());
+            }
+
+            if (listener == null) {
+                return TelemetryFrame.concat(runAll(tasks));
+            }
+            return runProgressively(tasks, chunks, dataStart, fileSize, listener);
+        }
+    }
+
+    // Compresses each chunk into the result (see TelemetryFrame.CompressedBuilder) as soon as
+    // it is parsed, with only a few chunks parsed ahead, so a capture too large for the heap
+    // as arrays never has to exist as arrays in full
+    public TelemetryFrame readCompressedFrame(String filePath, CSVReader.ProgressListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long dataStart = findLineEnd(channel, 0, fileSize);
+            if (dataStart >= fileSize) {
+                return TelemetryFrame.empty();
+            }
+
+            List<long[]> chunks = splitChunks(channel, dataStart, fileSize, PROGRESS_CHUNK_BYTES);
+            int ahead = Runtime.getRuntime().availableProcessors() + 1;
+            List<Future<TelemetryFrame>> futures = new ArrayList<>(chunks.size());
+            TelemetryFrame.CompressedBuilder builder = new TelemetryFrame.CompressedBuilder();
+            for (int i = 0; i < chunks.size(); i++) {
+                while (futures.size() < Math.min(i + ahead, chunks.size())) {
+                    long[] chunk = chunks.get(futures.size());
+                    futures.add(ForkJoinPool.commonPool().submit(() ->
+                            new ChunkParser(channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]), chunk[0]).parse()));
+                }
+                builder.addAll(await(futures.get(i), futures));
+                futures.set(i, null);
+                if (listener != null) {
+                    listener.onProgress(builder.snapshot(), chunks.get(i)[1] - dataStart, fileSize - dataStart);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private List<long[]> splitChunks(FileChannel channel, long dataStart, long fileSize, long maxChunkBytes) throws IOException {
+        long dataBytes = fileSize - dataStart;
+        int cores = Runtime.getRuntime().availableProcessors();
+        long chunkCount = Math.max(Math.min(cores, dataBytes / MIN_CHUNK_BYTES),
+                (dataBytes + maxChunkBytes - 1) / maxChunkBytes);
+        chunkCount = Math.max(chunkCount, 1);
+
+        List<long[]> chunks = new ArrayList<>();
+        long start = dataStart;
+        for (long i = 1; i <= chunkCount && start < fileSize; i++) {
+            long target = dataStart + dataBytes * i / chunkCount;
+            long end = i == chunkCount ? fileSize : findLineEnd(channel, Math.max(target, start), fileSize);
+            if (end > start) {
+                chunks.add(new long[]{start, end});
+            }
+            start = end;
+        }
+        return chunks;
+    }
+
+    // Position just past the next '\n' at or after from, or fileSize if there is none
+    private long findLineEnd(FileChannel channel, long from, long fileSize) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long position = from;
+        while (position < fileSize) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+
+    private List<TelemetryFrame> runAll(List<Callable<TelemetryFrame>> tasks) throws IOException {
+        List<TelemetryFrame> parts = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            parts.add(call(tasks.get(0)));
+            return parts;
+        }
+
+        List<Future<TelemetryFrame>> futures = submitAll(tasks);
+        for (Future<TelemetryFrame> future : futures) {
+            parts.add(await(future, futures));
+        }
+        return parts;
+    }
+
+    // Appends finished chunks in file order and reports the growing frame after each one
+    private TelemetryFrame runProgressively(List<Callable<TelemetryFrame>> tasks, List<long[]> chunks,
+                                            long dataStart, long fileSize,
+                                            CSVReader.ProgressListener listener) throws IOException {
+        List<Future<TelemetryFrame>> futures = submitAll(tasks);
+        TelemetryFrame.Builder builder = new TelemetryFrame.Builder();
+        for (int i = 0; i < futures.size(); i++) {
+            builder.addAll(await(futures.get(i), futures));
+            futures.set(i, null); // Let the chunk's own arrays go
+            listener.onProgress(builder.snapshot(), chunks.get(i)[1] - dataStart, fileSize - dataStart);
+        }
+        return builder.build();
+    }
+
+    private List<Future<TelemetryFrame>> submitAll(List<Callable<TelemetryFrame>> tasks) {
+        List<Future<TelemetryFrame>> futures = new ArrayList<>(tasks.size());
+        for (Callable<TelemetryFrame> task : tasks) {
+            futures.add(ForkJoinPool.commonPool().submit(task));
+        }
+        return futures;
+    }
+
+    private TelemetryFrame await(Future<TelemetryFrame> future, List<Future<TelemetryFrame>> all) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            cancelAll(all);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to parse telemetry chunk", e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll(all);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing telemetry");
+        }
+    }
+
+    private static void cancelAll(List<Future<TelemetryFrame>> futures) {
+        for (Future<TelemetryFrame> future : futures) {
+            if (future != null) future.cancel(true);
+        }
+    }
+
+    private static TelemetryFrame call(Callable<TelemetryFrame> task) throws IOException {
+        try {
+            return task.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to parse telemetry chunk", e);
+        }
+    }
+
+    // Parses one mapped chunk; field boundaries live in reused arrays so rows allocate nothing
+    private static final class ChunkParser {
+        private final MappedByteBuffer buffer;
+        private final long fileOffset;
+        private final TelemetryFrame.Builder builder;
+        private final int[] fieldStart = new int[MAX_FIELDS];
+        private final int[] fieldEnd = new int[MAX_FIELDS];
+
+        ChunkParser(MappedByteBuffer buffer, long fileOffset) {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+            this.builder = new TelemetryFrame.Builder(buffer.limit() / 48 + 16);
+        }
+
+        TelemetryFrame parse() throws MalformedCSVException {
+            int limit = buffer.limit();
+            int pos = 0;
+            while (pos < limit) {
+                int lineEnd = pos;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int end = lineEnd;
+                if (end > pos && buffer.get(end - 1) == '\r') {
+                    end--;
+                }
+                parseLine(pos, end);
+                pos = lineEnd + 1;
+            }
+            return builder.build();
+        }
+
+        private void parseLine(int start, int end) throws MalformedCSVException {
+            // Split on commas; like String.split, trailing empty fields do not count
+            int fields = 0;
+            int fieldBegin = start;
+            int lastNonEmpty = 0;
+            for (int i = start; i <= end; i++) {
+                if (i == end || buffer.get(i) == ',') {
+                    if (fields < MAX_FIELDS) {
+                        fieldStart[fields] = fieldBegin;
+                        fieldEnd[fields] = i;
+                    }
+                    fields++;
+                    if (i > fieldBegin) lastNonEmpty = fields;
+                    fieldBegin = i + 1;
+                }
+            }
+            fields = lastNonEmpty;
+            if (fields < 7) {
+                return; // Same as the line reader: short rows are skipped
+            }
+
+            long timestamp = parseTimestamp(fieldStart[0], fieldEnd[0]);
+            double altitude = parseDouble(fieldStart[1], fieldEnd[1]);
+            double velocity = parseDouble(fieldStart[2], fieldEnd[2]);
+            double acceleration = parseDouble(fieldStart[3], fieldEnd[3]);
+            double latitude = parseDouble(fieldStart[4], fieldEnd[4]);
+            double longitude = parseDouble(fieldStart[5], fieldEnd[5]);
+            boolean recoveryDeployed = parseBoolean(fieldStart[6], fieldEnd[6]);
+            boolean motorBurning = fields > 7 && parseBoolean(fieldStart[7], fieldEnd[7]);
+
+            builder.add(timestamp, altitude, velocity, acceleration, latitude, longitude,
+                    recoveryDeployed, motorBurning);
+        }
+
+        // Fixed-format yyyy-MM-dd HH:mm:ss.SSS straight to epoch nanoseconds (UTC)
+        private long parseTimestamp(int start, int end) throws MalformedCSVException {
+            if (end - start != TIMESTAMP_LENGTH
+                    || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-'
+                    || buffer.get(start + 10) != ' ' || buffer.get(start + 13) != ':'
+                    || buffer.get(start + 16) != ':' || buffer.get(start + 19) != '.') {
+                throw malformed(start, "timestamp");
+            }
+
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            int hour = digits(start + 11, 2);
+            int minute = digits(start + 14, 2);
+            int second = digits(start + 17, 2);
+            int millis = digits(start + 20, 3);
+
+            if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                    || hour > 23 || minute > 59 || second > 59) {
+                throw malformed(start, "timestamp");
+            }
+
+            long seconds = daysFromCivil(year, month, day) * 86_400L + hour * 3600L + minute * 60L + second;
+            return seconds * 1_000_000_000L + millis * 1_000_000L;
+        }
+
+        private int digits(int start, int count) throws MalformedCSVException {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int d = buffer.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    throw malformed(start, "timestamp");
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        // Exact for up to 2^53 significant value and |exponent| <= 22; anything else
+        // (long mantissas, NaN, hex, stray spaces) goes through Double.parseDouble
+        private double parseDouble(int start, int end) throws MalformedCSVException {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int significantDigits = 0;
+            int exponent = 0;
+            boolean anyDigits = false;
+
+            while (i < end && isDigit(buffer.get(i))) {
+                mantissa = accumulate(mantissa, buffer.get(i), significantDigits);
+                if (mantissa != 0) significantDigits++;
+                anyDigits = true;
+                i++;
+            }
+            if (i < end && buffer.get(i) == '.') {
+                i++;
+                while (i < end && isDigit(buffer.get(i))) {
+                    mantissa = accumulate(mantissa, buffer.get(i), significantDigits);
+                    if (mantissa != 0) significantDigits++;
+                    exponent--;
+                    anyDigits = true;
+                    i++;
+                }
+            }
+            if (anyDigits && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                    negativeExponent = buffer.get(i) == '-';
+                    i++;
+                }
+                int explicit = 0;
+                int exponentStart = i;
+                while (i < end && isDigit(buffer.get(i)) && explicit < 10_000) {
+                    explicit = explicit * 10 + (buffer.get(i) - '0');
+                    i++;
+                }
+                if (i == exponentStart) {
+                    return parseSlow(start, end);
+                }
+                exponent += negativeExponent ? -explicit : explicit;
+            }
+
+            if (!anyDigits || i != end || significantDigits > 18 || mantissa > (1L << 53)
+                    || exponent < -22 || exponent > 22) {
+                return parseSlow(start, end);
+            }
+
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+
+        private double parseSlow(int start, int end) throws MalformedCSVException {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            try {
+                return Double.parseDouble(new String(bytes, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw malformed(start, "number");
+            }
+        }
+
+        // Matches Boolean.parseBoolean: only "true" in any case is true
+        private boolean parseBoolean(int start, int end) {
+            return end - start == 4
+                    && (buffer.get(start) | 0x20) == 't'
+                    && (buffer.get(start + 1) | 0x20) == 'r'
+                    && (buffer.get(start + 2) | 0x20) == 'u'
+                    && (buffer.get(start + 3) | 0x20) == 'e';
+        }
+
+        private MalformedCSVException malformed(int position, String what) {
+            return new MalformedCSVException("Malformed " + what + " at byte offset " + (fileOffset + position));
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // Stops growing the mantissa once it could overflow; the caller then takes the slow path
+    private static long accumulate(long mantissa, byte digit, int significantDigits) {
+        return significantDigits >= 18 ? mantissa : mantissa * 10 + (digit - '0');
+    }
+
+    private static int daysInMonth(int year, int month) {
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        return month == 2 && leap ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
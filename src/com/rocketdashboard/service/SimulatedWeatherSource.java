@@ -0,0 +1,35 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.WeatherData;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Stand-in for sites without recorded observations: random hourly weather. Each hour is
+// seeded from the site and the hour itself, so overlapping windows agree with each other.
+public class SimulatedWeatherSource implements WeatherSource {
+    @Override
+    public List<WeatherData> fetch(String site, LocalDateTime from, LocalDateTime to) {
+        List<WeatherData> weatherData = new ArrayList<>();
+        LocalDateTime time = from.truncatedTo(ChronoUnit.HOURS);
+        if (time.isBefore(from)) {
+            time = time.plusHours(1);
+        }
+
+        for (; !time.isAfter(to); time = time.plusHours(1)) {
+            Random random = new Random(31L * site.hashCode() + time.toEpochSecond(ZoneOffset.UTC) / 3600);
+            double temperature = 15 + random.nextDouble() * 20;
+            double pressure = 1013 + random.nextDouble() * 20 - 10;
+            double windSpeed = random.nextDouble() * 30;
+            double windDirection = random.nextDouble() * 360;
+            double humidity = 30 + random.nextDouble() * 70;
+
+            weatherData.add(new WeatherData(time, temperature, pressure, windSpeed, windDirection, humidity));
+        }
+
+        return weatherData;
+    }
+}
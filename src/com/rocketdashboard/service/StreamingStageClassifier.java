@@ -0,0 +1,251 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.Arrays;
+
+// Incremental counterpart of StageClassifier. Samples are pushed one at a time (or as a
+// frame range) and each point event is reported once, as soon as its condition has held
+// for the configured confirmation window. Every step is O(1) and allocation-free, so the
+// same instance can follow a live downlink or replay a finished flight.
+public class StreamingStageClassifier {
+    public static final int DEFAULT_LAUNCH_WINDOW = 3;
+    public static final int DEFAULT_APOGEE_WINDOW = 5;
+    public static final int DEFAULT_PARACHUTE_WINDOW = 3;
+    public static final int DEFAULT_LANDING_WINDOW = 5;
+
+    public interface Listener {
+        void onStageEvent(Stage stage, int sampleIndex, long timestampNanos);
+    }
+
+    private final Listener listener;
+    private final int launchWindow;
+    private final int apogeeWindow;
+    private final int parachuteWindow;
+    private final int landingWindow;
+
+    private final int[] eventIndex = new int[Stage.values().length];
+    private int sampleCount;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double previousVelocity;
+
+    // Launch: run of samples above the launch velocity
+    private int launchRunStart;
+    private long launchRunTimestamp;
+    private int launchRunLength;
+
+    // Apogee: running maximum since the current launch run began, confirmed once launch is
+    // and altitude has stayed below it long enough, so pad noise is never taken for a peak
+    private double maxAltitude;
+    private int maxIndex;
+    private long maxTimestamp;
+
+    // Parachute: velocity step after the apogee candidate that does not recover
+    private int parachuteCandidate;
+    private long parachuteTimestamp;
+    private double velocityBeforeStep;
+    private int parachuteRunLength;
+
+    // Landing: run of slow samples close to the ground after apogee
+    private int landingRunStart;
+    private long landingRunTimestamp;
+    private int landingRunLength;
+
+    public StreamingStageClassifier(Listener listener) {
+        this(listener, DEFAULT_LAUNCH_WINDOW, DEFAULT_APOGEE_WINDOW, DEFAULT_PARACHUTE_WINDOW, DEFAULT_LANDING_WINDOW);
+    }
+
+    public StreamingStageClassifier(Listener listener, int launchWindow, int apogeeWindow,
+                                    int parachuteWindow, int landingWindow) {
+        if (launchWindow < 1 || apogeeWindow < 1 || parachuteWindow < 1 || landingWindow < 1) {
+            throw new IllegalArgumentException("Confirmation windows must be at least one sample");
+        }
+        this.listener = listener;
+        this.launchWindow = launchWindow;
+        this.apogeeWindow = apogeeWindow;
+        this.parachuteWindow = parachuteWindow;
+        this.landingWindow = landingWindow;
+        reset();
+    }
+
+    public void reset() {
+        Arrays.fill(eventIndex, -1);
+        sampleCount = 0;
+        launchRunStart = -1;
+        launchRunLength = 0;
+        resetApogee();
+        landingRunStart = -1;
+        landingRunLength = 0;
+    }
+
+    public void accept(long timestampNanos, double altitude, double velocity) {
+        int index = sampleCount++;
+        if (index == 0) {
+            firstTimestamp = timestampNanos;
+        }
+
+        updateLaunch(index, timestampNanos, velocity);
+        updateApogee(index, timestampNanos, altitude);
+        if (index > 0) {
+            updateParachute(index, timestampNanos, velocity);
+        }
+        updateLanding(index, timestampNanos, altitude, velocity);
+
+        previousVelocity = velocity;
+        lastTimestamp = timestampNanos;
+    }
+
+    public void acceptAll(TelemetryFrame frame, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(frame.getTimestampNanos(i), frame.getAltitude(i), frame.getVelocity(i));
+        }
+    }
+
+    // Runs a finished flight through the same path as live data
+    public void replay(TelemetryFrame frame) {
+        reset();
+        acceptAll(frame, 0, frame.size());
+        finish();
+    }
+
+    // End of data: settle pending candidates with the same fallbacks StageClassifier uses
+    public void finish() {
+        if (sampleCount == 0) return;
+
+        if (!isConfirmed(Stage.LAUNCH)) {
+            if (launchRunStart >= 0) {
+                emit(Stage.LAUNCH, launchRunStart, launchRunTimestamp);
+            } else {
+                emit(Stage.LAUNCH, 0, firstTimestamp);
+            }
+        }
+        if (!isConfirmed(Stage.APOGEE)) {
+            emit(Stage.APOGEE, maxIndex, maxTimestamp);
+        }
+        if (!isConfirmed(Stage.PARACHUTE_DEPLOYED) && parachuteCandidate >= 0) {
+            emit(Stage.PARACHUTE_DEPLOYED, parachuteCandidate, parachuteTimestamp);
+        }
+        if (!isConfirmed(Stage.LANDING)) {
+            if (landingRunStart >= 0) {
+                emit(Stage.LANDING, landingRunStart, landingRunTimestamp);
+            } else {
+                emit(Stage.LANDING, sampleCount - 1, lastTimestamp);
+            }
+        }
+    }
+
+    public boolean isConfirmed(Stage stage) {
+        return eventIndex[stage.ordinal()] >= 0;
+    }
+
+    // Sample index of a confirmed event, or -1
+    public int getEventIndex(Stage stage) {
+        return eventIndex[stage.ordinal()];
+    }
+
+    // Snapshot of the events confirmed so far
+    public StageTimeline toTimeline() {
+        return new StageTimeline(getEventIndex(Stage.LAUNCH), getEventIndex(Stage.APOGEE),
+                getEventIndex(Stage.PARACHUTE_DEPLOYED), getEventIndex(Stage.LANDING));
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    private void updateLaunch(int index, long timestamp, double velocity) {
+        if (isConfirmed(Stage.LAUNCH)) return;
+
+        if (velocity > StageClassifier.LAUNCH_VELOCITY_THRESHOLD) {
+            if (launchRunLength++ == 0) {
+                launchRunStart = index;
+                launchRunTimestamp = timestamp;
+                resetApogee();
+            }
+            if (launchRunLength >= launchWindow) {
+                emit(Stage.LAUNCH, launchRunStart, launchRunTimestamp);
+            }
+        } else {
+            launchRunLength = 0;
+            launchRunStart = -1;
+        }
+    }
+
+    private void updateApogee(int index, long timestamp, double altitude) {
+        if (isConfirmed(Stage.APOGEE)) return;
+
+        if (altitude >= maxAltitude) {
+            // New peak candidate; anything seen after the old one no longer counts
+            maxAltitude = altitude;
+            maxIndex = index;
+            maxTimestamp = timestamp;
+            parachuteCandidate = -1;
+            parachuteRunLength = 0;
+        } else if (index - maxIndex >= apogeeWindow && isConfirmed(Stage.LAUNCH)) {
+            emit(Stage.APOGEE, maxIndex, maxTimestamp);
+            if (parachuteCandidate >= 0 && parachuteRunLength >= parachuteWindow) {
+                emit(Stage.PARACHUTE_DEPLOYED, parachuteCandidate, parachuteTimestamp);
+            }
+        }
+    }
+
+    // Drops the peak candidate; the next sample starts a new one
+    private void resetApogee() {
+        maxAltitude = Double.NEGATIVE_INFINITY;
+        maxIndex = -1;
+        parachuteCandidate = -1;
+        parachuteRunLength = 0;
+    }
+
+    private void updateParachute(int index, long timestamp, double velocity) {
+        if (isConfirmed(Stage.PARACHUTE_DEPLOYED) || maxIndex < 0) return;
+
+        if (parachuteCandidate < 0) {
+            // Same step test as the batch classifier, only on pairs after the peak
+            if (index - 1 > maxIndex && velocity - previousVelocity < StageClassifier.VELOCITY_CHANGE_THRESHOLD) {
+                parachuteCandidate = index;
+                parachuteTimestamp = timestamp;
+                velocityBeforeStep = previousVelocity;
+                parachuteRunLength = 1;
+            }
+        } else if (velocity - velocityBeforeStep > StageClassifier.VELOCITY_CHANGE_THRESHOLD / 2) {
+            // Velocity went back to where it was: a single noisy sample, not a deployment
+            parachuteCandidate = -1;
+            parachuteRunLength = 0;
+            return;
+        } else {
+            parachuteRunLength++;
+        }
+
+        if (parachuteCandidate >= 0 && parachuteRunLength >= parachuteWindow && isConfirmed(Stage.APOGEE)) {
+            emit(Stage.PARACHUTE_DEPLOYED, parachuteCandidate, parachuteTimestamp);
+        }
+    }
+
+    private void updateLanding(int index, long timestamp, double altitude, double velocity) {
+        if (isConfirmed(Stage.LANDING) || !isConfirmed(Stage.APOGEE)) return;
+
+        if (Math.abs(velocity) < StageClassifier.LANDING_VELOCITY_THRESHOLD &&
+                altitude <= StageClassifier.LANDING_ALTITUDE_THRESHOLD) {
+            if (landingRunLength++ == 0) {
+                landingRunStart = index;
+                landingRunTimestamp = timestamp;
+            }
+            if (landingRunLength >= landingWindow) {
+                emit(Stage.LANDING, landingRunStart, landingRunTimestamp);
+            }
+        } else {
+            landingRunLength = 0;
+            landingRunStart = -1;
+        }
+    }
+
+    private void emit(Stage stage, int index, long timestamp) {
+        eventIndex[stage.ordinal()] = index;
+        if (listener != null) {
+            listener.onStageEvent(stage, index, timestamp);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.CompressedDoubleColumn;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.LongColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.ExponentialSmoothingFilter;
+import com.rocketdashboard.util.FilterChain;
+import com.rocketdashboard.util.KalmanFilter;
+import com.rocketdashboard.util.MovingMedianFilter;
+import com.rocketdashboard.util.SignalFilter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+
+// Denoising stage between ingest and classification. Each channel runs through its own
+// SignalFilter in one streaming pass; channels without a filter are shared with the raw
+// frame rather than copied. Filters that delay their output (medians) are shifted back by
+// their delay so events stay on the right sample; that many samples at either end, where
+// the window is not yet full or never fills, are passed through raw. Defaults:
+//   altitude      gated Kalman (constant climb rate), which drops barometer spikes
+//   velocity      median 3 only; smoothing would spread the deployment step over several
+//                 samples and hide it from the step threshold in StageClassifier
+//   acceleration  median 3 -> exponential smoothing
+public class TelemetryFilter {
+    static final int MEDIAN_WINDOW = 3;
+    static final double ALTITUDE_PROCESS_NOISE = 100.0; // (m/s²)² per second
+    static final double ALTITUDE_MEASUREMENT_NOISE = 4.0; // m², barometer noise of about 2 m
+    static final double ALTITUDE_GATE = 5.0; // Standard deviations
+    static final double ACCELERATION_TIME_CONSTANT = 0.1; // s
+
+    private static final Channel[] CHANNELS = Channel.values();
+
+    private final SignalFilter[] filters = new SignalFilter[CHANNELS.length]; // null passes through
+
+    public TelemetryFilter() {
+        this(defaultFilters());
+    }
+
+    public TelemetryFilter(Map<Channel, SignalFilter> filters) {
+        filters.forEach((channel, filter) -> this.filters[channel.ordinal()] = filter);
+    }
+
+    public static Map<Channel, SignalFilter> defaultFilters() {
+        Map<Channel, SignalFilter> filters = new EnumMap<>(Channel.class);
+        filters.put(Channel.ALTITUDE, new KalmanFilter(ALTITUDE_PROCESS_NOISE, ALTITUDE_MEASUREMENT_NOISE, ALTITUDE_GATE));
+        filters.put(Channel.VELOCITY, new MovingMedianFilter(MEDIAN_WINDOW));
+        filters.put(Channel.ACCELERATION, new FilterChain(new MovingMedianFilter(MEDIAN_WINDOW),
+                new ExponentialSmoothingFilter(ACCELERATION_TIME_CONSTANT)));
+        return filters;
+    }
+
+    // Filtered copy of the frame; the configured filters are copied per call, so one
+    // TelemetryFilter can serve concurrent loads. A compressed frame gets compressed filtered
+    // channels, encoded as they are produced rather than from a full array.
+    public TelemetryFrame apply(TelemetryFrame raw) {
+        if (raw == null || raw.isEmpty()) {
+            return raw;
+        }
+
+        int size = raw.size();
+        LongColumn timestamps = raw.getTimestampColumn();
+        double[][] filtered = new double[CHANNELS.length][];
+        DoubleColumn[] compressed = new DoubleColumn[CHANNELS.length];
+        for (Channel channel : CHANNELS) {
+            SignalFilter prototype = filters[channel.ordinal()];
+            if (prototype == null) continue;
+
+            SignalFilter filter = prototype.copy();
+            DoubleColumn column = raw.getColumn(channel);
+            if (raw.isCompressed()) {
+                CompressedDoubleColumn.Encoder out = new CompressedDoubleColumn.Encoder();
+                filter(filter, timestamps, column, size, out::add);
+                compressed[channel.ordinal()] = out.build();
+            } else {
+                ArraySink out = new ArraySink(size);
+                filter(filter, timestamps, column, size, out);
+                filtered[channel.ordinal()] = out.values;
+            }
+        }
+        return raw.isCompressed() ? raw.withColumns(compressed) : raw.withChannels(filtered);
+    }
+
+    // Emits the filtered samples in order: the first and last delay samples raw, the ones
+    // between shifted back by the delay
+    private static void filter(SignalFilter filter, LongColumn timestamps, DoubleColumn column, int size,
+                               DoubleConsumer out) {
+        int delay = Math.min(filter.getDelay(), size / 2);
+        for (int i = 0; i < delay; i++) {
+            out.accept(column.get(i));
+        }
+        for (int i = 0; i < 2 * delay; i++) {
+            filter.filter(timestamps.get(i), column.get(i));
+        }
+        for (int i = 2 * delay; i < size; i++) {
+            out.accept(filter.filter(timestamps.get(i), column.get(i)));
+        }
+        for (int i = size - delay; i < size; i++) {
+            out.accept(column.get(i));
+        }
+    }
+
+    private static final class ArraySink implements DoubleConsumer {
+        final double[] values;
+        int size;
+
+        ArraySink(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        public void accept(double value) {
+            values[size++] = value;
+        }
+    }
+}
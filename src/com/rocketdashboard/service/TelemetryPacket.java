@@ -0,0 +1,51 @@
+package com.rocketdashboard.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Wire format shared by LiveTelemetrySource and TelemetrySimulator: fixed 64-byte
+// little-endian records. A UDP datagram carries one or more whole records; over TCP they
+// are sent back to back. The sequence number increases by one per sample, so gaps
+// reveal lost datagrams.
+//
+//   0  int     magic "RKT1"
+//   4  int     flags (bit 0 recovery deployed, bit 1 motor burning)
+//   8  long    sequence number
+//  16  long    timestamp, epoch nanoseconds (UTC)
+//  24  double  altitude, velocity, acceleration, latitude, longitude
+final class TelemetryPacket {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int MAGIC = 0x31544B52; // "RKT1" in little-endian byte order
+    static final int BYTES = 64;
+
+    static final int FLAG_RECOVERY = 1;
+    static final int FLAG_MOTOR = 2;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int FLAGS_OFFSET = 4;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int TIMESTAMP_OFFSET = 16;
+    static final int ALTITUDE_OFFSET = 24;
+    static final int VELOCITY_OFFSET = 32;
+    static final int ACCELERATION_OFFSET = 40;
+    static final int LATITUDE_OFFSET = 48;
+    static final int LONGITUDE_OFFSET = 56;
+
+    private TelemetryPacket() {
+    }
+
+    // Appends one record at the buffer's position
+    static void put(ByteBuffer buffer, long sequence, long timestampNanos, double altitude, double velocity,
+                    double acceleration, double latitude, double longitude,
+                    boolean recoveryDeployed, boolean motorBurning) {
+        buffer.putInt(MAGIC)
+                .putInt((recoveryDeployed ? FLAG_RECOVERY : 0) | (motorBurning ? FLAG_MOTOR : 0))
+                .putLong(sequence)
+                .putLong(timestampNanos)
+                .putDouble(altitude)
+                .putDouble(velocity)
+                .putDouble(acceleration)
+                .putDouble(latitude)
+                .putDouble(longitude);
+    }
+}
@@ -0,0 +1,99 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.TelemetryFrame;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.locks.LockSupport;
+
+// Stands in for a ground station: replays a recorded flight to a LiveTelemetrySource as
+// TelemetryPacket records at a fixed sample rate. Samples that fall due together (at
+// high rates) are batched into one datagram or write.
+public class TelemetrySimulator {
+    public static final String DEFAULT_FILE = "sample data.csv";
+    public static final double DEFAULT_RATE_HZ = 10;
+
+    private static final int MAX_BATCH = 16;
+
+    private final TelemetryFrame frame;
+    private final LiveTelemetrySource.Protocol protocol;
+    private final InetSocketAddress target;
+    private final double rateHz;
+
+    public TelemetrySimulator(TelemetryFrame frame, LiveTelemetrySource.Protocol protocol,
+                              String host, int port, double rateHz) {
+        if (!(rateHz > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + rateHz);
+        }
+        this.frame = frame;
+        this.protocol = protocol;
+        this.target = new InetSocketAddress(host, port);
+        this.rateHz = rateHz;
+    }
+
+    // Sends the whole flight once; blocks until done
+    public void run() throws IOException {
+        ByteBuffer packet = ByteBuffer.allocateDirect(MAX_BATCH * TelemetryPacket.BYTES).order(TelemetryPacket.ORDER);
+        long periodNanos = (long) (1e9 / rateHz);
+
+        try (WritableByteChannel channel = protocol == LiveTelemetrySource.Protocol.UDP
+                ? DatagramChannel.open().connect(target)
+                : SocketChannel.open(target)) {
+            long start = System.nanoTime();
+            int i = 0;
+            while (i < frame.size()) {
+                long due = start + i * periodNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+
+                packet.clear();
+                long now = System.nanoTime();
+                do {
+                    TelemetryPacket.put(packet, i, frame.getTimestampNanos(i), frame.getAltitude(i),
+                            frame.getVelocity(i), frame.getAcceleration(i), frame.getLatitude(i),
+                            frame.getLongitude(i), frame.isRecoveryDeployed(i), frame.isMotorBurning(i));
+                    i++;
+                } while (i < frame.size() && packet.hasRemaining() && start + i * periodNanos <= now);
+
+                packet.flip();
+                while (packet.hasRemaining()) {
+                    channel.write(packet);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        LiveTelemetrySource.Protocol protocol = LiveTelemetrySource.Protocol.UDP;
+        String host = "localhost";
+        int port = LiveTelemetrySource.DEFAULT_PORT;
+        double rate = DEFAULT_RATE_HZ;
+        String file = DEFAULT_FILE;
+
+        try {
+            for (int a = 0; a < args.length; a++) {
+                switch (args[a]) {
+                    case "--tcp" -> protocol = LiveTelemetrySource.Protocol.TCP;
+                    case "--udp" -> protocol = LiveTelemetrySource.Protocol.UDP;
+                    case "--host" -> host = args[++a];
+                    case "--port" -> port = Integer.parseInt(args[++a]);
+                    case "--rate" -> rate = Double.parseDouble(args[++a]);
+                    default -> file = args[a];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("Usage: TelemetrySimulator [--udp|--tcp] [--host name] [--port n] [--rate hz] [file.csv]");
+            System.exit(2);
+        }
+
+        TelemetryFrame frame = new CSVReader().readFrame(file);
+        System.out.printf("Sending %d samples to %s:%d over %s at %.1f Hz%n", frame.size(), host, port, protocol, rate);
+        new TelemetrySimulator(frame, protocol, host, port, rate).run();
+    }
+}
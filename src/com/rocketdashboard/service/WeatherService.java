@@ -1,29 +1,100 @@
 package com.rocketdashboard.service;
 
 import com.rocketdashboard.model.WeatherData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
+// Weather lookups with an LRU cache in front of a WeatherSource. Windows are widened to
+// whole hours before the lookup, so flights from the same site and hour share one entry.
+// By default observations come from the local file store, and sites without a file fall
+// back to simulated weather.
 public class WeatherService {
-    private Random random = new Random();
+    public static final int DEFAULT_CACHE_SIZE = 64; // Windows
+    public static final Duration HISTORY = Duration.ofHours(24); // Observations before launch
 
+    private record WindowKey(String site, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private final WeatherSource source;
+    private final Map<WindowKey, List<WeatherData>> cache;
+    private long hits;
+    private long misses;
+
+    public WeatherService() {
+        this(new FileWeatherSource().orElse(new SimulatedWeatherSource()), DEFAULT_CACHE_SIZE);
+    }
+
+    public WeatherService(WeatherSource source, int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + cacheSize);
+        }
+        this.source = source;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WindowKey, List<WeatherData>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // The HISTORY before launch up to the launch itself
     public List<WeatherData> getHistoricalWeather(String location, LocalDateTime launchTime) {
-        List<WeatherData> weatherData = new ArrayList<>();
+        return getWeather(location, launchTime.minus(HISTORY), launchTime);
+    }
 
-        // Simulate weather data
-        for (int i = 0; i < 24; i++) {
-            LocalDateTime time = launchTime.minusHours(24 - i);
-            double temperature = 15 + random.nextDouble() * 20;
-            double pressure = 1013 + random.nextDouble() * 20 - 10;
-            double windSpeed = random.nextDouble() * 30;
-            double windDirection = random.nextDouble() * 360;
-            double humidity = 30 + random.nextDouble() * 70;
+    // Observations covering [from, to], including the ones just outside it when the window
+    // does not fall on whole hours; the returned list is shared and must not be modified
+    public List<WeatherData> getWeather(String site, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        if (end.isBefore(to)) {
+            end = end.plusHours(1);
+        }
+        WindowKey key = new WindowKey(site, start, end);
 
-            weatherData.add(new WeatherData(time, temperature, pressure, windSpeed, windDirection, humidity));
+        synchronized (cache) {
+            List<WeatherData> cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
         }
 
-        return weatherData;
+        // Fetched outside the lock; concurrent misses on one window fetch it twice, harmlessly
+        List<WeatherData> observations;
+        try {
+            observations = List.copyOf(source.fetch(site, start, end));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Weather lookup failed for " + site, e);
+        }
+        synchronized (cache) {
+            cache.put(key, observations);
+        }
+        return observations;
+    }
+
+    public long getCacheHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.rocketdashboard.service;
+
+import com.rocketdashboard.model.WeatherData;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Where WeatherService gets its observations from
+public interface WeatherSource {
+    // Observations for the site from from to to inclusive, in time order; empty when there are none
+    List<WeatherData> fetch(String site, LocalDateTime from, LocalDateTime to) throws IOException;
+
+    // This source, or fallback for windows this source has no observations for
+    default WeatherSource orElse(WeatherSource fallback) {
+        return (site, from, to) -> {
+            List<WeatherData> observations = fetch(site, from, to);
+            return observations.isEmpty() ? fallback.fetch(site, from, to) : observations;
+        };
+    }
+}
@@ -1,17 +1,37 @@
 package com.rocketdashboard.ui;
 
 import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.util.TimestampFormat;
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
 
 public class ControlsPanel extends UIComponent {
+    private static final int SCRUB_STEPS = 10_000; // Slider positions across the whole flight
+    private static final double[] PLAYBACK_SPEEDS = {0.1, 0.25, 0.5, 1, 2, 5, 10, 50, 100, 1000};
+
     private JButton playButton, pauseButton, resetButton;
     private JComboBox<String> stageSelector;
     private JCheckBox darkModeCheckbox;
     private JLabel statusLabel;
+    private JProgressBar loadProgressBar;
+    private JButton cancelLoadButton;
+    private JComboBox<String> speedSelector;
+    private JCheckBox reverseCheckbox;
+    private JCheckBox filteredCheckbox;
+    private JCheckBox metricsCheckbox;
     private boolean isDarkMode = false;
 
+    // Scrub timeline; the slider works in steps, mapped linearly onto [scrubStart, scrubEnd]
+    private JSlider scrubSlider;
+    private JLabel scrubTimeLabel;
+    private long scrubStart, scrubEnd;
+    private boolean scrubUpdating; // Set while the position is changed from code
+    private final StringBuilder scrubText = new StringBuilder(16);
+    private final java.util.List<ChangeListener> scrubListeners = new java.util.ArrayList<>();
+
     public ControlsPanel() {
         setLayout(new FlowLayout());
         initializeComponents();
@@ -35,6 +55,18 @@ public class ControlsPanel extends UIComponent {
         add(pauseButton);
         add(resetButton);
 
+        // Playback speed relative to real time; reverse plays backwards at the same speed
+        String[] speedLabels = new String[PLAYBACK_SPEEDS.length];
+        for (int i = 0; i < PLAYBACK_SPEEDS.length; i++) {
+            speedLabels[i] = (PLAYBACK_SPEEDS[i] < 1 ? String.valueOf(PLAYBACK_SPEEDS[i]) : String.valueOf((int) PLAYBACK_SPEEDS[i])) + "×";
+        }
+        speedSelector = new JComboBox<>(speedLabels);
+        speedSelector.setSelectedItem("1×");
+        reverseCheckbox = new JCheckBox("Reverse");
+        add(new JLabel("Speed:"));
+        add(speedSelector);
+        add(reverseCheckbox);
+
         // Stage selector - only point events for jumping
         add(new JLabel("Jump to:"));
         stageSelector = new JComboBox<>(new String[]{
@@ -42,6 +74,30 @@ public class ControlsPanel extends UIComponent {
         });
         add(stageSelector);
 
+        // Scrub timeline, enabled once a flight is loaded
+        scrubSlider = new JSlider(0, SCRUB_STEPS, 0);
+        scrubSlider.setPreferredSize(new Dimension(250, scrubSlider.getPreferredSize().height));
+        scrubSlider.setEnabled(false);
+        scrubSlider.addChangeListener(e -> {
+            if (scrubUpdating) return;
+            updateScrubLabel(getScrubTimeNanos());
+            ChangeEvent event = new ChangeEvent(this);
+            for (ChangeListener listener : scrubListeners) {
+                listener.stateChanged(event);
+            }
+        });
+        scrubTimeLabel = new JLabel("--:--:--.---");
+        add(scrubSlider);
+        add(scrubTimeLabel);
+
+        // Raw or filtered channels; both are kept, so switching is instant
+        filteredCheckbox = new JCheckBox("Filtered");
+        add(filteredCheckbox);
+
+        // Frame-time overlay; also switches metrics recording on while shown
+        metricsCheckbox = new JCheckBox("Metrics");
+        add(metricsCheckbox);
+
         // Theme selector
         darkModeCheckbox = new JCheckBox("Dark Mode");
         add(darkModeCheckbox);
@@ -50,6 +106,15 @@ public class ControlsPanel extends UIComponent {
         statusLabel = new JLabel("Ready to load CSV");
         statusLabel.setForeground(Color.BLUE);
         add(statusLabel);
+
+        // Load progress, only visible while a file is loading
+        loadProgressBar = new JProgressBar(0, 100);
+        loadProgressBar.setStringPainted(true);
+        loadProgressBar.setVisible(false);
+        cancelLoadButton = new JButton("Cancel");
+        cancelLoadButton.setVisible(false);
+        add(loadProgressBar);
+        add(cancelLoadButton);
     }
 
     public void setPlayAction(ActionListener listener) {
@@ -72,6 +137,71 @@ public class ControlsPanel extends UIComponent {
         darkModeCheckbox.addActionListener(listener);
     }
 
+    public void setFilteredViewAction(ActionListener listener) {
+        filteredCheckbox.addActionListener(listener);
+    }
+
+    public void setMetricsOverlayAction(ActionListener listener) {
+        metricsCheckbox.addActionListener(listener);
+    }
+
+    public void setPlaybackSpeedAction(ActionListener listener) {
+        speedSelector.addActionListener(listener);
+        reverseCheckbox.addActionListener(listener);
+    }
+
+    public double getPlaybackSpeed() {
+        return PLAYBACK_SPEEDS[Math.max(0, speedSelector.getSelectedIndex())];
+    }
+
+    public boolean isPlaybackReversed() {
+        return reverseCheckbox.isSelected();
+    }
+
+    public void setCancelLoadAction(ActionListener listener) {
+        cancelLoadButton.addActionListener(listener);
+    }
+
+    // Called while the user drags the scrub slider, not when the position is set from code
+    public void setScrubAction(ChangeListener listener) {
+        scrubListeners.add(listener);
+    }
+
+    // Time range covered by the slider; an empty range disables it
+    public void setScrubRange(long startNanos, long endNanos) {
+        scrubStart = startNanos;
+        scrubEnd = Math.max(startNanos, endNanos);
+        scrubSlider.setEnabled(scrubEnd > scrubStart);
+        setScrubTime(startNanos);
+    }
+
+    public long getScrubTimeNanos() {
+        return scrubStart + Math.round((scrubEnd - scrubStart) * (scrubSlider.getValue() / (double) SCRUB_STEPS));
+    }
+
+    // Moves the slider to the given time without notifying scrub listeners
+    public void setScrubTime(long timestampNanos) {
+        int value = scrubEnd > scrubStart
+                ? (int) Math.round(SCRUB_STEPS * ((timestampNanos - scrubStart) / (double) (scrubEnd - scrubStart)))
+                : 0;
+        scrubUpdating = true;
+        try {
+            scrubSlider.setValue(Math.max(0, Math.min(SCRUB_STEPS, value)));
+        } finally {
+            scrubUpdating = false;
+        }
+        updateScrubLabel(timestampNanos);
+    }
+
+    private void updateScrubLabel(long timestampNanos) {
+        if (!scrubSlider.isEnabled()) {
+            scrubTimeLabel.setText("--:--:--.---");
+            return;
+        }
+        scrubText.setLength(0);
+        scrubTimeLabel.setText(TimestampFormat.appendTime(scrubText, timestampNanos).toString());
+    }
+
     public Stage getSelectedStage() {
         String selected = (String) stageSelector.getSelectedItem();
         switch (selected) {
@@ -83,6 +213,14 @@ public class ControlsPanel extends UIComponent {
         }
     }
 
+    public boolean isFilteredView() {
+        return filteredCheckbox.isSelected();
+    }
+
+    public boolean isMetricsOverlay() {
+        return metricsCheckbox.isSelected();
+    }
+
     public boolean isDarkMode() {
         return darkModeCheckbox.isSelected();
     }
@@ -91,6 +229,17 @@ public class ControlsPanel extends UIComponent {
         statusLabel.setText(status);
     }
 
+    public void setLoading(boolean loading) {
+        loadProgressBar.setValue(0);
+        loadProgressBar.setVisible(loading);
+        cancelLoadButton.setVisible(loading);
+        revalidate();
+    }
+
+    public void setLoadProgress(int percent) {
+        loadProgressBar.setValue(percent);
+    }
+
     @Override
     protected void updateTheme() {
         // Update component colors based on theme
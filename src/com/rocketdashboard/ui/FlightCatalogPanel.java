@@ -0,0 +1,260 @@
+package com.rocketdashboard.ui;
+
+import com.rocketdashboard.model.FlightQuery;
+import com.rocketdashboard.model.FlightSummary;
+import com.rocketdashboard.util.TimestampFormat;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Browser for the flight catalog: filters the summaries by apogee, anomaly and path as the
+// controls change, and opens the selected flight on double-click or Open. Filtering runs
+// over the summaries in memory; loading and refreshing the catalog is left to the owner.
+public class FlightCatalogPanel extends UIComponent {
+    private static final String ANY_ANOMALY = "Any";
+    private static final String NO_ANOMALY = "None";
+
+    private JButton addFolderButton, refreshButton, openButton;
+    private JTextField minApogeeField;
+    private JComboBox<String> anomalySelector;
+    private JTextField searchField;
+    private JLabel statusLabel;
+    private JTable table;
+    private final SummaryTableModel tableModel = new SummaryTableModel();
+
+    private List<FlightSummary> flights = List.of();
+    private List<String> anomalyRules = List.of();
+    private Consumer<FlightSummary> openListener;
+    private String status = "";
+
+    public FlightCatalogPanel() {
+        setLayout(new BorderLayout());
+        initializeComponents();
+    }
+
+    private void initializeComponents() {
+        JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        addFolderButton = new JButton("Add Folder...");
+        refreshButton = new JButton("Refresh");
+        minApogeeField = new JTextField(6);
+        anomalySelector = new JComboBox<>(new String[]{ANY_ANOMALY, NO_ANOMALY});
+        searchField = new JTextField(14);
+        filters.add(addFolderButton);
+        filters.add(refreshButton);
+        filters.add(new JLabel("Min apogee (m):"));
+        filters.add(minApogeeField);
+        filters.add(new JLabel("Anomaly:"));
+        filters.add(anomalySelector);
+        filters.add(new JLabel("Path:"));
+        filters.add(searchField);
+        add(filters, BorderLayout.NORTH);
+
+        table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getColumnModel().getColumn(SummaryTableModel.DATE_COLUMN).setCellRenderer(new DateRenderer());
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel bottom = new JPanel(new BorderLayout());
+        statusLabel = new JLabel(" ");
+        openButton = new JButton("Open");
+        openButton.addActionListener(e -> openSelected());
+        bottom.add(statusLabel, BorderLayout.CENTER);
+        bottom.add(openButton, BorderLayout.EAST);
+        add(bottom, BorderLayout.SOUTH);
+
+        DocumentListener refilter = new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { applyFilter(); }
+            @Override public void removeUpdate(DocumentEvent e) { applyFilter(); }
+            @Override public void changedUpdate(DocumentEvent e) { applyFilter(); }
+        };
+        minApogeeField.getDocument().addDocumentListener(refilter);
+        searchField.getDocument().addDocumentListener(refilter);
+        anomalySelector.addActionListener(e -> applyFilter());
+    }
+
+    public void setAddFolderAction(ActionListener listener) {
+        addFolderButton.addActionListener(listener);
+    }
+
+    public void setRefreshAction(ActionListener listener) {
+        refreshButton.addActionListener(listener);
+    }
+
+    public void setOpenAction(Consumer<FlightSummary> listener) {
+        this.openListener = listener;
+    }
+
+    // Bit i of a summary's anomaly flags stands for anomalyRules.get(i)
+    public void setFlights(List<FlightSummary> flights, List<String> anomalyRules) {
+        this.flights = List.copyOf(flights);
+        this.anomalyRules = List.copyOf(anomalyRules);
+
+        Object selected = anomalySelector.getSelectedItem();
+        DefaultComboBoxModel<String> choices = new DefaultComboBoxModel<>(new String[]{ANY_ANOMALY, NO_ANOMALY});
+        for (String rule : anomalyRules) {
+            choices.addElement(rule);
+        }
+        choices.setSelectedItem(selected != null && choices.getIndexOf(selected) >= 0 ? selected : ANY_ANOMALY);
+        anomalySelector.setModel(choices);
+        applyFilter();
+    }
+
+    public void setBusy(boolean busy) {
+        addFolderButton.setEnabled(!busy);
+        refreshButton.setEnabled(!busy);
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        statusLabel.setText(status);
+    }
+
+    // The query the controls describe; an unparseable apogee bound is ignored
+    public FlightQuery getQuery() {
+        double minApogee = Double.NaN;
+        String bound = minApogeeField.getText().trim();
+        if (!bound.isEmpty()) {
+            try {
+                minApogee = Double.parseDouble(bound);
+            } catch (NumberFormatException e) {
+                // Keep the bound open while the user is still typing
+            }
+        }
+        String anomaly = (String) anomalySelector.getSelectedItem();
+        int bit = anomalyRules.indexOf(anomaly);
+        return new FlightQuery(minApogee, Double.NaN, bit >= 0 ? 1L << bit : 0,
+                NO_ANOMALY.equals(anomaly), searchField.getText());
+    }
+
+    private void applyFilter() {
+        long start = System.nanoTime();
+        FlightQuery query = getQuery();
+        List<FlightSummary> matches = new ArrayList<>();
+        for (FlightSummary flight : flights) {
+            if (query.matches(flight)) {
+                matches.add(flight);
+            }
+        }
+        tableModel.setRows(matches, anomalyRules);
+        statusLabel.setText(String.format("%d of %d flights (%.1f ms)%s", matches.size(), flights.size(),
+                (System.nanoTime() - start) / 1e6, status.isEmpty() ? "" : " - " + status));
+    }
+
+    private void openSelected() {
+        int viewRow = table.getSelectedRow();
+        if (viewRow < 0 || openListener == null) return;
+        openListener.accept(tableModel.getRow(table.convertRowIndexToModel(viewRow)));
+    }
+
+    @Override
+    protected void updateTheme() {
+        if (table != null) {
+            table.setBackground(backgroundColor);
+            table.setForeground(textColor);
+        }
+    }
+
+    private static class SummaryTableModel extends AbstractTableModel {
+        static final int DATE_COLUMN = 1;
+        private static final String[] COLUMNS = {
+                "File", "Date", "Duration (s)", "Apogee (m)", "Max Velocity (m/s)", "Landing (s)", "Anomalies", "Weather"
+        };
+
+        private List<FlightSummary> rows = List.of();
+        private List<String> anomalyRules = List.of();
+
+        void setRows(List<FlightSummary> rows, List<String> anomalyRules) {
+            this.rows = rows;
+            this.anomalyRules = anomalyRules;
+            fireTableDataChanged();
+        }
+
+        FlightSummary getRow(int row) {
+            return rows.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return switch (column) {
+                case 1 -> Long.class;
+                case 2, 3, 4, 5 -> Double.class;
+                default -> String.class;
+            };
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            FlightSummary flight = rows.get(row);
+            return switch (column) {
+                case 0 -> String.valueOf(Path.of(flight.path()).getFileName());
+                case 1 -> flight.startNanos();
+                case 2 -> flight.durationSeconds();
+                case 3 -> flight.apogee();
+                case 4 -> flight.maxVelocity();
+                case 5 -> flight.landingSeconds();
+                case 6 -> anomalies(flight);
+                default -> Float.isNaN(flight.temperature()) ? ""
+                        : String.format("%.1f °C, %.0f km/h", flight.temperature(), flight.windSpeed());
+            };
+        }
+
+        private String anomalies(FlightSummary flight) {
+            StringBuilder names = new StringBuilder();
+            for (int bit = 0; bit < anomalyRules.size(); bit++) {
+                if ((flight.anomalyFlags() & (1L << bit)) != 0) {
+                    if (!names.isEmpty()) names.append(", ");
+                    names.append(anomalyRules.get(bit));
+                }
+            }
+            return names.toString();
+        }
+    }
+
+    private static class DateRenderer extends DefaultTableCellRenderer {
+        private final StringBuilder buffer = new StringBuilder(23);
+
+        @Override
+        protected void setValue(Object value) {
+            if (value instanceof Long) {
+                buffer.setLength(0);
+                setText(TimestampFormat.appendDateTime(buffer, (Long) value).toString());
+            } else {
+                super.setValue(value);
+            }
+        }
+    }
+}
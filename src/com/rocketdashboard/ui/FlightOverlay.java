@@ -0,0 +1,85 @@
+package com.rocketdashboard.ui;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.Flight;
+import com.rocketdashboard.model.FlightSet;
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.DecimationPyramid;
+import java.awt.Color;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Several flights prepared for drawing on one plot: time is measured from each flight's
+// LAUNCH event and both axes are shared. Building one scans every flight once (for the
+// altitude pyramids), so it is meant to be created off the EDT and then handed to
+// RocketAnimationPanel.setOverlay().
+public class FlightOverlay {
+    private final List<Trace> traces;
+    private final double startSeconds;
+    private final double endSeconds;
+    private final double maxAltitude;
+
+    public FlightOverlay(FlightSet flightSet) {
+        List<Flight> flights = flightSet.getFlights();
+        // Pyramids are independent, so build them in parallel
+        List<Trace> built = IntStream.range(0, flights.size()).parallel()
+                .filter(k -> !flights.get(k).getTelemetry().isEmpty())
+                .mapToObj(k -> createTrace(flights.get(k), k, flights.size()))
+                .toList();
+
+        double start = 0, end = 0, max = 0;
+        for (Trace trace : built) {
+            TelemetryFrame frame = trace.getFrame();
+            start = Math.min(start, trace.secondsSinceLaunch(0));
+            end = Math.max(end, trace.secondsSinceLaunch(frame.size() - 1));
+            max = Math.max(max, trace.pyramid.getMax());
+        }
+
+        this.traces = built;
+        this.startSeconds = start;
+        this.endSeconds = end > start ? end : start + 1;
+        this.maxAltitude = max > 0 ? max : 1.0;
+    }
+
+    private static Trace createTrace(Flight flight, int k, int count) {
+        TelemetryFrame frame = flight.getTelemetry();
+        int launchIndex = Math.max(0, flight.getStages().getIndex(Stage.LAUNCH));
+        return new Trace(Path.of(flight.getSourcePath()).getFileName().toString(),
+                Color.getHSBColor(k / (float) count, 0.85f, 0.9f),
+                new DecimationPyramid(frame, Channel.ALTITUDE),
+                frame.getTimestampNanos(launchIndex));
+    }
+
+    public List<Trace> getTraces() { return traces; }
+    public int getFlightCount() { return traces.size(); }
+    // Shared x axis, in seconds relative to launch
+    public double getStartSeconds() { return startSeconds; }
+    public double getEndSeconds() { return endSeconds; }
+    // Shared y axis
+    public double getMaxAltitude() { return maxAltitude; }
+
+    public static class Trace {
+        private final String label;
+        private final Color color;
+        private final DecimationPyramid pyramid;
+        private final long launchNanos;
+
+        Trace(String label, Color color, DecimationPyramid pyramid, long launchNanos) {
+            this.label = label;
+            this.color = color;
+            this.pyramid = pyramid;
+            this.launchNanos = launchNanos;
+        }
+
+        public String getLabel() { return label; }
+        public Color getColor() { return color; }
+        public TelemetryFrame getFrame() { return pyramid.getFrame(); }
+        DecimationPyramid getPyramid() { return pyramid; }
+
+        public double secondsSinceLaunch(int index) {
+            return (pyramid.getFrame().getTimestampNanos(index) - launchNanos) / 1e9;
+        }
+    }
+}
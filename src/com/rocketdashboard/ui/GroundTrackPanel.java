@@ -0,0 +1,458 @@
+package com.rocketdashboard.ui;
+
+import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.FixedPointFormat;
+import com.rocketdashboard.util.GroundTrack;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+// Map of the flight's GPS track seen from above, north up, from launch to landing, with the
+// drift between them. Fixes are projected once per flight (see GroundTrack); the track, grid
+// and markers are drawn into a cached layer at a level of detail matching the zoom, so
+// playback only moves the rocket's dot over it.
+public class GroundTrackPanel extends UIComponent {
+    private static final Stroke TRACK_STROKE = new BasicStroke(2);
+    private static final Stroke DRIFT_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+            10, new float[]{6, 4}, 0);
+    private static final Stroke MARKER_STROKE = new BasicStroke(1);
+    private static final Color TRACK_COLOR = new Color(0, 90, 255);
+    private static final Color GRID_COLOR = new Color(128, 128, 128, 80);
+    private static final Color LAUNCH_COLOR = new Color(0, 200, 0);
+    private static final Color LANDING_COLOR = new Color(255, 0, 0);
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final int MARGIN = 40; // px around the fitted track
+    private static final int ROCKET_RADIUS = 6;
+    private static final int MARKER_RADIUS = 7;
+    private static final int CULL_PADDING = 4; // px outside the panel where segments still count
+    private static final int HOP_CELL = 2; // px, the track's width
+    private static final int HOP_REACH = 3; // Cells either way a hop is remembered for, 7 x 7 bits
+    private static final double ZOOM_STEP = 1.25; // Per wheel notch
+    private static final double MIN_METRES_PER_PIXEL = 0.01;
+    private static final double MIN_FIT_EXTENT = 50; // m, so a track standing still is not blown up
+
+    private TelemetryFrame telemetryData;
+    private StageTimeline stages;
+    private GroundTrack track; // Built off the EDT by the caller, or grown by appendTelemetryData
+    private boolean trackGrown; // Projected here from a growing frame, so it may be appended to
+    private int currentIndex;
+    private int dotX, dotY; // Where the rocket's dot was last drawn, to repaint just that area
+    private boolean dotVisible;
+
+    // View: the map point at the panel's centre and the scale. Fitted to the track until the
+    // user zooms or pans.
+    private boolean viewFitted = true;
+    private double centerEast, centerNorth, metresPerPixel = 1;
+    private Point dragOrigin;
+    private double dragCenterEast, dragCenterNorth;
+
+    private BufferedImage trackLayer;
+    private boolean trackLayerValid;
+    private final StringBuilder labelText = new StringBuilder(64);
+
+    public GroundTrackPanel() {
+        setPreferredSize(new Dimension(800, 600));
+        setLayout(new FlowLayout(FlowLayout.RIGHT));
+        JButton fitButton = new JButton("Fit to Track");
+        fitButton.addActionListener(e -> fitToTrack());
+        add(fitButton);
+
+        MouseAdapter mouseHandler = new MouseHandler();
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+    }
+
+    // The flight to show. Its track comes through setGroundTrack, built off the EDT; until then
+    // a track of the same flight already shown (e.g. a progressive load's partial one) stays.
+    public void setTelemetryData(TelemetryFrame telemetryData, StageTimeline stages) {
+        // A frame that grows (progressive load, live telemetry) keeps the user's view
+        if (!isSameFlight(telemetryData)) {
+            track = null;
+            viewFitted = true;
+        }
+        this.telemetryData = telemetryData;
+        this.stages = stages;
+        this.currentIndex = 0;
+        trackGrown = false;
+        invalidateTrackLayer();
+    }
+
+    // The projected fixes of the frame last given to setTelemetryData; ignored once superseded
+    public void setGroundTrack(GroundTrack track) {
+        if (track.getFrame() != telemetryData) {
+            return;
+        }
+        this.track = track;
+        trackGrown = false;
+        invalidateTrackLayer();
+    }
+
+    // A frame that has grown since the last call (live telemetry, a progressive load): only
+    // the new fixes are projected, and the dot follows the newest sample
+    public void appendTelemetryData(TelemetryFrame grown, StageTimeline stages) {
+        if (trackGrown && isSameFlight(grown)) {
+            track.append(grown);
+        } else {
+            if (!isSameFlight(grown)) viewFitted = true;
+            track = new GroundTrack(grown);
+            trackGrown = true;
+        }
+        telemetryData = grown;
+        this.stages = stages;
+        currentIndex = Math.max(0, grown.size() - 1);
+        invalidateTrackLayer();
+    }
+
+    private boolean isSameFlight(TelemetryFrame frame) {
+        return telemetryData != null && frame != null && !frame.isEmpty() && !telemetryData.isEmpty()
+                && frame.size() >= telemetryData.size()
+                && frame.getTimestampNanos(0) == telemetryData.getTimestampNanos(0);
+    }
+
+    // Moves the rocket's dot to a sample chosen elsewhere (playback, slider, table)
+    public void setCurrentIndex(int index) {
+        if (telemetryData == null || index < 0 || index >= telemetryData.size() || index == currentIndex) {
+            return;
+        }
+        currentIndex = index;
+        if (track == null) {
+            return; // Placed when the track is built
+        }
+        int oldX = dotX, oldY = dotY;
+        boolean wasVisible = dotVisible;
+        placeDot();
+        if (wasVisible) repaintDot(oldX, oldY);
+        if (dotVisible) repaintDot(dotX, dotY);
+    }
+
+    public void fitToTrack() {
+        viewFitted = true;
+        invalidateTrackLayer();
+    }
+
+    private void invalidateTrackLayer() {
+        trackLayerValid = false;
+        repaint();
+    }
+
+    private void repaintDot(int x, int y) {
+        repaint(x - ROCKET_RADIUS - 1, y - ROCKET_RADIUS - 1, 2 * ROCKET_RADIUS + 3, 2 * ROCKET_RADIUS + 3);
+    }
+
+    private void fitView() {
+        if (track == null || track.isEmpty()) {
+            centerEast = centerNorth = 0;
+            metresPerPixel = 1;
+            return;
+        }
+        double width = Math.max(track.getMaxEast() - track.getMinEast(), MIN_FIT_EXTENT);
+        double height = Math.max(track.getMaxNorth() - track.getMinNorth(), MIN_FIT_EXTENT);
+        centerEast = (track.getMinEast() + track.getMaxEast()) / 2.0;
+        centerNorth = (track.getMinNorth() + track.getMaxNorth()) / 2.0;
+        metresPerPixel = Math.max(width / Math.max(1, getWidth() - 2 * MARGIN),
+                height / Math.max(1, getHeight() - 2 * MARGIN));
+    }
+
+    // Map coordinates (metres east and north of the first fix) to panel coordinates and back
+    private double eastToX(double east) {
+        return getWidth() / 2.0 + (east - centerEast) / metresPerPixel;
+    }
+
+    private double northToY(double north) {
+        return getHeight() / 2.0 - (north - centerNorth) / metresPerPixel;
+    }
+
+    private double xToEast(double x) {
+        return centerEast + (x - getWidth() / 2.0) * metresPerPixel;
+    }
+
+    private double yToNorth(double y) {
+        return centerNorth - (y - getHeight() / 2.0) * metresPerPixel;
+    }
+
+    private void zoomAt(int x, int y, double factor) {
+        double east = xToEast(x), north = yToNorth(y);
+        metresPerPixel = Math.max(MIN_METRES_PER_PIXEL, metresPerPixel * factor);
+        // Keep the point under the pointer where it is
+        centerEast = east - (x - getWidth() / 2.0) * metresPerPixel;
+        centerNorth = north + (y - getHeight() / 2.0) * metresPerPixel;
+        viewFitted = false;
+        invalidateTrackLayer();
+    }
+
+    private void placeDot() {
+        dotVisible = false;
+        if (track == null || track.isEmpty() || currentIndex >= track.size()) return;
+        float east = track.getEast(currentIndex), north = track.getNorth(currentIndex);
+        if (Float.isNaN(east) || Float.isNaN(north)) return;
+        dotX = (int) Math.round(eastToX(east));
+        dotY = (int) Math.round(northToY(north));
+        dotVisible = true;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        if (!trackLayerValid || trackLayer.getWidth() != getWidth() || trackLayer.getHeight() != getHeight()) {
+            renderTrackLayer();
+        }
+
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.drawImage(trackLayer, 0, 0, null);
+        if (dotVisible) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(Color.RED);
+            g2d.fillOval(dotX - ROCKET_RADIUS, dotY - ROCKET_RADIUS, 2 * ROCKET_RADIUS, 2 * ROCKET_RADIUS);
+            g2d.setColor(textColor);
+            g2d.drawOval(dotX - ROCKET_RADIUS, dotY - ROCKET_RADIUS, 2 * ROCKET_RADIUS, 2 * ROCKET_RADIUS);
+        }
+    }
+
+    private void renderTrackLayer() {
+        int width = getWidth(), height = getHeight();
+        if (trackLayer == null || trackLayer.getWidth() != width || trackLayer.getHeight() != height) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            trackLayer = config != null ? config.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        if (viewFitted) {
+            fitView();
+        }
+
+        Graphics2D g2d = trackLayer.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(backgroundColor);
+            g2d.fillRect(0, 0, width, height);
+            g2d.setFont(LABEL_FONT);
+
+            if (track == null || track.isEmpty()) {
+                g2d.setColor(textColor);
+                boolean projecting = track == null && telemetryData != null && !telemetryData.isEmpty();
+                g2d.drawString(projecting ? "Projecting GPS fixes..." : "No GPS fixes", 10, 20);
+            } else {
+                drawGrid(g2d);
+                drawTrack(g2d);
+                drawMarkers(g2d);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        placeDot();
+        trackLayerValid = true;
+    }
+
+    // Grid lines at a round distance apart, about 100 px on screen, with the spacing as scale
+    private void drawGrid(Graphics2D g2d) {
+        double spacing = roundDistance(100 * metresPerPixel);
+        g2d.setColor(GRID_COLOR);
+        for (double east = Math.ceil(xToEast(0) / spacing) * spacing; east <= xToEast(getWidth()); east += spacing) {
+            int x = (int) eastToX(east);
+            g2d.drawLine(x, 0, x, getHeight());
+        }
+        for (double north = Math.ceil(yToNorth(getHeight()) / spacing) * spacing; north <= yToNorth(0); north += spacing) {
+            int y = (int) northToY(north);
+            g2d.drawLine(0, y, getWidth(), y);
+        }
+
+        g2d.setColor(textColor);
+        appendDistance(labelText.append("Grid: "), spacing);
+        g2d.drawString(labelText.toString(), 10, getHeight() - 10);
+        labelText.setLength(0);
+        g2d.drawString("N ↑", 10, 20);
+    }
+
+    // 1, 2 or 5 times a power of ten, at least the given distance
+    private static double roundDistance(double metres) {
+        double power = Math.pow(10, Math.floor(Math.log10(metres)));
+        for (double step : new double[]{1, 2, 5}) {
+            if (step * power >= metres) return step * power;
+        }
+        return 10 * power;
+    }
+
+    // Only segments that cross the panel are added, and the path is built on a grid of cells
+    // the stroke's width: a fix in the cell the path last reached is held back until the track
+    // moves on, and a hop between nearby cells already drawn is skipped. A noisy cloud of fixes,
+    // such as the wait on the pad, then costs about one segment per hop it covers on screen,
+    // and the path scales with the area the track covers rather than with the fix count.
+    private void drawTrack(Graphics2D g2d) {
+        int level = track.getLevel(metresPerPixel);
+        int[] fixes = track.getFixes(level);
+        int kept = track.getFixCount(level), lastFix = track.getLastFix();
+        // Closed with the last fix when the level has not kept it
+        int count = fixes != null && fixes[kept - 1] != lastFix ? kept + 1 : kept;
+        int columns = getWidth() / HOP_CELL + 1, rows = getHeight() / HOP_CELL + 1;
+        long[] hops = new long[columns * rows]; // Per cell, a bit per nearby cell a hop was drawn to
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 1024);
+        float left = -CULL_PADDING, top = -CULL_PADDING;
+        float right = getWidth() + CULL_PADDING, bottom = getHeight() + CULL_PADDING;
+
+        boolean havePrevious = false, penDown = false, pending = false;
+        float previousX = 0, previousY = 0, drawnX = 0, drawnY = 0;
+        int drawnColumn = 0, drawnRow = 0;
+        for (int k = 0; k < count; k++) {
+            int i = fixes == null ? k : k < kept ? fixes[k] : lastFix;
+            float east = track.getEast(i), north = track.getNorth(i);
+            if (Float.isNaN(east) || Float.isNaN(north)) {
+                if (pending) path.lineTo(previousX, previousY);
+                havePrevious = penDown = pending = false;
+                continue;
+            }
+            float x = (float) eastToX(east), y = (float) northToY(north);
+            if (havePrevious && Math.max(previousX, x) >= left && Math.min(previousX, x) <= right
+                    && Math.max(previousY, y) >= top && Math.min(previousY, y) <= bottom) {
+                if (!penDown) {
+                    path.moveTo(previousX, previousY);
+                    drawnX = previousX;
+                    drawnY = previousY;
+                    drawnColumn = (int) Math.floor(drawnX / HOP_CELL);
+                    drawnRow = (int) Math.floor(drawnY / HOP_CELL);
+                    penDown = true;
+                }
+                int column = (int) Math.floor(x / HOP_CELL), row = (int) Math.floor(y / HOP_CELL);
+                int dx = column - drawnColumn, dy = row - drawnRow;
+                if (dx == 0 && dy == 0) {
+                    pending = true;
+                } else {
+                    boolean nearby = Math.abs(dx) <= HOP_REACH && Math.abs(dy) <= HOP_REACH
+                            && drawnColumn >= 0 && drawnColumn < columns && drawnRow >= 0 && drawnRow < rows
+                            && column >= 0 && column < columns && row >= 0 && row < rows;
+                    if (nearby && (hops[drawnRow * columns + drawnColumn] & hopBit(dx, dy)) != 0) {
+                        path.moveTo(x, y);
+                    } else {
+                        if (nearby) {
+                            hops[drawnRow * columns + drawnColumn] |= hopBit(dx, dy);
+                            hops[row * columns + column] |= hopBit(-dx, -dy);
+                        }
+                        if (pending) path.lineTo(drawnX, drawnY);
+                        path.lineTo(x, y);
+                    }
+                    drawnX = x;
+                    drawnY = y;
+                    drawnColumn = column;
+                    drawnRow = row;
+                    pending = false;
+                }
+            } else {
+                if (pending) path.lineTo(previousX, previousY);
+                penDown = pending = false;
+            }
+            previousX = x;
+            previousY = y;
+            havePrevious = true;
+        }
+        if (pending) path.lineTo(previousX, previousY);
+
+        g2d.setColor(TRACK_COLOR);
+        g2d.setStroke(TRACK_STROKE);
+        g2d.draw(path);
+    }
+
+    private static long hopBit(int dx, int dy) {
+        return 1L << ((dy + HOP_REACH) * (2 * HOP_REACH + 1) + dx + HOP_REACH);
+    }
+
+    // Launch and landing (the first and last fix without those stages), and the drift between them
+    private void drawMarkers(Graphics2D g2d) {
+        int launch = fixAt(Stage.LAUNCH, track.getFirstFix());
+        int landing = fixAt(Stage.LANDING, track.getLastFix());
+        int launchX = (int) eastToX(track.getEast(launch)), launchY = (int) northToY(track.getNorth(launch));
+        int landingX = (int) eastToX(track.getEast(landing)), landingY = (int) northToY(track.getNorth(landing));
+
+        g2d.setColor(textColor);
+        g2d.setStroke(DRIFT_STROKE);
+        g2d.drawLine(launchX, launchY, landingX, landingY);
+
+        drawMarker(g2d, launchX, launchY, LAUNCH_COLOR, Stage.LAUNCH.getDisplayName());
+        drawMarker(g2d, landingX, landingY, LANDING_COLOR, Stage.LANDING.getDisplayName());
+
+        double east = track.getEast(landing) - track.getEast(launch);
+        double north = track.getNorth(landing) - track.getNorth(launch);
+        double bearing = (Math.toDegrees(Math.atan2(east, north)) + 360) % 360;
+        appendDistance(labelText.append("Drift: "), Math.hypot(east, north)).append(", bearing ");
+        FixedPointFormat.appendFixed(labelText, bearing, 0).append('°');
+        g2d.setColor(textColor);
+        g2d.drawString(labelText.toString(), 10, 40);
+        labelText.setLength(0);
+    }
+
+    private void drawMarker(Graphics2D g2d, int x, int y, Color color, String label) {
+        g2d.setColor(color);
+        g2d.fillOval(x - MARKER_RADIUS, y - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(MARKER_STROKE);
+        g2d.drawOval(x - MARKER_RADIUS, y - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
+        g2d.setColor(textColor);
+        g2d.drawString(label, x + MARKER_RADIUS + 4, y - MARKER_RADIUS);
+    }
+
+    // Index of the stage's sample when it has a fix, otherwise the fallback
+    private int fixAt(Stage stage, int fallback) {
+        int index = stages != null && stages.contains(stage) ? stages.getIndex(stage) : -1;
+        if (index < 0 || index >= track.size()
+                || Float.isNaN(track.getEast(index)) || Float.isNaN(track.getNorth(index))) {
+            return fallback;
+        }
+        return index;
+    }
+
+    private static StringBuilder appendDistance(StringBuilder text, double metres) {
+        if (metres >= 1000) {
+            return FixedPointFormat.appendFixed(text, metres / 1000, 2).append(" km");
+        }
+        return FixedPointFormat.appendFixed(text, metres, metres >= 10 ? 0 : 2).append(" m");
+    }
+
+    // Wheel zooms around the pointer, dragging pans and a double-click fits the track
+    private class MouseHandler extends MouseAdapter {
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (track == null || track.isEmpty()) return;
+            zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, e.getPreciseWheelRotation()));
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            if (!SwingUtilities.isLeftMouseButton(e)) return;
+            dragOrigin = e.getPoint();
+            dragCenterEast = centerEast;
+            dragCenterNorth = centerNorth;
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (dragOrigin == null || track == null || track.isEmpty()) return;
+            centerEast = dragCenterEast - (e.getX() - dragOrigin.x) * metresPerPixel;
+            centerNorth = dragCenterNorth + (e.getY() - dragOrigin.y) * metresPerPixel;
+            viewFitted = false;
+            setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+            invalidateTrackLayer();
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            dragOrigin = null;
+            setCursor(Cursor.getDefaultCursor());
+        }
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (e.getClickCount() == 2 && SwingUtilities.isLeftMouseButton(e)) {
+                fitToTrack();
+            }
+        }
+    }
+
+    @Override
+    protected void updateTheme() {
+        invalidateTrackLayer();
+    }
+}
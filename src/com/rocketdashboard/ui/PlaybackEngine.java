@@ -0,0 +1,149 @@
+package com.rocketdashboard.ui;
+
+import javax.swing.Timer;
+
+// Maps wall-clock time onto flight time. Each frame computes the flight time from the
+// elapsed System.nanoTime() since the last anchor (play, seek or speed change), so
+// playback speed is independent of the sample rate and of how late frames arrive; a
+// negative direction plays backwards. Runs on the EDT via a Swing timer.
+public class PlaybackEngine {
+    public static final double MIN_SPEED = 0.1;
+    public static final double MAX_SPEED = 1000;
+    public static final int TARGET_FRAME_RATE = 60;
+
+    private static final long FRAME_RATE_WINDOW_NANOS = 500_000_000L;
+
+    public interface FrameListener {
+        // Called once per frame with the flight time to show; playing is false on the last frame
+        void onFrame(long flightTimeNanos, boolean playing);
+    }
+
+    private final FrameListener listener;
+    private final Timer timer;
+
+    private long startNanos, endNanos;
+    private double speed = 1.0;
+    private boolean reverse;
+    private long position;
+
+    // Flight time `anchorPosition` was shown at wall time `anchorWall`
+    private long anchorWall;
+    private long anchorPosition;
+
+    // Frames counted over a short window to report the achieved rate
+    private long frameWindowStart;
+    private int framesInWindow;
+    private double frameRate;
+
+    public PlaybackEngine(FrameListener listener) {
+        this.listener = listener;
+        this.timer = new Timer(1000 / TARGET_FRAME_RATE, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    // Stops playback and rewinds to the start of the new range
+    public void setRange(long startNanos, long endNanos) {
+        pause();
+        this.startNanos = startNanos;
+        this.endNanos = Math.max(startNanos, endNanos);
+        this.position = reverse ? this.endNanos : startNanos;
+    }
+
+    public void play() {
+        if (timer.isRunning() || endNanos == startNanos) return;
+
+        // Restart from the far end when play is pressed at the end of the flight
+        if (!reverse && position >= endNanos) position = startNanos;
+        if (reverse && position <= startNanos) position = endNanos;
+
+        anchor(System.nanoTime());
+        frameWindowStart = anchorWall;
+        framesInWindow = 0;
+        timer.start();
+    }
+
+    public void pause() {
+        if (!timer.isRunning()) return;
+        position = positionAt(System.nanoTime());
+        timer.stop();
+        frameRate = 0;
+    }
+
+    public boolean isPlaying() {
+        return timer.isRunning();
+    }
+
+    // Jumps to a flight time; playback, if running, continues from there
+    public void seek(long flightTimeNanos) {
+        position = clamp(flightTimeNanos);
+        anchor(System.nanoTime());
+    }
+
+    public long getPosition() {
+        return timer.isRunning() ? positionAt(System.nanoTime()) : position;
+    }
+
+    // Speed factor, clamped to [MIN_SPEED, MAX_SPEED]; takes effect without a jump
+    public void setSpeed(double speed) {
+        rebase();
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setReverse(boolean reverse) {
+        rebase();
+        this.reverse = reverse;
+    }
+
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    // Frames actually delivered per second while playing
+    public double getFrameRate() {
+        return frameRate;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        position = positionAt(now);
+        boolean finished = reverse ? position <= startNanos : position >= endNanos;
+        if (finished) {
+            timer.stop();
+        }
+
+        framesInWindow++;
+        if (now - frameWindowStart >= FRAME_RATE_WINDOW_NANOS) {
+            frameRate = framesInWindow * 1e9 / (now - frameWindowStart);
+            frameWindowStart = now;
+            framesInWindow = 0;
+        }
+
+        listener.onFrame(position, !finished);
+    }
+
+    private void rebase() {
+        if (timer.isRunning()) {
+            long now = System.nanoTime();
+            position = positionAt(now);
+            anchor(now);
+        }
+    }
+
+    private void anchor(long wallNanos) {
+        anchorWall = wallNanos;
+        anchorPosition = position;
+    }
+
+    private long positionAt(long wallNanos) {
+        double elapsed = (wallNanos - anchorWall) * speed;
+        return clamp(anchorPosition + (long) (reverse ? -elapsed : elapsed));
+    }
+
+    private long clamp(long flightTimeNanos) {
+        return Math.max(startNanos, Math.min(endNanos, flightTimeNanos));
+    }
+}
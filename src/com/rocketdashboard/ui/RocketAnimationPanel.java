@@ -1,28 +1,112 @@
 package com.rocketdashboard.ui;
 
-import com.rocketdashboard.model.TelemetryData;
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.TelemetryFrame;
 import com.rocketdashboard.model.Stage;
+import com.rocketdashboard.model.StageTimeline;
+import com.rocketdashboard.util.DecimationPyramid;
+import com.rocketdashboard.util.FixedPointFormat;
+import com.rocketdashboard.util.LatencyHistogram;
+import com.rocketdashboard.util.MathUtils;
+import com.rocketdashboard.util.Metrics;
+import com.rocketdashboard.util.TimeIndex;
+import com.rocketdashboard.util.TimestampFormat;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 public class RocketAnimationPanel extends UIComponent {
-    private List<TelemetryData> telemetryData;
-    private Map<Stage, List<TelemetryData>> stages;
+    private static final Stroke TRAJECTORY_STROKE = new BasicStroke(2);
+    private static final int LEGEND_ROWS = 20;
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final int SPRITE_WIDTH = 30, SPRITE_HEIGHT = 50;
+    // HUD text area in the top-left corner, six lines 20 px apart
+    private static final int HUD_WIDTH = 320, HUD_HEIGHT = 130;
+    // Frame-time overlay in the bottom-right corner, two lines
+    private static final int METRICS_WIDTH = 300, METRICS_HEIGHT = 50;
+    private static final Color METRICS_BACKGROUND = new Color(0, 0, 0, 160);
+    private static final int METRICS_REFRESH_MILLIS = 500;
+    // Viewport limits and mouse handling
+    private static final double ZOOM_STEP = 1.25; // Per wheel notch
+    private static final double MIN_VIEW_SAMPLES = 10;
+    private static final double MIN_VIEW_ALTITUDE = 1.0; // m
+    private static final int HOVER_RADIUS = 12; // px from a sample to show it
+    private static final int MARKER_RADIUS = 8;
+
+    // Point events in marker order, with their marker colors
+    private static final Stage[] POINT_EVENTS = {Stage.LAUNCH, Stage.APOGEE, Stage.PARACHUTE_DEPLOYED, Stage.LANDING};
+    private static final Color[] STAGE_COLORS = {
+            new Color(0, 255, 0),      // GREEN - Launch
+            new Color(255, 255, 0),    // YELLOW - Apogee
+            new Color(255, 165, 0),    // ORANGE - Parachute Deployed
+            new Color(255, 0, 0)       // RED - Landing
+    };
+
+    private TelemetryFrame telemetryData;
+    private StageTimeline stages;
     private int currentIndex = 0;
-    private Timer animationTimer;
     private double rocketX, rocketY;
+    private int spriteX, spriteY; // Where the sprite was last placed, to repaint just that area
     private Image rocketImage;
 
+    // Built once per flight
+    private DecimationPyramid altitudePyramid;
+    private int[] decimatedIndices = new int[0];
+
+    // Comparison mode: several launch-aligned flights instead of one animated flight
+    private FlightOverlay overlay;
+
+    // Background, trajectory (or overlay) and markers, rendered once and blitted every frame.
+    // Rebuilt only when the size, theme or data changes.
+    private BufferedImage staticLayer;
+    private boolean staticLayerValid;
+
+    // Reused for every HUD line
+    private final StringBuilder hudText = new StringBuilder(64);
+    private char[] hudChars = new char[64];
+
+    // Playback runs on flight time; the rocket is drawn between samples
+    private final PlaybackEngine playback = new PlaybackEngine(this::showFlightTime);
+    private TimeIndex timeIndex;
+    private double currentPosition; // Fractional sample index of the rocket
+    private double currentAltitude; // Interpolated altitude at currentPosition
+
+    // Paint and EDT latency readout; refreshed on a timer so it stays live while paused
+    private boolean metricsOverlay;
+    private final Timer metricsTimer = new Timer(METRICS_REFRESH_MILLIS, e -> repaintMetricsOverlay());
+
+    // Told about every move made by the panel itself (playback, jump to stage)
+    private IntConsumer positionListener;
+
     // Store marker positions to avoid overlap
     private Map<Stage, Point> markerPositions = new java.util.HashMap<>();
 
+    // Visible part of the flight: sample index across, altitude up. Fitted to the whole flight
+    // until the user zooms or pans; a double-click fits it again.
+    private boolean viewFitted = true;
+    private double viewStart, viewEnd, viewBottom, viewTop;
+    private Point dragOrigin;
+    private double dragViewStart, dragViewBottom;
+
+    // Sample under the mouse, found through the altitude pyramid; -1 for none
+    private int hoveredIndex = -1;
+    private Point hoveredPoint;
+
     public RocketAnimationPanel() {
         setPreferredSize(new Dimension(800, 600));
         loadRocketImage();
+        MouseAdapter mouseHandler = new MouseHandler();
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+        ToolTipManager.sharedInstance().registerComponent(this);
     }
 
     private void loadRocketImage() {
@@ -54,77 +138,243 @@ public class RocketAnimationPanel extends UIComponent {
         return image;
     }
 
-    public void setTelemetryData(List<TelemetryData> telemetryData, Map<Stage, List<TelemetryData>> stages) {
+    public void setTelemetryData(TelemetryFrame telemetryData, StageTimeline stages) {
+        // A frame that grows (progressive load, live telemetry) keeps the user's view
+        boolean sameFlight = isSameFlight(telemetryData);
+        this.overlay = null;
         this.telemetryData = telemetryData;
         this.stages = stages;
         this.currentIndex = 0;
         this.markerPositions.clear(); // Clear previous positions
+        this.altitudePyramid = telemetryData != null ? new DecimationPyramid(telemetryData, Channel.ALTITUDE) : null;
+        this.timeIndex = telemetryData != null ? new TimeIndex(telemetryData) : null;
+        if (timeIndex != null) {
+            playback.setRange(timeIndex.getStartNanos(), timeIndex.getEndNanos());
+        } else {
+            playback.setRange(0, 0);
+        }
 
         if (telemetryData != null && !telemetryData.isEmpty()) {
-            updateRocketPosition();
-            calculateMarkerPositions(); // Pre-calculate marker positions
+            moveToSample(0);
+        }
+        if (!sameFlight) {
+            viewFitted = true;
         }
+        fitViewIfFitted();
+        viewChanged();
+    }
+
+    // A frame that has grown since the last call (live telemetry, a progressive load): the
+    // pyramid and time index take in only the new samples, and the rocket follows the newest
+    public void appendTelemetryData(TelemetryFrame grown, StageTimeline stages) {
+        if (overlay != null || !isSameFlight(grown)) {
+            setTelemetryData(grown, stages);
+        } else {
+            this.telemetryData = grown;
+            this.stages = stages;
+            this.markerPositions.clear();
+            altitudePyramid.append(grown);
+            timeIndex.append(grown);
+            playback.setRange(timeIndex.getStartNanos(), timeIndex.getEndNanos());
+            fitViewIfFitted();
+            viewChanged();
+        }
+        if (!grown.isEmpty()) {
+            moveToSample(grown.size() - 1);
+            playback.seek(grown.getTimestampNanos(grown.size() - 1));
+        }
+    }
+
+    private boolean isSameFlight(TelemetryFrame frame) {
+        return telemetryData != null && frame != null && !frame.isEmpty() && !telemetryData.isEmpty()
+                && frame.size() >= telemetryData.size()
+                && frame.getTimestampNanos(0) == telemetryData.getTimestampNanos(0);
+    }
+
+    public void setMetricsOverlay(boolean show) {
+        metricsOverlay = show;
+        if (show) {
+            metricsTimer.start();
+        } else {
+            metricsTimer.stop();
+        }
+        repaintMetricsOverlay();
+    }
+
+    private void repaintMetricsOverlay() {
+        repaint(getWidth() - METRICS_WIDTH, getHeight() - METRICS_HEIGHT, METRICS_WIDTH, METRICS_HEIGHT);
+    }
+
+    // Switches to comparison mode; setTelemetryData() switches back
+    public void setOverlay(FlightOverlay overlay) {
+        pauseAnimation();
+        setTelemetryData(null, null);
+        this.overlay = overlay;
+        invalidateStaticLayer();
+    }
+
+    private void invalidateStaticLayer() {
+        staticLayerValid = false;
         repaint();
     }
 
+    // Marker and rocket positions depend on the panel size and view, so they are placed here too
+    private void renderStaticLayer() {
+        int width = getWidth(), height = getHeight();
+        hoveredPoint = null; // The size may have changed under the mouse
+        if (staticLayer == null || staticLayer.getWidth() != width || staticLayer.getHeight() != height) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            staticLayer = config != null ? config.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        Graphics2D g2d = staticLayer.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(backgroundColor);
+            g2d.fillRect(0, 0, width, height);
+
+            if (overlay != null) {
+                drawOverlay(g2d);
+            } else {
+                calculateMarkerPositions();
+                drawTrajectory(g2d);
+                drawStageMarkers(g2d);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        updateRocketPosition();
+        staticLayerValid = true;
+    }
+
     private void calculateMarkerPositions() {
         if (stages == null || telemetryData == null) return;
 
         markerPositions.clear();
-        double maxAltitude = getMaxAltitude();
 
-        for (Map.Entry<Stage, List<TelemetryData>> entry : stages.entrySet()) {
-            if (!entry.getValue().isEmpty()) {
-                // Use the middle point of each stage for better distribution
-                int middleIndex = entry.getValue().size() / 2;
-                TelemetryData markerData = entry.getValue().get(middleIndex);
-                int dataIndex = telemetryData.indexOf(markerData);
+        for (Stage stage : stages.getStages()) {
+            // Use the middle point of each stage for better distribution
+            int dataIndex = stages.getMarkerIndex(stage);
 
-                if (dataIndex >= 0) {
-                    double x = getWidth() * 0.1 + (getWidth() * 0.8) * (dataIndex / (double)telemetryData.size());
-                    double y = getHeight() - (getHeight() * 0.1) - (getHeight() * 0.8) * (markerData.getAltitude() / maxAltitude);
+            if (dataIndex >= 0 && dataIndex < telemetryData.size()) {
+                double x = indexToX(dataIndex);
+                double y = altitudeToPlotY(telemetryData.getAltitude(dataIndex));
 
-                    markerPositions.put(entry.getKey(), new Point((int)x, (int)y));
+                if (isInPlot(x, y)) {
+                    markerPositions.put(stage, new Point((int)x, (int)y));
                 }
             }
         }
     }
 
     public void startAnimation() {
-        if (animationTimer != null && animationTimer.isRunning()) {
-            return;
-        }
-
         if (telemetryData != null && !telemetryData.isEmpty()) {
-            animationTimer = new Timer(100, e -> {
-                if (currentIndex < telemetryData.size() - 1) {
-                    currentIndex++;
-                    updateRocketPosition();
-                    repaint();
-                } else {
-                    animationTimer.stop();
-                }
-            });
-            animationTimer.start();
+            playback.play();
         }
     }
 
     public void pauseAnimation() {
-        if (animationTimer != null) {
-            animationTimer.stop();
-        }
+        playback.pause();
+    }
+
+    // Speed factor relative to real time, see PlaybackEngine.MIN_SPEED and MAX_SPEED
+    public void setPlaybackSpeed(double speed) {
+        playback.setSpeed(speed);
+    }
+
+    public void setPlaybackReverse(boolean reverse) {
+        playback.setReverse(reverse);
+    }
+
+    public double getFrameRate() {
+        return playback.getFrameRate();
     }
 
     public void setStage(Stage stage) {
-        if (stages != null && stages.containsKey(stage) && telemetryData != null) {
-            List<TelemetryData> stageData = stages.get(stage);
-            if (!stageData.isEmpty()) {
-                // Jump to the beginning of the stage
-                currentIndex = telemetryData.indexOf(stageData.get(0));
-                updateRocketPosition();
-                repaint();
+        if (stages != null && stages.contains(stage) && telemetryData != null) {
+            // Jump to the beginning of the stage
+            moveToSample(stages.getIndex(stage));
+            playback.seek(telemetryData.getTimestampNanos(currentIndex));
+            repaintMovingParts();
+            firePositionChanged();
+        }
+    }
+
+    public void setPositionListener(IntConsumer listener) {
+        this.positionListener = listener;
+    }
+
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    // Moves the rocket to a sample chosen elsewhere (scrub slider, table); does not notify the listener
+    public void setCurrentIndex(int index) {
+        if (telemetryData == null || index < 0 || index >= telemetryData.size()) {
+            return;
+        }
+        moveToSample(index);
+        playback.seek(telemetryData.getTimestampNanos(index));
+        repaintMovingParts();
+    }
+
+    private void moveToSample(int index) {
+        currentIndex = index;
+        currentPosition = index;
+        currentAltitude = telemetryData.getAltitude(index);
+    }
+
+    // Only the sprite (old and new place) and the HUD change between frames; the rest of
+    // the panel is copied back from the static layer
+    private void repaintMovingParts() {
+        int oldX = spriteX, oldY = spriteY;
+        updateRocketPosition();
+        repaint(oldX, oldY, SPRITE_WIDTH, SPRITE_HEIGHT);
+        repaint(spriteX, spriteY, SPRITE_WIDTH, SPRITE_HEIGHT);
+        repaint(0, 0, HUD_WIDTH, HUD_HEIGHT);
+    }
+
+    // Playback frame: places the rocket at the flight time, smoothing between samples with
+    // a parabola through the three nearest samples
+    private void showFlightTime(long flightTimeNanos, boolean playing) {
+        if (timeIndex == null || telemetryData.isEmpty()) return;
+
+        int index = timeIndex.floorIndex(flightTimeNanos);
+        int size = telemetryData.size();
+        long sampleTime = telemetryData.getTimestampNanos(index);
+        double fraction = 0;
+        double altitude = telemetryData.getAltitude(index);
+
+        if (index + 1 < size && flightTimeNanos > sampleTime) {
+            long nextTime = telemetryData.getTimestampNanos(index + 1);
+            fraction = Math.min(1.0, (flightTimeNanos - sampleTime) / (double) (nextTime - sampleTime));
+            if (size >= 3) {
+                int first = Math.max(0, Math.min(index - 1, size - 3));
+                long middleTime = telemetryData.getTimestampNanos(first + 1);
+                altitude = MathUtils.parabolicInterpolation((flightTimeNanos - middleTime) / 1e9,
+                        (telemetryData.getTimestampNanos(first) - middleTime) / 1e9, telemetryData.getAltitude(first),
+                        0.0, telemetryData.getAltitude(first + 1),
+                        (telemetryData.getTimestampNanos(first + 2) - middleTime) / 1e9, telemetryData.getAltitude(first + 2));
+            } else {
+                altitude += fraction * (telemetryData.getAltitude(index + 1) - altitude);
             }
         }
+
+        currentPosition = index + fraction;
+        currentAltitude = altitude;
+        repaintMovingParts();
+
+        if (index != currentIndex) {
+            currentIndex = index;
+            firePositionChanged();
+        }
+    }
+
+    private void firePositionChanged() {
+        if (positionListener != null) {
+            positionListener.accept(currentIndex);
+        }
     }
 
     private void updateRocketPosition() {
@@ -132,102 +382,387 @@ public class RocketAnimationPanel extends UIComponent {
             return;
         }
 
-        TelemetryData current = telemetryData.get(currentIndex);
-        double maxAltitude = getMaxAltitude();
-
         // Convert to panel coordinates
-        double normalizedAlt = current.getAltitude() / maxAltitude;
-        rocketX = getWidth() * 0.1 + (getWidth() * 0.8) * (currentIndex / (double)telemetryData.size());
-        rocketY = getHeight() - (getHeight() * 0.1) - (getHeight() * 0.8) * normalizedAlt;
+        rocketX = indexToX(currentPosition);
+        rocketY = altitudeToPlotY(currentAltitude);
+        spriteX = (int) rocketX - SPRITE_WIDTH / 2;
+        spriteY = (int) rocketY - SPRITE_HEIGHT / 2;
     }
 
     private double getMaxAltitude() {
         if (telemetryData == null || telemetryData.isEmpty()) {
             return 1.0;
         }
-        double max = 0;
-        for (TelemetryData data : telemetryData) {
-            if (data.getAltitude() > max) {
-                max = data.getAltitude();
+        double max = altitudePyramid != null ? altitudePyramid.getMax() : 0;
+        return max > 0 ? max : 1.0;
+    }
+
+    private void fitViewIfFitted() {
+        if (!viewFitted) {
+            clampView();
+            return;
+        }
+        viewStart = 0;
+        viewEnd = telemetryData != null ? Math.max(1, telemetryData.size()) : 1;
+        viewBottom = 0;
+        viewTop = getMaxAltitude();
+    }
+
+    // Keeps the view inside the whole-flight view, shifting it rather than shrinking it
+    private void clampView() {
+        double samples = telemetryData != null ? Math.max(1, telemetryData.size()) : 1;
+        double span = Math.min(viewEnd - viewStart, samples);
+        viewStart = Math.max(0, Math.min(viewStart, samples - span));
+        viewEnd = viewStart + span;
+
+        double maxAltitude = getMaxAltitude();
+        double height = Math.min(viewTop - viewBottom, maxAltitude);
+        viewBottom = Math.max(0, Math.min(viewBottom, maxAltitude - height));
+        viewTop = viewBottom + height;
+    }
+
+    // Scales the view by factor (< 1 zooms in) around the flight point under (x, y)
+    private void zoomAt(int x, int y, double factor) {
+        double index = xToIndex(x), altitude = yToAltitude(y);
+        double samples = Math.max(1, telemetryData.size());
+        double span = Math.max(MIN_VIEW_SAMPLES, Math.min(samples, (viewEnd - viewStart) * factor));
+        double height = Math.max(MIN_VIEW_ALTITUDE, Math.min(getMaxAltitude(), (viewTop - viewBottom) * factor));
+
+        viewStart = index - (index - viewStart) * span / (viewEnd - viewStart);
+        viewEnd = viewStart + span;
+        viewBottom = altitude - (altitude - viewBottom) * height / (viewTop - viewBottom);
+        viewTop = viewBottom + height;
+        viewFitted = span >= samples && height >= getMaxAltitude();
+        fitViewIfFitted();
+        viewChanged();
+    }
+
+    // Also after new data: the hovered sample is looked up again on the next move
+    private void viewChanged() {
+        hoveredPoint = null;
+        hoveredIndex = -1;
+        invalidateStaticLayer();
+    }
+
+    // Flight coordinates to panel coordinates and back; the plot covers the middle 80%
+    private double indexToX(double index) {
+        return getWidth() * 0.1 + (getWidth() * 0.8) * ((index - viewStart) / (viewEnd - viewStart));
+    }
+
+    private double altitudeToPlotY(double altitude) {
+        return getHeight() - (getHeight() * 0.1) - (getHeight() * 0.8) * ((altitude - viewBottom) / (viewTop - viewBottom));
+    }
+
+    private double xToIndex(double x) {
+        return viewStart + (x - getWidth() * 0.1) / (getWidth() * 0.8) * (viewEnd - viewStart);
+    }
+
+    private double yToAltitude(double y) {
+        return viewBottom + (getHeight() - getHeight() * 0.1 - y) / (getHeight() * 0.8) * (viewTop - viewBottom);
+    }
+
+    private boolean isInPlot(double x, double y) {
+        return x >= getWidth() * 0.1 - 1 && x <= getWidth() * 0.9 + 1
+                && y >= getHeight() * 0.1 - 1 && y <= getHeight() * 0.9 + 1;
+    }
+
+    // Nearest visible sample within HOVER_RADIUS of the point, or -1. The pyramid measures
+    // distance in pixels, so this is O(log n) however many samples a pixel covers.
+    private int sampleAt(Point point) {
+        if (overlay != null || telemetryData == null || telemetryData.isEmpty() || altitudePyramid == null
+                || !isInPlot(point.x, point.y)) {
+            return -1;
+        }
+        if (point.equals(hoveredPoint)) {
+            return hoveredIndex;
+        }
+        int from = (int) Math.floor(viewStart);
+        int to = (int) Math.ceil(viewEnd) + 1;
+        double xScale = getWidth() * 0.8 / (viewEnd - viewStart);
+        double yScale = getHeight() * 0.8 / (viewTop - viewBottom);
+        int index = altitudePyramid.nearest(from, to, xToIndex(point.x), yToAltitude(point.y), xScale, yScale);
+        if (index < 0) {
+            return -1;
+        }
+        double dx = indexToX(index) - point.x;
+        double dy = altitudeToPlotY(telemetryData.getAltitude(index)) - point.y;
+        return dx * dx + dy * dy <= HOVER_RADIUS * HOVER_RADIUS ? index : -1;
+    }
+
+    private void setHoveredIndex(int index) {
+        if (index == hoveredIndex) return;
+        repaintHoveredSample();
+        hoveredIndex = index;
+        repaintHoveredSample();
+    }
+
+    private void repaintHoveredSample() {
+        if (hoveredIndex < 0 || telemetryData == null || hoveredIndex >= telemetryData.size()) return;
+        int x = (int) indexToX(hoveredIndex);
+        int y = (int) altitudeToPlotY(telemetryData.getAltitude(hoveredIndex));
+        repaint(x - MARKER_RADIUS, y - MARKER_RADIUS, 2 * MARKER_RADIUS + 1, 2 * MARKER_RADIUS + 1);
+    }
+
+    private void drawHoveredSample(Graphics2D g2d) {
+        if (hoveredIndex < 0 || telemetryData == null || hoveredIndex >= telemetryData.size()) return;
+        int x = (int) indexToX(hoveredIndex);
+        int y = (int) altitudeToPlotY(telemetryData.getAltitude(hoveredIndex));
+        g2d.setColor(textColor);
+        g2d.drawOval(x - 5, y - 5, 10, 10);
+    }
+
+    // Stage marker drawn at the point, or null
+    private Stage stageAt(Point point) {
+        for (Stage stage : POINT_EVENTS) {
+            Point marker = markerPositions.get(stage);
+            if (marker != null && marker.distanceSq(point) <= MARKER_RADIUS * MARKER_RADIUS) {
+                return stage;
             }
         }
-        return max > 0 ? max : 1.0;
+        return null;
     }
 
+    // Values of the sample under the mouse, asked for by the tooltip manager on every move
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    public String getToolTipText(MouseEvent event) {
+        int index = sampleAt(event.getPoint());
+        if (index < 0) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder("<html>");
+        text.append("Sample ").append(index + 1).append('/').append(telemetryData.size()).append("<br>");
+        TimestampFormat.appendTime(text.append("Time: "), telemetryData.getTimestampNanos(index)).append("<br>");
+        FixedPointFormat.appendFixed(text.append("Altitude: "), telemetryData.getAltitude(index), 1).append(" m<br>");
+        FixedPointFormat.appendFixed(text.append("Velocity: "), telemetryData.getVelocity(index), 1).append(" m/s<br>");
+        FixedPointFormat.appendFixed(text.append("Acceleration: "), telemetryData.getAcceleration(index), 1).append(" m/s²<br>");
+        FixedPointFormat.appendFixed(text.append("Position: "), telemetryData.getLatitude(index), 5).append(", ");
+        FixedPointFormat.appendFixed(text, telemetryData.getLongitude(index), 5);
+        return text.append("</html>").toString();
+    }
+
+    // Wheel zooms around the pointer, dragging pans, a double-click fits the whole flight and
+    // a click on a stage marker jumps playback there
+    private class MouseHandler extends MouseAdapter {
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (overlay != null || telemetryData == null || telemetryData.isEmpty()) return;
+            zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, e.getPreciseWheelRotation()));
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            if (!SwingUtilities.isLeftMouseButton(e)) return;
+            dragOrigin = e.getPoint();
+            dragViewStart = viewStart;
+            dragViewBottom = viewBottom;
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (dragOrigin == null || overlay != null || telemetryData == null || viewFitted) return;
+            double span = viewEnd - viewStart, height = viewTop - viewBottom;
+            viewStart = dragViewStart - (e.getX() - dragOrigin.x) / (getWidth() * 0.8) * span;
+            viewEnd = viewStart + span;
+            viewBottom = dragViewBottom + (e.getY() - dragOrigin.y) / (getHeight() * 0.8) * height;
+            viewTop = viewBottom + height;
+            clampView();
+            setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+            viewChanged();
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            dragOrigin = null;
+            setCursor(Cursor.getDefaultCursor());
+        }
 
-        // Draw background
-        g2d.setColor(backgroundColor);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (overlay != null || telemetryData == null || !SwingUtilities.isLeftMouseButton(e)) return;
+            if (e.getClickCount() == 2) {
+                viewFitted = true;
+                fitViewIfFitted();
+                viewChanged();
+                return;
+            }
+            Stage stage = stageAt(e.getPoint());
+            if (stage != null) {
+                setStage(stage);
+            }
+        }
 
-        // Draw trajectory
-        drawTrajectory(g2d);
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            int index = sampleAt(e.getPoint());
+            hoveredPoint = e.getPoint();
+            setHoveredIndex(index);
+            setCursor(stageAt(e.getPoint()) != null ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            hoveredPoint = null;
+            setHoveredIndex(-1);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        long start = Metrics.start();
+        if (!staticLayerValid || staticLayer.getWidth() != getWidth() || staticLayer.getHeight() != getHeight()) {
+            renderStaticLayer();
+        }
 
-        // Draw stage markers
-        drawStageMarkers(g2d);
+        // The static layer is opaque and covers the whole panel, so no background fill is needed
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.drawImage(staticLayer, 0, 0, null);
+        if (overlay == null) {
+            // Draw rocket
+            if (rocketImage != null && telemetryData != null && !telemetryData.isEmpty() && isInPlot(rocketX, rocketY)) {
+                g2d.drawImage(rocketImage, spriteX, spriteY, null);
+            }
+            drawHoveredSample(g2d);
 
-        // Draw rocket
-        if (rocketImage != null && telemetryData != null && !telemetryData.isEmpty()) {
-            g2d.drawImage(rocketImage, (int)rocketX - 15, (int)rocketY - 25, null);
+            // Draw info
+            drawInfo(g2d);
         }
 
-        // Draw info
-        drawInfo(g2d);
+        if (metricsOverlay) {
+            drawMetrics(g2d);
+        }
+        Metrics.stop(Metrics.PAINT, start);
     }
 
     private void drawTrajectory(Graphics2D g2d) {
         if (telemetryData == null || telemetryData.isEmpty()) return;
 
-        Path2D path = new Path2D.Double();
-        double maxAltitude = getMaxAltitude();
+        g2d.setColor(Color.BLUE);
+        g2d.setStroke(TRAJECTORY_STROKE);
+        Shape clip = g2d.getClip();
+        g2d.clipRect((int) (getWidth() * 0.1), (int) (getHeight() * 0.1), (int) Math.ceil(getWidth() * 0.8), (int) Math.ceil(getHeight() * 0.8));
+        g2d.draw(buildTrajectoryPath());
+        g2d.setClip(clip);
+    }
 
-        for (int i = 0; i < telemetryData.size(); i++) {
-            TelemetryData data = telemetryData.get(i);
-            double x = getWidth() * 0.1 + (getWidth() * 0.8) * (i / (double)telemetryData.size());
-            double y = getHeight() - (getHeight() * 0.1) - (getHeight() * 0.8) * (data.getAltitude() / maxAltitude);
+    // At most two samples (min and max altitude) per pixel column of the plot area, over the
+    // visible samples and the one just outside on each side
+    private Path2D buildTrajectoryPath() {
+        int columns = Math.max(1, (int) (getWidth() * 0.8));
+        if (decimatedIndices.length < 2 * columns) {
+            decimatedIndices = new int[2 * columns];
+        }
+        int from = Math.max(0, (int) Math.floor(viewStart) - 1);
+        int to = Math.min(telemetryData.size(), (int) Math.ceil(viewEnd) + 1);
+        int count = altitudePyramid.decimate(from, to, columns, decimatedIndices);
+
+        Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, count);
+
+        for (int k = 0; k < count; k++) {
+            int i = decimatedIndices[k];
+            double x = indexToX(i);
+            double y = altitudeToPlotY(telemetryData.getAltitude(i));
 
-            if (i == 0) {
+            if (k == 0) {
                 path.moveTo(x, y);
             } else {
                 path.lineTo(x, y);
             }
         }
+        return path;
+    }
 
-        g2d.setColor(Color.BLUE);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.draw(path);
+    private void drawOverlay(Graphics2D g2d) {
+        Path2D[] overlayPaths = buildOverlayPaths();
+
+        // Axes: ground line and launch (T+0) line
+        g2d.setColor(Color.GRAY);
+        int groundY = (int) altitudeToY(0, overlay.getMaxAltitude());
+        int launchX = (int) secondsToX(0);
+        g2d.drawLine((int) (getWidth() * 0.1), groundY, (int) (getWidth() * 0.9), groundY);
+        g2d.drawLine(launchX, (int) (getHeight() * 0.1), launchX, groundY);
+
+        g2d.setStroke(TRAJECTORY_STROKE);
+        List<FlightOverlay.Trace> traces = overlay.getTraces();
+        for (int k = 0; k < traces.size(); k++) {
+            g2d.setColor(traces.get(k).getColor());
+            g2d.draw(overlayPaths[k]);
+        }
+
+        g2d.setColor(textColor);
+        g2d.drawString(String.format("T%+.0f s", overlay.getStartSeconds()), (int) (getWidth() * 0.1), groundY + 15);
+        g2d.drawString(String.format("T%+.0f s", overlay.getEndSeconds()), (int) (getWidth() * 0.9) - 40, groundY + 15);
+        g2d.drawString(String.format("%.0f m", overlay.getMaxAltitude()), 5, (int) (getHeight() * 0.1));
+        g2d.drawString("Comparing " + traces.size() + " flights, aligned on launch", 10, 20);
+
+        // Legend, capped so dozens of flights do not cover the plot
+        int shown = Math.min(traces.size(), LEGEND_ROWS);
+        int legendX = getWidth() - 200;
+        for (int k = 0; k < shown; k++) {
+            int y = 20 + k * 15;
+            g2d.setColor(traces.get(k).getColor());
+            g2d.fillRect(legendX, y - 9, 10, 10);
+            g2d.setColor(textColor);
+            g2d.drawString(traces.get(k).getLabel(), legendX + 15, y);
+        }
+        if (traces.size() > shown) {
+            g2d.drawString("+" + (traces.size() - shown) + " more", legendX + 15, 20 + shown * 15);
+        }
     }
 
-    // In the drawStageMarkers method, update the stage order and colors:
-    private void drawStageMarkers(Graphics2D g2d) {
-        if (markerPositions.isEmpty()) return;
+    // Each flight gets at most two samples per pixel column it spans
+    private Path2D[] buildOverlayPaths() {
+        List<FlightOverlay.Trace> traces = overlay.getTraces();
+        Path2D[] paths = new Path2D[traces.size()];
+        for (int k = 0; k < traces.size(); k++) {
+            FlightOverlay.Trace trace = traces.get(k);
+            TelemetryFrame frame = trace.getFrame();
+            double left = secondsToX(trace.secondsSinceLaunch(0));
+            double right = secondsToX(trace.secondsSinceLaunch(frame.size() - 1));
+            int columns = Math.max(1, (int) (right - left));
+            if (decimatedIndices.length < 2 * columns) {
+                decimatedIndices = new int[2 * columns];
+            }
+            int count = trace.getPyramid().decimate(0, frame.size(), columns, decimatedIndices);
+
+            Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, count);
+            for (int j = 0; j < count; j++) {
+                int i = decimatedIndices[j];
+                double x = secondsToX(trace.secondsSinceLaunch(i));
+                double y = altitudeToY(frame.getAltitude(i), overlay.getMaxAltitude());
+                if (j == 0) {
+                    path.moveTo(x, y);
+                } else {
+                    path.lineTo(x, y);
+                }
+            }
+            paths[k] = path;
+        }
+        return paths;
+    }
 
-        Color[] stageColors = {
-                new Color(0, 255, 0),      // GREEN - Launch
-                new Color(255, 255, 0),    // YELLOW - Apogee
-                new Color(255, 165, 0),    // ORANGE - Parachute Deployed
-                new Color(255, 0, 0),      // RED - Landing
-                new Color(0, 0, 255),      // BLUE - Ascent (range)
-                new Color(128, 0, 128)     // PURPLE - Descent (range)
-        };
+    private double secondsToX(double seconds) {
+        double span = overlay.getEndSeconds() - overlay.getStartSeconds();
+        return getWidth() * 0.1 + (getWidth() * 0.8) * ((seconds - overlay.getStartSeconds()) / span);
+    }
 
-        // Draw point events first
-        Stage[] pointEvents = {Stage.LAUNCH, Stage.APOGEE, Stage.PARACHUTE_DEPLOYED, Stage.LANDING};
+    private double altitudeToY(double altitude, double maxAltitude) {
+        return getHeight() - (getHeight() * 0.1) - (getHeight() * 0.8) * (altitude / maxAltitude);
+    }
+
+    private void drawStageMarkers(Graphics2D g2d) {
+        if (markerPositions.isEmpty()) return;
 
         int colorIndex = 0;
-        for (Stage stage : pointEvents) {
+        for (Stage stage : POINT_EVENTS) {
             if (markerPositions.containsKey(stage)) {
                 Point pos = markerPositions.get(stage);
 
                 // Draw larger marker for point events
-                g2d.setColor(stageColors[colorIndex]);
-                g2d.fillOval(pos.x - 8, pos.y - 8, 16, 16);
+                g2d.setColor(STAGE_COLORS[colorIndex]);
+                g2d.fillOval(pos.x - MARKER_RADIUS, pos.y - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
                 g2d.setColor(Color.BLACK);
-                g2d.drawOval(pos.x - 8, pos.y - 8, 16, 16);
+                g2d.drawOval(pos.x - MARKER_RADIUS, pos.y - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
 
                 // Draw label
                 g2d.setColor(textColor);
@@ -237,24 +772,75 @@ public class RocketAnimationPanel extends UIComponent {
             }
         }
     }
+
+    // Builds each line in hudText and draws it from a reused char array, so a frame
+    // allocates nothing for the HUD
     private void drawInfo(Graphics2D g2d) {
         if (telemetryData != null && currentIndex < telemetryData.size()) {
-            TelemetryData current = telemetryData.get(currentIndex);
             g2d.setColor(textColor);
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
+            g2d.setFont(HUD_FONT);
+
+            TimestampFormat.appendTime(hudText.append("Time: "), telemetryData.getTimestampNanos(currentIndex));
+            drawHudLine(g2d, 20);
+            FixedPointFormat.appendFixed(hudText.append("Altitude: "), currentAltitude, 1).append(" m");
+            drawHudLine(g2d, 40);
+            FixedPointFormat.appendFixed(hudText.append("Velocity: "), telemetryData.getVelocity(currentIndex), 1).append(" m/s");
+            drawHudLine(g2d, 60);
+            FixedPointFormat.appendFixed(hudText.append("Acceleration: "), telemetryData.getAcceleration(currentIndex), 1).append(" m/s²");
+            drawHudLine(g2d, 80);
+            hudText.append("Progress: ").append(currentIndex + 1).append('/').append(telemetryData.size()).append(" (");
+            FixedPointFormat.appendFixed(hudText, (currentIndex + 1) * 100.0 / telemetryData.size(), 1).append("%)");
+            drawHudLine(g2d, 100);
+            if (playback.isPlaying()) {
+                hudText.append("Playback: ").append(playback.isReverse() ? "-" : "");
+                FixedPointFormat.appendFixed(hudText, playback.getSpeed(), 1).append("x, ");
+                FixedPointFormat.appendFixed(hudText, playback.getFrameRate(), 0).append(" fps");
+                drawHudLine(g2d, 120);
+            }
+        }
+    }
 
-            g2d.drawString(String.format("Time: %s", current.getTimestamp().toLocalTime()), 10, 20);
-            g2d.drawString(String.format("Altitude: %.1f m", current.getAltitude()), 10, 40);
-            g2d.drawString(String.format("Velocity: %.1f m/s", current.getVelocity()), 10, 60);
-            g2d.drawString(String.format("Acceleration: %.1f m/s²", current.getAcceleration()), 10, 80);
-            g2d.drawString(String.format("Progress: %d/%d (%.1f%%)",
-                    currentIndex + 1, telemetryData.size(),
-                    (currentIndex + 1) * 100.0 / telemetryData.size()), 10, 100);
+    // The paint time shown is the previous frame's, since this one is still being drawn
+    private void drawMetrics(Graphics2D g2d) {
+        int left = getWidth() - METRICS_WIDTH, top = getHeight() - METRICS_HEIGHT;
+        g2d.setColor(METRICS_BACKGROUND);
+        g2d.fillRect(left, top, METRICS_WIDTH, METRICS_HEIGHT);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(HUD_FONT);
+
+        if (!Metrics.isEnabled()) {
+            hudText.append("Metrics off");
+            drawHudLine(g2d, left + 10, top + 20);
+            return;
         }
+        appendLatency(hudText.append("Frame: "), Metrics.PAINT);
+        drawHudLine(g2d, left + 10, top + 20);
+        appendLatency(hudText.append("EDT wait: "), Metrics.EDT_LATENCY);
+        drawHudLine(g2d, left + 10, top + 40);
+    }
+
+    private static void appendLatency(StringBuilder text, LatencyHistogram histogram) {
+        FixedPointFormat.appendFixed(text, histogram.getLastNanos() / 1e6, 1).append(" ms, p99 ");
+        FixedPointFormat.appendFixed(text, histogram.getPercentileNanos(99) / 1e6, 1).append(", max ");
+        FixedPointFormat.appendFixed(text, histogram.getMaxNanos() / 1e6, 1);
+    }
+
+    private void drawHudLine(Graphics2D g2d, int y) {
+        drawHudLine(g2d, 10, y);
+    }
+
+    private void drawHudLine(Graphics2D g2d, int x, int y) {
+        int length = hudText.length();
+        if (hudChars.length < length) {
+            hudChars = new char[2 * length];
+        }
+        hudText.getChars(0, length, hudChars, 0);
+        hudText.setLength(0);
+        g2d.drawChars(hudChars, 0, length, x, y);
     }
 
     @Override
     protected void updateTheme() {
-        repaint();
+        invalidateStaticLayer();
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.rocketdashboard.ui;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.TelemetryFrame;
+import javax.swing.table.AbstractTableModel;
+
+// Read-only table model that serves cells straight from a TelemetryFrame. Nothing is
+// copied or formatted up front; JTable only asks for the rows it is painting.
+public class TelemetryTableModel extends AbstractTableModel {
+    static final int TIMESTAMP_COLUMN = 0;
+    static final int RECOVERY_COLUMN = 6;
+
+    private static final String[] COLUMNS = {
+            "Timestamp", "Altitude (m)", "Velocity (m/s)", "Acceleration (m/s²)", "Latitude", "Longitude", "Recovery"
+    };
+    private static final Channel[] COLUMN_CHANNELS = {
+            null, Channel.ALTITUDE, Channel.VELOCITY, Channel.ACCELERATION, Channel.LATITUDE, Channel.LONGITUDE, null
+    };
+
+    private TelemetryFrame frame = TelemetryFrame.empty();
+
+    public void setFrame(TelemetryFrame frame) {
+        this.frame = frame != null ? frame : TelemetryFrame.empty();
+        fireTableDataChanged();
+    }
+
+    // Swaps in a longer frame that starts with the current rows, e.g. while a file is still
+    // loading, and only announces the new rows
+    public void extendFrame(TelemetryFrame grown) {
+        int oldSize = frame.size();
+        if (grown == null || grown.size() < oldSize) {
+            setFrame(grown);
+            return;
+        }
+        frame = grown;
+        if (grown.size() > oldSize) {
+            fireTableRowsInserted(oldSize, grown.size() - 1);
+        }
+    }
+
+    public TelemetryFrame getFrame() {
+        return frame;
+    }
+
+    @Override
+    public int getRowCount() {
+        return frame.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        if (column == TIMESTAMP_COLUMN) return Long.class;
+        if (column == RECOVERY_COLUMN) return Boolean.class;
+        return Double.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    // Typed values keep sorting numeric; the panel's renderers do the formatting
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == TIMESTAMP_COLUMN) return frame.getTimestampNanos(row);
+        if (column == RECOVERY_COLUMN) return frame.isRecoveryDeployed(row);
+        return frame.get(COLUMN_CHANNELS[column], row);
+    }
+}
@@ -1,14 +1,20 @@
 package com.rocketdashboard.ui;
 
-import com.rocketdashboard.model.TelemetryData;
+import com.rocketdashboard.model.TelemetryFrame;
+import com.rocketdashboard.util.TimestampFormat;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
-import java.util.List;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.util.function.IntConsumer;
 
 public class TelemetryTablePanel extends UIComponent {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private TelemetryTableModel tableModel;
+    private IntConsumer rowSelectionListener;
+    private boolean selectingRow; // Set while the selection is changed from code
 
     public TelemetryTablePanel() {
         setLayout(new BorderLayout());
@@ -17,39 +23,62 @@ public class TelemetryTablePanel extends UIComponent {
 
     private void initializeTable() {
         // Create table model
-        String[] columns = {"Timestamp", "Altitude (m)", "Velocity (m/s)", "Acceleration (m/s²)", "Latitude", "Longitude", "Recovery"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new TelemetryTableModel();
 
         table = new JTable(tableModel);
         table.setAutoCreateRowSorter(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int viewRow = table.getSelectedRow();
+            if (selectingRow || rowSelectionListener == null || viewRow < 0) return;
+            rowSelectionListener.accept(table.convertRowIndexToModel(viewRow));
+        });
+
+        // One renderer per column, each reusing its own formatter and buffer
+        table.getColumnModel().getColumn(TelemetryTableModel.TIMESTAMP_COLUMN).setCellRenderer(new TimestampRenderer());
+        table.getColumnModel().getColumn(1).setCellRenderer(new NumberRenderer("0.00"));
+        table.getColumnModel().getColumn(2).setCellRenderer(new NumberRenderer("0.00"));
+        table.getColumnModel().getColumn(3).setCellRenderer(new NumberRenderer("0.00"));
+        table.getColumnModel().getColumn(4).setCellRenderer(new NumberRenderer("0.000000"));
+        table.getColumnModel().getColumn(5).setCellRenderer(new NumberRenderer("0.000000"));
+        table.getColumnModel().getColumn(TelemetryTableModel.RECOVERY_COLUMN).setCellRenderer(new RecoveryRenderer());
 
         JScrollPane scrollPane = new JScrollPane(table);
         add(scrollPane, BorderLayout.CENTER);
     }
 
-    public void setTelemetryData(List<TelemetryData> telemetryData) {
-        tableModel.setRowCount(0);
-
-        if (telemetryData != null) {
-            for (TelemetryData data : telemetryData) {
-                tableModel.addRow(new Object[]{
-                        data.getTimestamp().toString(),
-                        String.format("%.2f", data.getAltitude()),
-                        String.format("%.2f", data.getVelocity()),
-                        String.format("%.2f", data.getAcceleration()),
-                        String.format("%.6f", data.getLatitude()),
-                        String.format("%.6f", data.getLongitude()),
-                        data.isRecoveryDeployed() ? "DEPLOYED" : "Not Deployed"
-                });
-            }
+    // Called with the sample index when the user selects a row
+    public void setRowSelectionAction(IntConsumer listener) {
+        this.rowSelectionListener = listener;
+    }
+
+    // Selects and scrolls to a sample; does not notify the row selection listener
+    public void selectRow(int sampleIndex) {
+        if (sampleIndex < 0 || sampleIndex >= tableModel.getRowCount()) {
+            return;
+        }
+        int viewRow = table.convertRowIndexToView(sampleIndex);
+        if (viewRow < 0) {
+            return;
+        }
+        selectingRow = true;
+        try {
+            table.setRowSelectionInterval(viewRow, viewRow);
+            table.scrollRectToVisible(table.getCellRect(viewRow, 0, true));
+        } finally {
+            selectingRow = false;
         }
     }
 
+    public void setTelemetryData(TelemetryFrame telemetryData) {
+        tableModel.setFrame(telemetryData);
+    }
+
+    // Progressive loading: the new frame must begin with the rows already shown
+    public void appendTelemetryData(TelemetryFrame telemetryData) {
+        tableModel.extendFrame(telemetryData);
+    }
+
     @Override
     protected void updateTheme() {
         if (table != null) {
@@ -58,4 +87,47 @@ public class TelemetryTablePanel extends UIComponent {
             table.setGridColor(Color.GRAY);
         }
     }
-}
\ No newline at end of file
+
+    private static class NumberRenderer extends DefaultTableCellRenderer {
+        private final DecimalFormat format;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+
+        NumberRenderer(String pattern) {
+            format = new DecimalFormat(pattern);
+            format.setRoundingMode(RoundingMode.HALF_UP);
+            setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            if (value instanceof Double) {
+                buffer.setLength(0);
+                setText(format.format((double) (Double) value, buffer, position).toString());
+            } else {
+                super.setValue(value);
+            }
+        }
+    }
+
+    private static class TimestampRenderer extends DefaultTableCellRenderer {
+        private final StringBuilder buffer = new StringBuilder(23);
+
+        @Override
+        protected void setValue(Object value) {
+            if (value instanceof Long) {
+                buffer.setLength(0);
+                setText(TimestampFormat.appendDateTime(buffer, (Long) value).toString());
+            } else {
+                super.setValue(value);
+            }
+        }
+    }
+
+    private static class RecoveryRenderer extends DefaultTableCellRenderer {
+        @Override
+        protected void setValue(Object value) {
+            setText(Boolean.TRUE.equals(value) ? "DEPLOYED" : "Not Deployed");
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.rocketdashboard.util;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.Arrays;
+
+// Multi-resolution min/max summary of one channel, built once per flight. Level 0 holds
+// the min and max (with their sample indices) of every BASE_BUCKET samples and each
+// level above merges pairs of buckets, so the extent of any index range can be found
+// from O(log n) buckets. Renderers use it to reduce a flight to at most two samples per
+// pixel column without touching every sample. The buckets are also bounding boxes in
+// (sample index, value) space, which makes the pyramid a spatial index for hit-testing.
+// A growing frame (live telemetry) is extended with append(), which rebuilds only the
+// buckets the new samples fall into: O(new samples + log n).
+public class DecimationPyramid {
+    static final int BASE_BUCKET = 32;
+    private static final int MAX_LEVELS = 32;
+
+    private TelemetryFrame frame;
+    private final Channel channel;
+    private int levels; // In use; the top one has a single bucket
+    private final int[] bucketCounts = new int[MAX_LEVELS];
+    private final double[][] mins = new double[MAX_LEVELS][];
+    private final double[][] maxs = new double[MAX_LEVELS][];
+    private final int[][] minIndices = new int[MAX_LEVELS][];
+    private final int[][] maxIndices = new int[MAX_LEVELS][];
+
+    private double rangeMin;
+    private double rangeMax;
+    private int rangeMinIndex;
+    private int rangeMaxIndex;
+
+    // State of the current nearest() search
+    private int searchFrom, searchTo;
+    private double searchX, searchY, searchXScale, searchYScale;
+    private int nearestIndex;
+    private double nearestDistance;
+
+    public DecimationPyramid(TelemetryFrame frame, Channel channel) {
+        this.frame = TelemetryFrame.empty();
+        this.channel = channel;
+        this.levels = 1;
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            allocateLevel(level, 0);
+        }
+        append(frame);
+    }
+
+    // Takes in the samples the frame has beyond the current one's. The frame must hold the
+    // same samples as the current one, plus the new ones (as snapshots of a growing frame do).
+    public void append(TelemetryFrame grown) {
+        int oldSize = frame.size();
+        frame = grown;
+        if (grown.size() <= oldSize) {
+            return;
+        }
+
+        // The last bucket of each level may have been partial, so it is rebuilt too
+        int dirty = oldSize / BASE_BUCKET;
+        int buckets = (int) bucketCount(grown.size(), 0);
+        ensureCapacity(0, buckets);
+        buildBaseLevel(dirty, buckets);
+        bucketCounts[0] = buckets;
+
+        int level = 1;
+        for (; buckets > 1; level++) {
+            dirty = Math.min(dirty / 2, bucketCounts[level]);
+            buckets = (buckets + 1) / 2;
+            ensureCapacity(level, buckets);
+            buildLevel(level, dirty, buckets);
+            bucketCounts[level] = buckets;
+        }
+        levels = level;
+    }
+
+    public TelemetryFrame getFrame() {
+        return frame;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    // Whole-flight extent, from the top level
+    public double getMin() {
+        return frame.isEmpty() ? 0.0 : mins[levels - 1][0];
+    }
+
+    public double getMax() {
+        return frame.isEmpty() ? 0.0 : maxs[levels - 1][0];
+    }
+
+    // Writes, in increasing order, the indices of the min and max sample of each of the
+    // columns that [from, to) is split into; returns how many were written (<= 2 * columns)
+    public int decimate(int from, int to, int columns, int[] out) {
+        int count = 0;
+        int length = to - from;
+        if (length <= 0 || columns <= 0) {
+            return 0;
+        }
+        if (length <= 2 * columns) {
+            // Already sparse enough: every sample is its own point
+            for (int i = from; i < to; i++) {
+                out[count++] = i;
+            }
+            return count;
+        }
+
+        for (int column = 0; column < columns; column++) {
+            int start = from + (int) ((long) length * column / columns);
+            int end = from + (int) ((long) length * (column + 1) / columns);
+            if (end <= start) continue;
+
+            queryRange(start, end);
+            int first = Math.min(rangeMinIndex, rangeMaxIndex);
+            int second = Math.max(rangeMinIndex, rangeMaxIndex);
+            out[count++] = first;
+            if (second != first) {
+                out[count++] = second;
+            }
+        }
+        return count;
+    }
+
+    // Sample in [from, to) nearest to (x, y), x being a fractional sample index and y a value,
+    // with each axis scaled first (e.g. to pixels, so the nearest sample on screen is found at
+    // any zoom); -1 if the range is empty. Branch and bound from the top bucket, nearer child
+    // first, skipping buckets whose box is farther than the best sample so far: O(log n) for
+    // a channel that changes smoothly. NaN samples are never found.
+    public int nearest(int from, int to, double x, double y, double xScale, double yScale) {
+        from = Math.max(from, 0);
+        to = Math.min(to, frame.size());
+        if (from >= to) {
+            return -1;
+        }
+        searchFrom = from;
+        searchTo = to;
+        searchX = x;
+        searchY = y;
+        searchXScale = xScale;
+        searchYScale = yScale;
+        nearestIndex = -1;
+        nearestDistance = Double.POSITIVE_INFINITY;
+        searchBucket(levels - 1, 0);
+        return nearestIndex;
+    }
+
+    private void searchBucket(int level, int bucket) {
+        if (level == 0) {
+            int start = Math.max(bucket * BASE_BUCKET, searchFrom);
+            int end = Math.min((bucket + 1) * BASE_BUCKET, searchTo);
+            for (int i = start; i < end; i++) {
+                double dx = (i - searchX) * searchXScale;
+                double dy = (frame.get(channel, i) - searchY) * searchYScale;
+                double distance = dx * dx + dy * dy;
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearestIndex = i;
+                }
+            }
+            return;
+        }
+
+        int left = 2 * bucket;
+        int right = left + 1;
+        double leftBound = lowerBound(level - 1, left);
+        double rightBound = right < bucketCounts[level - 1] ? lowerBound(level - 1, right) : Double.POSITIVE_INFINITY;
+        if (rightBound < leftBound) {
+            if (rightBound < nearestDistance) searchBucket(level - 1, right);
+            if (leftBound < nearestDistance) searchBucket(level - 1, left);
+        } else {
+            if (leftBound < nearestDistance) searchBucket(level - 1, left);
+            if (rightBound < nearestDistance) searchBucket(level - 1, right);
+        }
+    }
+
+    // Least scaled squared distance from the search point to a bucket's box, clipped to the
+    // search range; infinite outside it
+    private double lowerBound(int level, int bucket) {
+        long size = (long) BASE_BUCKET << level;
+        long start = Math.max(bucket * size, searchFrom);
+        long end = Math.min((bucket + 1) * size, searchTo);
+        if (start >= end) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double dx = searchX < start ? start - searchX : searchX > end - 1 ? searchX - (end - 1) : 0;
+        double min = mins[level][bucket], max = maxs[level][bucket];
+        double dy = searchY < min ? min - searchY : searchY > max ? searchY - max : 0;
+        dx *= searchXScale;
+        dy *= searchYScale;
+        return dx * dx + dy * dy;
+    }
+
+    // Extent of [from, to): raw samples for the unaligned edges, then at most two buckets per level
+    private void queryRange(int from, int to) {
+        rangeMin = Double.POSITIVE_INFINITY;
+        rangeMax = Double.NEGATIVE_INFINITY;
+        rangeMinIndex = from;
+        rangeMaxIndex = from;
+
+        int alignedFrom = Math.min(to, (from + BASE_BUCKET - 1) / BASE_BUCKET * BASE_BUCKET);
+        int alignedTo = Math.max(alignedFrom, to / BASE_BUCKET * BASE_BUCKET);
+        scanSamples(from, alignedFrom);
+        scanSamples(alignedTo, to);
+
+        int lo = alignedFrom / BASE_BUCKET;
+        int hi = alignedTo / BASE_BUCKET;
+        for (int level = 0; lo < hi; level++) {
+            if (level == levels - 1) {
+                for (int bucket = lo; bucket < hi; bucket++) {
+                    takeBucket(level, bucket);
+                }
+                break;
+            }
+            if ((lo & 1) != 0) takeBucket(level, lo++);
+            if ((hi & 1) != 0) takeBucket(level, --hi);
+            lo >>= 1;
+            hi >>= 1;
+        }
+    }
+
+    private void scanSamples(int from, int to) {
+        for (int i = from; i < to; i++) {
+            double value = frame.get(channel, i);
+            if (value < rangeMin) { rangeMin = value; rangeMinIndex = i; }
+            if (value > rangeMax) { rangeMax = value; rangeMaxIndex = i; }
+        }
+    }
+
+    private void takeBucket(int level, int bucket) {
+        if (mins[level][bucket] < rangeMin) {
+            rangeMin = mins[level][bucket];
+            rangeMinIndex = minIndices[level][bucket];
+        }
+        if (maxs[level][bucket] > rangeMax) {
+            rangeMax = maxs[level][bucket];
+            rangeMaxIndex = maxIndices[level][bucket];
+        }
+    }
+
+    private void buildBaseLevel(int from, int to) {
+        for (int bucket = from; bucket < to; bucket++) {
+            int start = bucket * BASE_BUCKET;
+            int end = Math.min(start + BASE_BUCKET, frame.size());
+            double min = frame.get(channel, start);
+            double max = min;
+            int minIndex = start;
+            int maxIndex = start;
+            for (int i = start + 1; i < end; i++) {
+                double value = frame.get(channel, i);
+                if (value < min) { min = value; minIndex = i; }
+                if (value > max) { max = value; maxIndex = i; }
+            }
+            mins[0][bucket] = min;
+            maxs[0][bucket] = max;
+            minIndices[0][bucket] = minIndex;
+            maxIndices[0][bucket] = maxIndex;
+        }
+    }
+
+    // Buckets [from, to) of a level, from the level below, which is complete
+    private void buildLevel(int level, int from, int to) {
+        int below = bucketCounts[level - 1];
+        for (int bucket = from; bucket < to; bucket++) {
+            int left = bucket * 2;
+            int right = Math.min(left + 1, below - 1);
+            boolean leftMin = mins[level - 1][left] <= mins[level - 1][right];
+            boolean leftMax = maxs[level - 1][left] >= maxs[level - 1][right];
+            mins[level][bucket] = mins[level - 1][leftMin ? left : right];
+            minIndices[level][bucket] = minIndices[level - 1][leftMin ? left : right];
+            maxs[level][bucket] = maxs[level - 1][leftMax ? left : right];
+            maxIndices[level][bucket] = maxIndices[level - 1][leftMax ? left : right];
+        }
+    }
+
+    private void ensureCapacity(int level, int buckets) {
+        if (buckets > mins[level].length) {
+            int capacity = Math.max(buckets, mins[level].length + (mins[level].length >> 1));
+            mins[level] = Arrays.copyOf(mins[level], capacity);
+            maxs[level] = Arrays.copyOf(maxs[level], capacity);
+            minIndices[level] = Arrays.copyOf(minIndices[level], capacity);
+            maxIndices[level] = Arrays.copyOf(maxIndices[level], capacity);
+        }
+    }
+
+    private void allocateLevel(int level, int buckets) {
+        mins[level] = new double[buckets];
+        maxs[level] = new double[buckets];
+        minIndices[level] = new int[buckets];
+        maxIndices[level] = new int[buckets];
+    }
+
+    private static long bucketCount(int samples, int level) {
+        long bucketSize = (long) BASE_BUCKET << level;
+        return Math.max(1, (samples + bucketSize - 1) / bucketSize);
+    }
+}
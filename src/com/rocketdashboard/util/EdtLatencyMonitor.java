@@ -0,0 +1,47 @@
+package com.rocketdashboard.util;
+
+import java.awt.EventQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Measures how long events wait for the Swing event dispatch thread. Every interval a
+// timestamped probe is posted with invokeLater and its queueing delay is recorded when it
+// runs. Probes are only posted while metrics are enabled and at most one is pending, so a
+// stalled EDT shows up as one long sample instead of a backlog of probes.
+public class EdtLatencyMonitor implements AutoCloseable {
+    private final LatencyHistogram histogram;
+    private final long intervalMillis;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public EdtLatencyMonitor(LatencyHistogram histogram, long intervalMillis) {
+        this.histogram = histogram;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("edt-latency-monitor").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::probe, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void probe() {
+        if (!Metrics.isEnabled() || !pending.compareAndSet(false, true)) return;
+        long posted = System.nanoTime();
+        EventQueue.invokeLater(() -> {
+            histogram.record(System.nanoTime() - posted);
+            pending.set(false);
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
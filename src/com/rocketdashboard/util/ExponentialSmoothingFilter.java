@@ -0,0 +1,47 @@
+package com.rocketdashboard.util;
+
+// First-order low-pass with a time constant rather than a fixed weight, so irregular
+// sample spacing (dropouts, live data) is smoothed consistently.
+public class ExponentialSmoothingFilter implements SignalFilter {
+    private final double timeConstantSeconds;
+    private double smoothed = Double.NaN;
+    private long lastTime;
+    private long lastInterval = -1; // Sampling is usually regular, so alpha is reused
+    private double alpha;
+
+    public ExponentialSmoothingFilter(double timeConstantSeconds) {
+        if (!(timeConstantSeconds > 0)) {
+            throw new IllegalArgumentException("Time constant must be positive: " + timeConstantSeconds);
+        }
+        this.timeConstantSeconds = timeConstantSeconds;
+    }
+
+    @Override
+    public double filter(long timestampNanos, double value) {
+        if (Double.isNaN(value)) {
+            return smoothed;
+        }
+        if (Double.isNaN(smoothed)) {
+            smoothed = value;
+        } else {
+            long interval = Math.max(0, timestampNanos - lastTime);
+            if (interval != lastInterval) {
+                alpha = 1 - Math.exp(-interval / 1e9 / timeConstantSeconds);
+                lastInterval = interval;
+            }
+            smoothed += alpha * (value - smoothed);
+        }
+        lastTime = timestampNanos;
+        return smoothed;
+    }
+
+    @Override
+    public void reset() {
+        smoothed = Double.NaN;
+    }
+
+    @Override
+    public SignalFilter copy() {
+        return new ExponentialSmoothingFilter(timeConstantSeconds);
+    }
+}
@@ -0,0 +1,43 @@
+package com.rocketdashboard.util;
+
+// Filters applied in sequence, each fed the previous one's output
+public class FilterChain implements SignalFilter {
+    private final SignalFilter[] stages;
+
+    public FilterChain(SignalFilter... stages) {
+        this.stages = stages.clone();
+    }
+
+    @Override
+    public double filter(long timestampNanos, double value) {
+        for (SignalFilter stage : stages) {
+            value = stage.filter(timestampNanos, value);
+        }
+        return value;
+    }
+
+    @Override
+    public int getDelay() {
+        int delay = 0;
+        for (SignalFilter stage : stages) {
+            delay += stage.getDelay();
+        }
+        return delay;
+    }
+
+    @Override
+    public void reset() {
+        for (SignalFilter stage : stages) {
+            stage.reset();
+        }
+    }
+
+    @Override
+    public SignalFilter copy() {
+        SignalFilter[] copies = new SignalFilter[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            copies[i] = stages[i].copy();
+        }
+        return new FilterChain(copies);
+    }
+}
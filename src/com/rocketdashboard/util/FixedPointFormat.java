@@ -0,0 +1,36 @@
+package com.rocketdashboard.util;
+
+// Appends doubles with a fixed number of decimals (like %.Nf, rounding half up) to a
+// caller-supplied StringBuilder without the Formatter and String allocations of String.format.
+public class FixedPointFormat {
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+    // Beyond this the scaled value no longer fits a long exactly; fall back to append(double)
+    private static final double MAX_FIXED = 1e9;
+
+    public static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported number of decimals: " + decimals);
+        }
+        if (!Double.isFinite(value) || Math.abs(value) >= MAX_FIXED) {
+            return sb.append(value);
+        }
+
+        long scale = POWERS_OF_TEN[decimals];
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            long fraction = scaled % scale;
+            for (long p = scale / 10; p > 1 && fraction < p; p /= 10) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+        return sb;
+    }
+}
@@ -0,0 +1,197 @@
+package com.rocketdashboard.util;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.stream.IntStream;
+
+// Summary statistics (min, max, argmax, mean, variance, signed absolute max) for every
+// channel of a frame in one fused pass: the columns are copied block by block into a small
+// scratch buffer, whatever their backing, and each block is reduced with the JDK Vector API
+// when the jdk.incubator.vector module is present (--add-modules jdk.incubator.vector) and
+// with plain loops otherwise. Very large flights are split into chunks that are reduced in
+// parallel and merged in order, so argmax stays the first occurrence of the maximum.
+public class FlightStats {
+    static final int BLOCK = 4096; // Samples per scratch block; stays in cache while reduced
+    static final int PARALLEL_CHUNK = 1 << 20;
+
+    private static final BlockReducer REDUCER = loadReducer();
+
+    // Reduces one block of values into the running statistics of its channel
+    interface BlockReducer {
+        void reduce(double[] values, int length, int firstIndex, ChannelStats stats);
+    }
+
+    public static class ChannelStats {
+        private long count;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private int argMax = -1;
+        private double mean;
+        private double m2; // Sum of squared deviations from the mean
+
+        public long getCount() { return count; }
+        public double getMin() { return count > 0 ? min : 0.0; }
+        public double getMax() { return count > 0 ? max : 0.0; }
+        // Index of the first sample holding the maximum; -1 when empty
+        public int getArgMax() { return argMax; }
+        public double getMean() { return mean; }
+        // Population variance
+        public double getVariance() { return count > 0 ? m2 / count : 0.0; }
+        public double getStandardDeviation() { return Math.sqrt(getVariance()); }
+
+        // Value with the largest magnitude, keeping its sign
+        public double getAbsMax() {
+            if (count == 0) return 0.0;
+            return -min > max ? min : max;
+        }
+
+        // Combines a block's partial results (Chan et al. for mean and variance). Blocks
+        // must arrive in index order; blockArgMax is only read when blockMax is a new maximum.
+        void merge(long n, double blockMin, double blockMax, int blockArgMax, double blockMean, double blockM2) {
+            if (n == 0) return;
+            if (blockMin < min) min = blockMin;
+            if (blockMax > max) {
+                max = blockMax;
+                argMax = blockArgMax;
+            }
+            long total = count + n;
+            double delta = blockMean - mean;
+            mean += delta * n / total;
+            m2 += blockM2 + delta * delta * ((double) count * n / total);
+            count = total;
+        }
+
+        void merge(ChannelStats other) {
+            merge(other.count, other.min, other.max, other.argMax, other.mean, other.m2);
+        }
+    }
+
+    private final ChannelStats[] channels;
+
+    private FlightStats(ChannelStats[] channels) {
+        this.channels = channels;
+    }
+
+    // Statistics fed block by block by a caller that reads the samples anyway, so a pass that
+    // needs them for something else computes these in the same pass. Single-threaded.
+    public static class Accumulator {
+        private final ChannelStats[] channels = new ChannelStats[Channel.values().length];
+
+        public Accumulator() {
+            for (int k = 0; k < channels.length; k++) {
+                channels[k] = new ChannelStats();
+            }
+        }
+
+        // The channel's samples [firstIndex, firstIndex + length), in values; each channel's
+        // blocks must arrive in index order
+        public void add(Channel channel, double[] values, int length, int firstIndex) {
+            if (length > 0) {
+                REDUCER.reduce(values, length, firstIndex, channels[channel.ordinal()]);
+            }
+        }
+
+        public FlightStats build() {
+            return new FlightStats(channels);
+        }
+    }
+
+    public static FlightStats compute(TelemetryFrame frame) {
+        Channel[] all = Channel.values();
+        DoubleColumn[] columns = new DoubleColumn[all.length];
+        for (Channel channel : all) {
+            columns[channel.ordinal()] = frame.getColumn(channel);
+        }
+        return new FlightStats(compute(columns, frame.size()));
+    }
+
+    // A single channel, for callers that need nothing else
+    public static ChannelStats compute(DoubleColumn column, int size) {
+        return compute(new DoubleColumn[] {column}, size)[0];
+    }
+
+    public ChannelStats get(Channel channel) {
+        return channels[channel.ordinal()];
+    }
+
+    // True when blocks are reduced with the Vector API
+    public static boolean isVectorized() {
+        return !(REDUCER instanceof ScalarReducer);
+    }
+
+    private static ChannelStats[] compute(DoubleColumn[] columns, int size) {
+        int chunks = size >= 2 * PARALLEL_CHUNK ? (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK : 1;
+        if (chunks == 1) {
+            return reduceRange(columns, 0, size);
+        }
+
+        ChannelStats[][] partial = new ChannelStats[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                partial[c] = reduceRange(columns, c * PARALLEL_CHUNK, Math.min(size, (c + 1) * PARALLEL_CHUNK)));
+
+        ChannelStats[] result = partial[0];
+        for (int c = 1; c < chunks; c++) {
+            for (int k = 0; k < result.length; k++) {
+                result[k].merge(partial[c][k]);
+            }
+        }
+        return result;
+    }
+
+    // All channels block by block, so each column is read once and the block stays hot
+    private static ChannelStats[] reduceRange(DoubleColumn[] columns, int from, int to) {
+        ChannelStats[] stats = new ChannelStats[columns.length];
+        for (int k = 0; k < stats.length; k++) {
+            stats[k] = new ChannelStats();
+        }
+        double[] block = new double[BLOCK];
+        for (int start = from; start < to; start += BLOCK) {
+            int length = Math.min(BLOCK, to - start);
+            for (int k = 0; k < columns.length; k++) {
+                columns[k].copyTo(start, block, 0, length);
+                REDUCER.reduce(block, length, start, stats[k]);
+            }
+        }
+        return stats;
+    }
+
+    private static BlockReducer loadReducer() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BlockReducer) Class.forName("com.rocketdashboard.util.VectorBlockReducer")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall back to the scalar loops
+            }
+        }
+        return new ScalarReducer();
+    }
+
+    static final class ScalarReducer implements BlockReducer {
+        @Override
+        public void reduce(double[] values, int length, int firstIndex, ChannelStats stats) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int argMax = -1;
+            double sum = 0;
+            for (int i = 0; i < length; i++) {
+                double value = values[i];
+                if (value < min) min = value;
+                if (value > max) {
+                    max = value;
+                    argMax = i;
+                }
+                sum += value;
+            }
+
+            double mean = sum / length;
+            double m2 = 0;
+            for (int i = 0; i < length; i++) {
+                double deviation = values[i] - mean;
+                m2 += deviation * deviation;
+            }
+            stats.merge(length, min, max, firstIndex + argMax, mean, m2);
+        }
+    }
+}
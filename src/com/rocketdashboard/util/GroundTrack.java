@@ -0,0 +1,205 @@
+package com.rocketdashboard.util;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.DoubleColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.Arrays;
+
+// GPS fixes of one flight projected once into local east/north metres around the first fix,
+// so drawing never repeats the trigonometry. The projection scales longitude and latitude by
+// the WGS84 radii of curvature at the origin, which is accurate to well under a metre over
+// the few tens of kilometres a flight drifts. Missing fixes (NaN) stay NaN.
+// For drawing at any zoom there are also levels of detail: level k >= 1 keeps the fixes of
+// level k - 1 that lie at least BASE_TOLERANCE * 2^(k-1) metres from the last one it kept,
+// so a track drawn at a level whose tolerance is under a pixel looks the same as the full
+// track, and the fixes drawn scale with the track's length on screen, not with the fix count.
+// Every level is built in one streaming pass, so a growing frame (live telemetry, a
+// progressive load) is extended with append() at the cost of the new samples only.
+public class GroundTrack {
+    static final double BASE_TOLERANCE = 0.05; // m, for level 1
+    private static final int LEVELS = 25; // The coarsest keeps fixes about 400 km apart
+    private static final double EQUATORIAL_RADIUS = 6378137.0; // m, WGS84
+    private static final double ECCENTRICITY_SQUARED = 6.69437999014e-3;
+    private static final int CHUNK = 4096;
+    private static final double[] TOLERANCES_SQUARED = new double[LEVELS];
+
+    static {
+        for (int level = 1; level < LEVELS; level++) {
+            double tolerance = BASE_TOLERANCE * (1L << (level - 1));
+            TOLERANCES_SQUARED[level] = tolerance * tolerance;
+        }
+    }
+
+    private TelemetryFrame frame;
+    private int size;
+    private float[] east = new float[0];
+    private float[] north = new float[0];
+    private int firstFix = -1, lastFix = -1; // -1 without any fix
+    private float minEast, maxEast, minNorth, maxNorth;
+    private double originLatitude, originLongitude;
+    private double metresPerDegreeNorth, metresPerDegreeEast;
+
+    // levelFixes[0] is unused: level 0 is every fix. While a level's fixes are a prefix of the
+    // level below's, it shares that level's array (levelFixes[k] == null for k >= 2).
+    private final int[][] levelFixes = new int[LEVELS][];
+    private final int[] levelCounts = new int[LEVELS];
+    private final float[] levelLastEast = new float[LEVELS];
+    private final float[] levelLastNorth = new float[LEVELS];
+
+    public GroundTrack(TelemetryFrame frame) {
+        this.frame = TelemetryFrame.empty();
+        levelFixes[1] = new int[0];
+        Arrays.fill(levelLastEast, Float.NaN);
+        Arrays.fill(levelLastNorth, Float.NaN);
+        minEast = minNorth = Float.POSITIVE_INFINITY;
+        maxEast = maxNorth = Float.NEGATIVE_INFINITY;
+        append(frame);
+    }
+
+    public TelemetryFrame getFrame() {
+        return frame;
+    }
+
+    // Fixes projected so far, including missing ones
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return firstFix < 0;
+    }
+
+    public int getFirstFix() { return firstFix; }
+    public int getLastFix() { return lastFix; }
+
+    // Metres east and north of the first fix; NaN for a missing fix
+    public float getEast(int index) { return east[index]; }
+    public float getNorth(int index) { return north[index]; }
+
+    // Extent of all fixes
+    public float getMinEast() { return minEast; }
+    public float getMaxEast() { return maxEast; }
+    public float getMinNorth() { return minNorth; }
+    public float getMaxNorth() { return maxNorth; }
+
+    // Straight-line distance from the first fix to the last, e.g. launch pad to landing
+    public double getDrift() {
+        return isEmpty() ? 0 : Math.hypot(east[lastFix], north[lastFix]);
+    }
+
+    public int getLevelCount() {
+        return LEVELS;
+    }
+
+    // Coarsest level whose errors cannot be seen at the given distance (e.g. a pixel, in metres)
+    public int getLevel(double tolerance) {
+        int level = 0;
+        while (level + 1 < LEVELS && BASE_TOLERANCE * (1L << level) <= tolerance) {
+            level++;
+        }
+        return level;
+    }
+
+    // The level's fix indices, in order, in the first getFixCount(level) entries; null for
+    // level 0, which is every fix. The last fix is missing when the track has barely moved since
+    // the level last kept one.
+    public int[] getFixes(int level) {
+        while (level >= 2 && levelFixes[level] == null) {
+            level--;
+        }
+        return level == 0 ? null : levelFixes[level];
+    }
+
+    public int getFixCount(int level) {
+        return level == 0 ? size : levelCounts[level];
+    }
+
+    // Projects the samples the frame has beyond the ones already projected. The frame must
+    // hold the same samples as the one before it, plus the new ones (as snapshots of a
+    // growing frame do). Reads in chunks through copyTo, so mapped and compressed columns
+    // are read sequentially.
+    public void append(TelemetryFrame grown) {
+        int from = size, to = grown.size();
+        frame = grown;
+        if (to <= from) {
+            return;
+        }
+        if (to > east.length) {
+            int capacity = Math.max(to, east.length + (east.length >> 1));
+            east = Arrays.copyOf(east, capacity);
+            north = Arrays.copyOf(north, capacity);
+        }
+
+        DoubleColumn latitudes = grown.getColumn(Channel.LATITUDE);
+        DoubleColumn longitudes = grown.getColumn(Channel.LONGITUDE);
+        double[] latitudeChunk = new double[Math.min(CHUNK, to - from)];
+        double[] longitudeChunk = new double[latitudeChunk.length];
+        for (int start = from; start < to; start += CHUNK) {
+            int length = Math.min(CHUNK, to - start);
+            latitudes.copyTo(start, latitudeChunk, 0, length);
+            longitudes.copyTo(start, longitudeChunk, 0, length);
+            for (int k = 0; k < length; k++) {
+                project(start + k, latitudeChunk[k], longitudeChunk[k]);
+            }
+        }
+        size = to;
+    }
+
+    private void project(int index, double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            east[index] = north[index] = Float.NaN;
+            return;
+        }
+        if (firstFix < 0) {
+            setOrigin(latitude, longitude);
+            firstFix = index;
+        }
+        float e = (float) ((longitude - originLongitude) * metresPerDegreeEast);
+        float n = (float) ((latitude - originLatitude) * metresPerDegreeNorth);
+        east[index] = e;
+        north[index] = n;
+        lastFix = index;
+        if (e < minEast) minEast = e;
+        if (e > maxEast) maxEast = e;
+        if (n < minNorth) minNorth = n;
+        if (n > maxNorth) maxNorth = n;
+        addToLevels(index, e, n);
+    }
+
+    private void setOrigin(double latitude, double longitude) {
+        originLatitude = latitude;
+        originLongitude = longitude;
+        double sinLatitude = Math.sin(Math.toRadians(latitude));
+        double w = 1 - ECCENTRICITY_SQUARED * sinLatitude * sinLatitude;
+        double meridianRadius = EQUATORIAL_RADIUS * (1 - ECCENTRICITY_SQUARED) / (w * Math.sqrt(w));
+        double normalRadius = EQUATORIAL_RADIUS / Math.sqrt(w);
+        metresPerDegreeNorth = Math.toRadians(meridianRadius);
+        metresPerDegreeEast = Math.toRadians(normalRadius * Math.cos(Math.toRadians(latitude)));
+    }
+
+    // A fix goes up the levels for as long as each keeps it; the first fix is kept everywhere
+    private void addToLevels(int index, float e, float n) {
+        for (int level = 1; level < LEVELS; level++) {
+            double de = e - levelLastEast[level], dn = n - levelLastNorth[level];
+            if (de * de + dn * dn < TOLERANCES_SQUARED[level]) {
+                return; // NaN (nothing kept yet) fails the comparison, so the fix is kept
+            }
+            if (levelFixes[level] == null && levelCounts[level] < levelCounts[level - 1] - 1) {
+                // Diverges from the level below, which kept fixes this one drops: copy the
+                // shared fixes, without the one just added below
+                int[] below = getFixes(level - 1);
+                levelFixes[level] = Arrays.copyOf(below, Math.max(16, levelCounts[level] * 2));
+            }
+            if (levelFixes[level] != null) {
+                int[] fixes = levelFixes[level];
+                if (levelCounts[level] == fixes.length) {
+                    fixes = levelFixes[level] = Arrays.copyOf(fixes, fixes.length + (fixes.length >> 1) + 16);
+                }
+                fixes[levelCounts[level]] = index;
+            }
+            levelCounts[level]++;
+            levelLastEast[level] = e;
+            levelLastNorth[level] = n;
+        }
+    }
+}
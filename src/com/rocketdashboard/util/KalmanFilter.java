@@ -0,0 +1,99 @@
+package com.rocketdashboard.util;
+
+// 1-D Kalman filter with a constant-rate model: the state is the value and its rate of
+// change, driven by white noise in the rate's derivative. Measures the value only; the
+// estimated rate is available from getRate() (e.g. vertical speed from altitude).
+// With a gate, measurements further than gate standard deviations from the prediction are
+// treated as outliers and skipped, which removes spikes without delaying the output. After
+// MAX_REJECTED outliers in a row the measurement is accepted anyway, so a real jump is
+// followed rather than ignored for good.
+public class KalmanFilter implements SignalFilter {
+    static final int MAX_REJECTED = 3;
+
+    private final double processNoise;     // Variance density of the rate's derivative
+    private final double measurementNoise; // Variance of one measurement
+    private final double gate;             // In standard deviations of the innovation
+
+    private boolean initialized;
+    private double value, rate;
+    private double p00, p01, p11; // Covariance (symmetric)
+    private long lastTime;
+    private int rejected;
+
+    public KalmanFilter(double processNoise, double measurementNoise) {
+        this(processNoise, measurementNoise, Double.POSITIVE_INFINITY);
+    }
+
+    public KalmanFilter(double processNoise, double measurementNoise, double gate) {
+        if (!(processNoise > 0) || !(measurementNoise > 0)) {
+            throw new IllegalArgumentException("Noise variances must be positive");
+        }
+        if (!(gate > 0)) {
+            throw new IllegalArgumentException("Gate must be positive: " + gate);
+        }
+        this.processNoise = processNoise;
+        this.measurementNoise = measurementNoise;
+        this.gate = gate;
+    }
+
+    @Override
+    public double filter(long timestampNanos, double measurement) {
+        if (!initialized) {
+            if (Double.isNaN(measurement)) return Double.NaN;
+            value = measurement;
+            rate = 0;
+            p00 = measurementNoise;
+            p01 = 0;
+            p11 = 1e6; // Rate unknown at first
+            lastTime = timestampNanos;
+            rejected = 0;
+            initialized = true;
+            return value;
+        }
+
+        // Predict
+        double dt = Math.max(0, (timestampNanos - lastTime) / 1e9);
+        lastTime = timestampNanos;
+        if (dt > 0) {
+            value += rate * dt;
+            double dt2 = dt * dt;
+            p00 += dt * (2 * p01 + dt * p11) + processNoise * dt2 * dt / 3;
+            p01 += dt * p11 + processNoise * dt2 / 2;
+            p11 += processNoise * dt;
+        }
+        if (Double.isNaN(measurement)) {
+            return value;
+        }
+
+        // Update
+        double innovation = measurement - value;
+        double s = p00 + measurementNoise;
+        if (innovation * innovation > gate * gate * s && rejected < MAX_REJECTED) {
+            rejected++;
+            return value;
+        }
+        rejected = 0;
+        double k0 = p00 / s;
+        double k1 = p01 / s;
+        value += k0 * innovation;
+        rate += k1 * innovation;
+        p11 -= k1 * p01;
+        p01 -= k0 * p01;
+        p00 -= k0 * p00;
+        return value;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public void reset() {
+        initialized = false;
+    }
+
+    @Override
+    public SignalFilter copy() {
+        return new KalmanFilter(processNoise, measurementNoise, gate);
+    }
+}
@@ -0,0 +1,144 @@
+package com.rocketdashboard.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram in the style of HdrHistogram. Nanosecond values fall into
+// log-linear buckets, 32 per power of two (about 3% relative error), so recording is a few
+// atomic adds with no allocation and percentiles need no sorting. Readers never block
+// writers; a percentile read during recording may miss the samples still being added.
+public class LatencyHistogram implements LatencyHistogramMBean {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS + 1);
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private volatile long last;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        last = value;
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until this value is stored or a larger one is
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getLastNanos() {
+        return last;
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n > 0 ? (double) total.sum() / n : 0;
+    }
+
+    // Smallest bucket bound that at least percentile % of the samples fall under, e.g. 99.
+    // Reads the buckets twice instead of copying them, so the overlay can call it per frame.
+    public long getPercentileNanos(double percentile) {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            n += counts.get(i);
+        }
+        if (n == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get(); // Only after a concurrent reset
+    }
+
+    @Override
+    public double getLastMillis() {
+        return last / 1e6;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return getMeanNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return getPercentileNanos(50) / 1e6;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return getPercentileNanos(90) / 1e6;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return getPercentileNanos(99) / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return max.get() / 1e6;
+    }
+
+    // Not atomic with concurrent recording; a sample racing the reset may be partly kept
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+        last = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d mean=%.3f p50=%.3f p90=%.3f p99=%.3f max=%.3f ms", name, getCount(),
+                getMeanMillis(), getP50Millis(), getP90Millis(), getP99Millis(), getMaxMillis());
+    }
+
+    // Values below 32 get a bucket each; above that, each power of two is split into 32
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        long bound = ((mantissa + 1) << shift) - 1;
+        return bound < 0 ? Long.MAX_VALUE : bound;
+    }
+}
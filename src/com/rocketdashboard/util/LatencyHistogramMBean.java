@@ -0,0 +1,14 @@
+package com.rocketdashboard.util;
+
+// JMX view of a LatencyHistogram, in milliseconds
+public interface LatencyHistogramMBean {
+    String getName();
+    long getCount();
+    double getLastMillis();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP90Millis();
+    double getP99Millis();
+    double getMaxMillis();
+    void reset();
+}
@@ -1,5 +1,8 @@
 package com.rocketdashboard.util;
 
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.TelemetryFrame;
+
 public class MathUtils {
 
     public static double calculateApogee(double[] altitudes) {
@@ -7,7 +10,7 @@ public class MathUtils {
             return 0.0;
         }
 
-        double max = Double.MIN_VALUE;
+        double max = Double.NEGATIVE_INFINITY; // MIN_VALUE is the smallest positive double
         for (double alt : altitudes) {
             if (alt > max) max = alt;
         }
@@ -38,6 +41,24 @@ public class MathUtils {
         return max;
     }
 
+    // Frame variants reduce the columns in place; see FlightStats for all channels at once
+    public static double calculateApogee(TelemetryFrame frame) {
+        return channelStats(frame, Channel.ALTITUDE).getMax();
+    }
+
+    public static double calculateMaxVelocity(TelemetryFrame frame) {
+        return channelStats(frame, Channel.VELOCITY).getAbsMax();
+    }
+
+    public static double calculateMaxAcceleration(TelemetryFrame frame) {
+        return channelStats(frame, Channel.ACCELERATION).getAbsMax();
+    }
+
+    private static FlightStats.ChannelStats channelStats(TelemetryFrame frame, Channel channel) {
+        TelemetryFrame source = frame != null ? frame : TelemetryFrame.empty();
+        return FlightStats.compute(source.getColumn(channel), source.size());
+    }
+
     // Parabolic interpolation for smooth animation
     public static double parabolicInterpolation(double x, double x1, double y1, double x2, double y2, double x3, double y3) {
         double denom = (x1 - x2) * (x1 - x3) * (x2 - x3);
@@ -57,4 +78,11 @@ public class MathUtils {
         java.time.Duration duration = java.time.Duration.between(start, end);
         return duration.toMillis() / 1000.0;
     }
+
+    public static double calculateFlightDuration(TelemetryFrame frame) {
+        if (frame == null || frame.size() < 2) {
+            return 0.0;
+        }
+        return (frame.getTimestampNanos(frame.size() - 1) - frame.getTimestampNanos(0)) / 1e9;
+    }
 }
\ No newline at end of file
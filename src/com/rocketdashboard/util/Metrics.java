@@ -0,0 +1,104 @@
+package com.rocketdashboard.util;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+// Process-wide latency metrics for the expensive steps of loading, analyzing and drawing a
+// flight. Recording is off unless started with -Drocketdashboard.metrics=true or switched on
+// later (JMX, the dashboard's Metrics checkbox); while off, start() only reads a volatile
+// flag and stop() returns without touching the clock or the histogram.
+//
+//   long start = Metrics.start();
+//   try { ... } finally { Metrics.stop(Metrics.CSV_PARSE, start); }
+public final class Metrics {
+    public static final String JMX_DOMAIN = "com.rocketdashboard";
+
+    public static final LatencyHistogram CSV_PARSE = new LatencyHistogram("CsvParse");
+    public static final LatencyHistogram STAGE_CLASSIFICATION = new LatencyHistogram("StageClassification");
+    public static final LatencyHistogram ANOMALY_DETECTION = new LatencyHistogram("AnomalyDetection");
+    public static final LatencyHistogram REPORT_GENERATION = new LatencyHistogram("ReportGeneration");
+    public static final LatencyHistogram PAINT = new LatencyHistogram("Paint");
+    public static final LatencyHistogram EDT_LATENCY = new LatencyHistogram("EdtLatency");
+
+    private static final List<LatencyHistogram> HISTOGRAMS = List.of(
+            CSV_PARSE, STAGE_CLASSIFICATION, ANOMALY_DETECTION, REPORT_GENERATION, PAINT, EDT_LATENCY);
+
+    private static volatile boolean enabled = Boolean.getBoolean("rocketdashboard.metrics");
+    private static boolean registered;
+
+    public interface ControlMBean {
+        boolean isEnabled();
+        void setEnabled(boolean enabled);
+        void reset();
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    public static List<LatencyHistogram> getHistograms() {
+        return HISTOGRAMS;
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    // Start time for stop(), or 0 while metrics are off
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void stop(LatencyHistogram histogram, long start) {
+        if (start != 0) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    // Publishes the histograms as com.rocketdashboard:type=Latency,name=... and the on/off
+    // switch as com.rocketdashboard:type=Metrics; safe to call more than once
+    public static synchronized void registerMBeans() {
+        if (registered) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (LatencyHistogram histogram : HISTOGRAMS) {
+                server.registerMBean(histogram, new ObjectName(JMX_DOMAIN + ":type=Latency,name=" + histogram.getName()));
+            }
+            server.registerMBean(new StandardMBean(new Control(), ControlMBean.class),
+                    new ObjectName(JMX_DOMAIN + ":type=Metrics"));
+            registered = true;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics MBeans", e);
+        }
+    }
+
+    private static final class Control implements ControlMBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
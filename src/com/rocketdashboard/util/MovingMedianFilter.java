@@ -0,0 +1,64 @@
+package com.rocketdashboard.util;
+
+// Median of the last window samples. Removes isolated spikes without smearing steps, at a
+// delay of window / 2 samples. The window is kept both in arrival order and sorted; windows
+// are short, so the sorted copy is maintained by linear scans rather than binary search.
+public class MovingMedianFilter implements SignalFilter {
+    private final int window;
+    private final double[] arrival;
+    private final double[] sorted;
+    private int next; // Slot of the oldest sample once the window is full
+    private int count;
+    private double last = Double.NaN;
+
+    public MovingMedianFilter(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Median window must be at least 1: " + window);
+        }
+        this.window = window;
+        this.arrival = new double[window];
+        this.sorted = new double[window];
+    }
+
+    @Override
+    public double filter(long timestampNanos, double value) {
+        if (Double.isNaN(value)) {
+            return last;
+        }
+
+        if (count == window) {
+            double oldest = arrival[next];
+            int at = 0;
+            while (sorted[at] != oldest) at++;
+            for (; at < count - 1; at++) sorted[at] = sorted[at + 1];
+            count--;
+        }
+        arrival[next] = value;
+        if (++next == window) next = 0;
+
+        int at = count;
+        for (; at > 0 && sorted[at - 1] > value; at--) sorted[at] = sorted[at - 1];
+        sorted[at] = value;
+        count++;
+
+        last = (count & 1) == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+        return last;
+    }
+
+    @Override
+    public int getDelay() {
+        return window / 2;
+    }
+
+    @Override
+    public void reset() {
+        next = 0;
+        count = 0;
+        last = Double.NaN;
+    }
+
+    @Override
+    public SignalFilter copy() {
+        return new MovingMedianFilter(window);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rocketdashboard.util;
+
+// Streaming filter for one channel: samples go in in time order and one filtered value
+// comes out per sample. Implementations keep a fixed amount of state and allocate nothing
+// per sample; NaN inputs (dropouts) leave the state alone.
+public interface SignalFilter {
+    double filter(long timestampNanos, double value);
+
+    // Samples by which the output trails the input, e.g. half a median window; a caller with
+    // the whole series can shift the output back by this much to line it up with the input
+    default int getDelay() {
+        return 0;
+    }
+
+    void reset();
+
+    // Same settings, empty state; each flight or thread filters with its own copy
+    SignalFilter copy();
+}
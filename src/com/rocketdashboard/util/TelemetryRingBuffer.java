@@ -0,0 +1,94 @@
+package com.rocketdashboard.util;
+
+import com.rocketdashboard.model.Channel;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded single-producer/single-consumer queue of telemetry samples. Slots are
+// preallocated as parallel primitive arrays, so neither side allocates; the two sides
+// only share the head and tail counters, published with release stores. Exactly one
+// thread may call offer() and exactly one (usually the EDT) may call drainTo().
+public class TelemetryRingBuffer {
+    private static final byte RECOVERY_FLAG = 1;
+    private static final byte MOTOR_FLAG = 2;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final double[][] channels;
+    private final byte[] flags;
+
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, written by the producer
+    private long cachedHead; // Producer's last view of head
+    private long cachedTail; // Consumer's last view of tail
+
+    // Capacity is rounded up to a power of two
+    public TelemetryRingBuffer(int minimumCapacity) {
+        if (minimumCapacity < 1 || minimumCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity out of range: " + minimumCapacity);
+        }
+        capacity = minimumCapacity == 1 ? 1 : Integer.highestOneBit(minimumCapacity - 1) << 1;
+        mask = capacity - 1;
+        timestamps = new long[capacity];
+        channels = new double[Channel.values().length][capacity];
+        flags = new byte[capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Approximate when called concurrently with either side
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    // Producer side: returns false, leaving the buffer unchanged, when it is full
+    public boolean offer(long timestampNanos, double altitude, double velocity, double acceleration,
+                         double latitude, double longitude, boolean recoveryDeployed, boolean motorBurning) {
+        long t = tail.getPlain();
+        if (t - cachedHead == capacity) {
+            cachedHead = head.getAcquire();
+            if (t - cachedHead == capacity) {
+                return false;
+            }
+        }
+
+        int slot = (int) t & mask;
+        timestamps[slot] = timestampNanos;
+        channels[Channel.ALTITUDE.ordinal()][slot] = altitude;
+        channels[Channel.VELOCITY.ordinal()][slot] = velocity;
+        channels[Channel.ACCELERATION.ordinal()][slot] = acceleration;
+        channels[Channel.LATITUDE.ordinal()][slot] = latitude;
+        channels[Channel.LONGITUDE.ordinal()][slot] = longitude;
+        flags[slot] = (byte) ((recoveryDeployed ? RECOVERY_FLAG : 0) | (motorBurning ? MOTOR_FLAG : 0));
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    // Consumer side: moves up to maxSamples samples into the builder, returns how many
+    public int drainTo(TelemetryFrame.Builder builder, int maxSamples) {
+        long h = head.getPlain();
+        if (cachedTail == h) {
+            cachedTail = tail.getAcquire();
+        }
+        int count = (int) Math.min(maxSamples, cachedTail - h);
+
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (h + i) & mask;
+            builder.add(timestamps[slot],
+                    channels[Channel.ALTITUDE.ordinal()][slot],
+                    channels[Channel.VELOCITY.ordinal()][slot],
+                    channels[Channel.ACCELERATION.ordinal()][slot],
+                    channels[Channel.LATITUDE.ordinal()][slot],
+                    channels[Channel.LONGITUDE.ordinal()][slot],
+                    (flags[slot] & RECOVERY_FLAG) != 0,
+                    (flags[slot] & MOTOR_FLAG) != 0);
+        }
+        if (count > 0) {
+            head.setRelease(h + count);
+        }
+        return count;
+    }
+}
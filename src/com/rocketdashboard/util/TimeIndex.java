@@ -0,0 +1,89 @@
+package com.rocketdashboard.util;
+
+import com.rocketdashboard.model.LongColumn;
+import com.rocketdashboard.model.TelemetryFrame;
+import java.util.Arrays;
+
+// Timestamp-to-sample lookup for one flight. A sparse copy of every STRIDE-th timestamp is
+// searched first, then the matching block of the timestamp column, so a lookup costs
+// O(log n) comparisons and touches one block of a memory-mapped column. Sample spacing may
+// be irregular; timestamps are expected to be non-decreasing. Keys the timestamp column
+// already holds (a flight file's stored index) are taken as they are. A growing frame (live
+// telemetry) is extended with append(), which only reads the new samples' keys.
+public class TimeIndex {
+    static final int STRIDE = 4096;
+
+    private TelemetryFrame frame;
+    private LongColumn timestamps;
+    private long[] keys = new long[0];
+    private int keyCount;
+
+    public TimeIndex(TelemetryFrame frame) {
+        this.frame = TelemetryFrame.empty();
+        append(frame);
+    }
+
+    // Takes in the samples the frame has beyond the current one's. The frame must hold the
+    // same samples as the current one, plus the new ones (as snapshots of a growing frame do).
+    public void append(TelemetryFrame grown) {
+        frame = grown;
+        timestamps = grown.getTimestampColumn();
+        int count = (grown.size() + STRIDE - 1) / STRIDE;
+        long[] stored = keyCount == 0 ? timestamps.getSampled(STRIDE) : null;
+        if (stored != null && stored.length == count) {
+            keys = stored;
+            keyCount = count;
+            return;
+        }
+        if (count > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(count, keys.length + (keys.length >> 1)));
+        }
+        for (int k = keyCount; k < count; k++) {
+            keys[k] = timestamps.get(k * STRIDE);
+        }
+        keyCount = Math.max(keyCount, count);
+    }
+
+    public TelemetryFrame getFrame() {
+        return frame;
+    }
+
+    public long getStartNanos() {
+        return frame.isEmpty() ? 0 : timestamps.get(0);
+    }
+
+    public long getEndNanos() {
+        return frame.isEmpty() ? 0 : timestamps.get(frame.size() - 1);
+    }
+
+    // Last sample at or before the given time; 0 if the time precedes the flight, -1 if empty
+    public int floorIndex(long timestampNanos) {
+        if (frame.isEmpty()) return -1;
+
+        // Last block whose first timestamp is <= the target
+        int lo = 0, hi = keyCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (keys[mid] <= timestampNanos) lo = mid; else hi = mid - 1;
+        }
+
+        // Same search within the block
+        int from = lo * STRIDE;
+        int to = Math.min(from + STRIDE, frame.size()) - 1;
+        while (from < to) {
+            int mid = (from + to + 1) >>> 1;
+            if (timestamps.get(mid) <= timestampNanos) from = mid; else to = mid - 1;
+        }
+        return from;
+    }
+
+    // Sample closest in time; ties go to the earlier sample
+    public int nearestIndex(long timestampNanos) {
+        int floor = floorIndex(timestampNanos);
+        if (floor < 0 || floor == frame.size() - 1) return floor;
+
+        long before = timestampNanos - timestamps.get(floor);
+        long after = timestamps.get(floor + 1) - timestampNanos;
+        return before >= 0 && after < before ? floor + 1 : floor;
+    }
+}
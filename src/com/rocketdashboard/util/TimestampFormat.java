@@ -0,0 +1,54 @@
+package com.rocketdashboard.util;
+
+// Formats epoch-nanosecond timestamps (UTC) into a caller-supplied StringBuilder, so hot
+// paths such as table cells and the HUD can reuse one buffer instead of going through
+// LocalDateTime and String.format for every value.
+public class TimestampFormat {
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    // yyyy-MM-dd HH:mm:ss.SSS, the same layout the CSV files use
+    public static StringBuilder appendDateTime(StringBuilder sb, long epochNanos) {
+        long days = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+        appendDate(sb, days);
+        sb.append(' ');
+        return appendTime(sb, epochNanos);
+    }
+
+    // HH:mm:ss.SSS
+    public static StringBuilder appendTime(StringBuilder sb, long epochNanos) {
+        long nanosOfDay = Math.floorMod(epochNanos, NANOS_PER_DAY);
+        long millisOfDay = nanosOfDay / 1_000_000L;
+        appendPadded(sb, (int) (millisOfDay / 3_600_000L), 2).append(':');
+        appendPadded(sb, (int) (millisOfDay / 60_000L % 60), 2).append(':');
+        appendPadded(sb, (int) (millisOfDay / 1000L % 60), 2).append('.');
+        return appendPadded(sb, (int) (millisOfDay % 1000L), 3);
+    }
+
+    // Civil date from days since 1970-01-01 (proleptic Gregorian)
+    private static void appendDate(StringBuilder sb, long epochDays) {
+        long z = epochDays + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        appendPadded(sb, (int) year, 4).append('-');
+        appendPadded(sb, month, 2).append('-');
+        appendPadded(sb, day, 2);
+    }
+
+    private static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+        int limit = 1;
+        for (int i = 1; i < width; i++) {
+            limit *= 10;
+        }
+        for (int p = limit; p > 1 && value < p; p /= 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+}
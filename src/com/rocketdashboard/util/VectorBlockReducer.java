@@ -0,0 +1,62 @@
+package com.rocketdashboard.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// FlightStats block reduction on the JDK Vector API, at the platform's preferred width.
+// Only loaded when the jdk.incubator.vector module is in the boot layer.
+final class VectorBlockReducer implements FlightStats.BlockReducer {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void reduce(double[] values, int length, int firstIndex, FlightStats.ChannelStats stats) {
+        int upper = SPECIES.loopBound(length);
+        DoubleVector minLanes = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector maxLanes = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        DoubleVector sumLanes = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, values, i);
+            // NaN lanes are left out, as the scalar comparisons skip them; min() would spread NaN
+            VectorMask<Double> present = v.compare(VectorOperators.EQ, v);
+            minLanes = minLanes.lanewise(VectorOperators.MIN, v, present);
+            maxLanes = maxLanes.lanewise(VectorOperators.MAX, v, present);
+            sumLanes = sumLanes.add(v);
+        }
+        double min = minLanes.reduceLanes(VectorOperators.MIN);
+        double max = maxLanes.reduceLanes(VectorOperators.MAX);
+        double sum = sumLanes.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            double value = values[i];
+            if (value < min) min = value;
+            if (value > max) max = value;
+            sum += value;
+        }
+
+        double mean = sum / length;
+        DoubleVector meanLanes = DoubleVector.broadcast(SPECIES, mean);
+        DoubleVector m2Lanes = DoubleVector.zero(SPECIES);
+        for (i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector deviation = DoubleVector.fromArray(SPECIES, values, i).sub(meanLanes);
+            m2Lanes = deviation.fma(deviation, m2Lanes);
+        }
+        double m2 = m2Lanes.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            double deviation = values[i] - mean;
+            m2 += deviation * deviation;
+        }
+
+        // The position of the maximum only matters when it beats every earlier block
+        int argMax = -1;
+        if (max > stats.getMax() || stats.getCount() == 0) {
+            argMax = 0;
+            while (argMax < length - 1 && values[argMax] != max) {
+                argMax++; // Stops at the last sample if every value is NaN and matches nothing
+            }
+            argMax += firstIndex;
+        }
+        stats.merge(length, min, max, argMax, mean, m2);
+    }
+}